@@ -85,6 +85,42 @@ class BaseConfig<T extends BaseConfig<T>> {
      */
     private String clientName;
 
+    /**
+     * Share single in-flight request among concurrent identical read commands
+     */
+    private boolean readCoalescing;
+
+    /**
+     * Failed commands amount per <code>circuitBreakerInterval</code> which opens node circuit breaker
+     */
+    private int circuitBreakerFailures;
+
+    /**
+     * Failures counting interval and time of open circuit breaker state.
+     * Value in milliseconds.
+     */
+    private int circuitBreakerInterval = 10000;
+
+    /**
+     * Size of separate connection pool to master node used by bulk operations
+     */
+    private int bulkConnectionPoolSize;
+
+    /**
+     * Amount of shared channels used for lock, semaphore and countdownlatch notifications
+     */
+    private int sharedNotificationChannels;
+
+    /**
+     * Queue lock waiters of the same Redisson instance locally
+     */
+    private boolean lockWaitersCoalescing;
+
+    /**
+     * Pass held lock to local waiter without releasing it in Redis
+     */
+    private boolean lockHandOff;
+
     BaseConfig() {
     }
 
@@ -100,10 +136,21 @@ class BaseConfig<T extends BaseConfig<T>> {
         setIdleConnectionTimeout(config.getIdleConnectionTimeout());
         setFailedAttempts(config.getFailedAttempts());
         setReconnectionTimeout(config.getReconnectionTimeout());
+        setReadCoalescing(config.isReadCoalescing());
+        setCircuitBreakerFailures(config.getCircuitBreakerFailures());
+        setCircuitBreakerInterval(config.getCircuitBreakerInterval());
+        setBulkConnectionPoolSize(config.getBulkConnectionPoolSize());
+        setSharedNotificationChannels(config.getSharedNotificationChannels());
+        setLockWaitersCoalescing(config.isLockWaitersCoalescing());
+        setLockHandOff(config.isLockHandOff());
     }
 
     /**
-     * Subscriptions per Redis connection limit
+     * Initial subscriptions per Redis connection limit.
+     * Once subscription connection pool is exhausted, limit of the least loaded
+     * connection is doubled each time a new subscription doesn't fit,
+     * so connections are packed denser as amount of channels grows.
+     * <p/>
      * Default is 5
      *
      * @param subscriptionsPerConnection
@@ -277,4 +324,158 @@ class BaseConfig<T extends BaseConfig<T>> {
         return failedAttempts;
     }
 
+    /**
+     * Share single in-flight request among concurrent identical read commands.
+     * Read commands are identical if they have the same command, codec,
+     * equal params and addressed to the same node.
+     * Commands with params other than strings, numbers, booleans,
+     * characters and byte arrays are never coalesced.
+     * All callers receive the same decoded result object,
+     * so it shouldn't be modified.
+     * <p/>
+     * Helps to flatten thundering herd of reads on a hot key.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param readCoalescing
+     */
+    public T setReadCoalescing(boolean readCoalescing) {
+        this.readCoalescing = readCoalescing;
+        return (T) this;
+    }
+
+    public boolean isReadCoalescing() {
+        return readCoalescing;
+    }
+
+    /**
+     * Opens circuit breaker of Redis master node when amount of commands
+     * failed due to timeout or connection error reaches <code>circuitBreakerFailures</code>
+     * during <code>circuitBreakerInterval</code>.
+     * Commands to the node fail fast with <code>RedisCircuitBreakerException</code>
+     * instead of retrying while circuit breaker is open.
+     * Read commands served by slaves aren't affected.
+     * <p/>
+     * After <code>circuitBreakerInterval</code> single probe command is allowed.
+     * Circuit breaker closes if it succeeds.
+     * <p/>
+     * Default is 0 (disabled)
+     *
+     * @see #circuitBreakerInterval
+     *
+     * @param circuitBreakerFailures
+     */
+    public T setCircuitBreakerFailures(int circuitBreakerFailures) {
+        this.circuitBreakerFailures = circuitBreakerFailures;
+        return (T) this;
+    }
+
+    public int getCircuitBreakerFailures() {
+        return circuitBreakerFailures;
+    }
+
+    /**
+     * Interval of failed commands counting and
+     * time during which circuit breaker stays open before probe command.
+     * <p/>
+     * Default is 10000
+     *
+     * @see #circuitBreakerFailures
+     *
+     * @param circuitBreakerInterval
+     */
+    public T setCircuitBreakerInterval(int circuitBreakerInterval) {
+        this.circuitBreakerInterval = circuitBreakerInterval;
+        return (T) this;
+    }
+
+    public int getCircuitBreakerInterval() {
+        return circuitBreakerInterval;
+    }
+
+    /**
+     * Size of separate connection pool to master node used by bulk operations:
+     * {@link org.redisson.core.RBatch}, <code>readAll*</code> methods of map objects,
+     * <code>RKeys.deleteByPattern</code> and expired entries eviction.
+     * Keeps latency-critical commands off connections occupied by bulk operations.
+     * Bulk read operations use this pool only if <code>readMode</code> is <code>MASTER</code>.
+     * <p/>
+     * Default is 0 (bulk operations use master connection pool)
+     *
+     * @param bulkConnectionPoolSize
+     */
+    public T setBulkConnectionPoolSize(int bulkConnectionPoolSize) {
+        this.bulkConnectionPoolSize = bulkConnectionPoolSize;
+        return (T) this;
+    }
+
+    public int getBulkConnectionPoolSize() {
+        return bulkConnectionPoolSize;
+    }
+
+    /**
+     * Amount of shared channels used to deliver lock, semaphore and countdownlatch
+     * notifications. Each Redisson instance subscribes to these channels only once
+     * instead of subscribing to a separate channel per waited object, so the amount
+     * of subscriptions doesn't grow with amount of locked objects.
+     * <p/>
+     * Should be the same for all Redisson instances working with the same objects.
+     * <p/>
+     * Default is 0 (separate channel per object)
+     *
+     * @param sharedNotificationChannels
+     */
+    public T setSharedNotificationChannels(int sharedNotificationChannels) {
+        this.sharedNotificationChannels = sharedNotificationChannels;
+        return (T) this;
+    }
+
+    public int getSharedNotificationChannels() {
+        return sharedNotificationChannels;
+    }
+
+    /**
+     * Queue threads of this Redisson instance waiting for the same lock locally.
+     * Only the first queued thread tries to acquire the lock in Redis and reacts
+     * to unlock messages, the next one takes its place once it has finished.
+     * So amount of lock attempts in Redis depends on amount of Redisson instances
+     * rather than amount of waiting threads.
+     * <p/>
+     * Applied to blocking <code>lock</code> and <code>tryLock</code> methods of
+     * non-fair lock and write lock.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param lockWaitersCoalescing
+     */
+    public T setLockWaitersCoalescing(boolean lockWaitersCoalescing) {
+        this.lockWaitersCoalescing = lockWaitersCoalescing;
+        return (T) this;
+    }
+
+    public boolean isLockWaitersCoalescing() {
+        return lockWaitersCoalescing;
+    }
+
+    /**
+     * Pass non-fair lock or write lock to the next locally queued thread on <code>unlock</code>
+     * by switching lock owner in Redis instead of releasing it.
+     * After 16 consecutive hand-offs lock is released in Redis,
+     * so other Redisson instances aren't starved by queued local threads.
+     * <p/>
+     * Works only if <code>lockWaitersCoalescing</code> is enabled.
+     * <p/>
+     * Default is <code>false</code>
+     *
+     * @param lockHandOff
+     */
+    public T setLockHandOff(boolean lockHandOff) {
+        this.lockHandOff = lockHandOff;
+        return (T) this;
+    }
+
+    public boolean isLockHandOff() {
+        return lockHandOff;
+    }
+
 }
@@ -20,9 +20,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.net.URL;
+import java.util.concurrent.Executor;
 
 import org.redisson.client.codec.Codec;
 import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.core.MessageOverflowListener;
 
 import io.netty.channel.EventLoopGroup;
 
@@ -58,6 +60,14 @@ public class Config {
 
     private EventLoopGroup eventLoopGroup;
 
+    private Executor listenerExecutor;
+
+    private int listenerQueueSize = 1024;
+
+    private ListenerOverflowPolicy listenerOverflowPolicy = ListenerOverflowPolicy.BLOCK;
+
+    private MessageOverflowListener listenerOverflowListener;
+
     public Config() {
     }
 
@@ -73,6 +83,10 @@ public class Config {
         setThreads(oldConf.getThreads());
         setCodec(oldConf.getCodec());
         setEventLoopGroup(oldConf.getEventLoopGroup());
+        setListenerExecutor(oldConf.getListenerExecutor());
+        setListenerQueueSize(oldConf.getListenerQueueSize());
+        setListenerOverflowPolicy(oldConf.getListenerOverflowPolicy());
+        setListenerOverflowListener(oldConf.getListenerOverflowListener());
         if (oldConf.getSingleServerConfig() != null) {
             setSingleServerConfig(new SingleServerConfig(oldConf.getSingleServerConfig()));
         }
@@ -370,6 +384,86 @@ public class Config {
         return eventLoopGroup;
     }
 
+    /**
+     * Executor used to invoke {@link org.redisson.core.RTopic} and
+     * {@link org.redisson.core.RPatternTopic} message listeners.
+     * Each listener gets own queue with <code>listenerQueueSize</code> capacity
+     * and receives messages in order of their arrival.
+     * Keeps slow listeners from delaying other commands
+     * processed by the same Netty thread.
+     * <p/>
+     * Default is <code>null</code> (listeners are invoked by Netty thread)
+     *
+     * @param listenerExecutor
+     * @return
+     */
+    public Config setListenerExecutor(Executor listenerExecutor) {
+        this.listenerExecutor = listenerExecutor;
+        return this;
+    }
+
+    public Executor getListenerExecutor() {
+        return listenerExecutor;
+    }
+
+    /**
+     * Messages queue capacity of each topic listener.
+     * Used only if <code>listenerExecutor</code> is set.
+     * <p/>
+     * Default is <code>1024</code>
+     *
+     * @param listenerQueueSize
+     * @return
+     */
+    public Config setListenerQueueSize(int listenerQueueSize) {
+        this.listenerQueueSize = listenerQueueSize;
+        return this;
+    }
+
+    public int getListenerQueueSize() {
+        return listenerQueueSize;
+    }
+
+    /**
+     * Defines what to do with message if listener queue is full.
+     * Used only if <code>listenerExecutor</code> is set.
+     * <p/>
+     * <code>BLOCK</code> pauses reading from the whole pub/sub connection,
+     * which also delivers lock, semaphore and count down latch notifications.
+     * So a slow topic listener delays them too.
+     * <p/>
+     * Default is <code>BLOCK</code>
+     *
+     * @see ListenerOverflowPolicy
+     *
+     * @param listenerOverflowPolicy
+     * @return
+     */
+    public Config setListenerOverflowPolicy(ListenerOverflowPolicy listenerOverflowPolicy) {
+        this.listenerOverflowPolicy = listenerOverflowPolicy;
+        return this;
+    }
+
+    public ListenerOverflowPolicy getListenerOverflowPolicy() {
+        return listenerOverflowPolicy;
+    }
+
+    /**
+     * Listener invoked for messages rejected by full listener queue
+     * if <code>listenerOverflowPolicy</code> is <code>CALLBACK</code>.
+     *
+     * @param listenerOverflowListener
+     * @return
+     */
+    public Config setListenerOverflowListener(MessageOverflowListener listenerOverflowListener) {
+        this.listenerOverflowListener = listenerOverflowListener;
+        return this;
+    }
+
+    public MessageOverflowListener getListenerOverflowListener() {
+        return listenerOverflowListener;
+    }
+
     /**
      * Read config object stored in JSON format from <code>String</code>
      *
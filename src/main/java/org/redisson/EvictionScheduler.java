@@ -122,7 +122,7 @@ public class EvictionScheduler {
     private final int valuesAmountToClean = 100;
 
     public EvictionScheduler(CommandAsyncExecutor executor) {
-        this.executor = executor;
+        this.executor = executor.getBulkExecutor();
     }
 
     public void scheduleCleanMultimap(String name, String timeoutSetName) {
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+/**
+ * Defines what happens with topic message
+ * when listener queue is full.
+ *
+ * @see Config#setListenerExecutor(java.util.concurrent.Executor)
+ */
+public enum ListenerOverflowPolicy {
+
+    /**
+     * Remove oldest queued message to free space for the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Stop reading from pub/sub connection until listener queue is half drained.
+     * Connection thread isn't blocked and meanwhile messages are buffered by Redis,
+     * so <code>client-output-buffer-limit pubsub</code> setting should allow that.
+     * <p/>
+     * <b>Reading is paused for the whole pub/sub connection.</b>
+     * The same connection carries lock, semaphore and count down latch notification channels,
+     * including shared ones, so a slow topic listener delays their notifications too.
+     * Waiting threads stay blocked until reading is resumed or their wait time elapses. Use other policy
+     * if topic listeners could lag behind while locks or semaphores are in use.
+     */
+    BLOCK,
+
+    /**
+     * Pass message to {@link org.redisson.core.MessageOverflowListener} instead of queueing it
+     */
+    CALLBACK,
+
+}
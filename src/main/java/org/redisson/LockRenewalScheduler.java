@@ -0,0 +1,182 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Renews expiration of all locks held by Redisson instance.
+ * Locks are renewed by single timer and grouped by hash slot,
+ * so each group is renewed by single script call.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class LockRenewalScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LockRenewalScheduler.class);
+
+    static class RenewalEntry {
+
+        final String lockName;
+        final long leaseTime;
+
+        RenewalEntry(String lockName, long leaseTime) {
+            this.lockName = lockName;
+            this.leaseTime = leaseTime;
+        }
+
+    }
+
+    private final ConcurrentMap<String, RenewalEntry> entries = PlatformDependent.newConcurrentHashMap();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final CommandAsyncExecutor executor;
+    private final long interval = TimeUnit.SECONDS.toMillis(RedissonLock.LOCK_EXPIRATION_INTERVAL_SECONDS) / 3;
+    private final int keysLimit = 1000;
+
+    public LockRenewalScheduler(CommandAsyncExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts periodical expiration renewal of lock.
+     *
+     * @param entryName - unique lock entry name
+     * @param lockName - lock key
+     * @param leaseTime - lease time in milliseconds
+     */
+    public void schedule(String entryName, String lockName, long leaseTime) {
+        if (entries.putIfAbsent(entryName, new RenewalEntry(lockName, leaseTime)) == null) {
+            startTimer();
+        }
+    }
+
+    public void cancel(String entryName) {
+        entries.remove(entryName);
+    }
+
+    private void startTimer() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        executor.getConnectionManager().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                renew();
+
+                scheduled.set(false);
+                if (!entries.isEmpty()) {
+                    startTimer();
+                }
+            }
+        }, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void renew() {
+        Map<Integer, List<String>> groups = new HashMap<Integer, List<String>>();
+        for (String entryName : entries.keySet()) {
+            RenewalEntry entry = entries.get(entryName);
+            if (entry == null) {
+                continue;
+            }
+
+            int slot = executor.getConnectionManager().calcSlot(entry.lockName);
+            List<String> group = groups.get(slot);
+            if (group == null) {
+                group = new ArrayList<String>();
+                groups.put(slot, group);
+            }
+            group.add(entryName);
+            if (group.size() == keysLimit) {
+                renew(slot, group);
+                groups.remove(slot);
+            }
+        }
+
+        for (Map.Entry<Integer, List<String>> group : groups.entrySet()) {
+            renew(group.getKey(), group.getValue());
+        }
+    }
+
+    private void renew(int slot, List<String> entryNames) {
+        final List<String> names = new ArrayList<String>(entryNames.size());
+        final List<RenewalEntry> renewals = new ArrayList<RenewalEntry>(entryNames.size());
+        List<Object> keys = new ArrayList<Object>(entryNames.size());
+        List<Object> leaseTimes = new ArrayList<Object>(entryNames.size());
+        for (String entryName : entryNames) {
+            RenewalEntry entry = entries.get(entryName);
+            if (entry == null) {
+                continue;
+            }
+            names.add(entryName);
+            renewals.add(entry);
+            keys.add(entry.lockName);
+            leaseTimes.add(entry.leaseTime);
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Future<List<Object>> future = executor.evalWriteAsync(slot, LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "local result = {}; "
+              + "for i, key in ipairs(KEYS) do "
+                  + "result[i] = redis.call('pexpire', key, ARGV[i]); "
+              + "end; "
+              + "return result;",
+                keys, leaseTimes.toArray());
+
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    for (RenewalEntry entry : renewals) {
+                        log.error("Can't update lock " + entry.lockName + " expiration", future.cause());
+                    }
+                    return;
+                }
+
+                List<Object> result = future.getNow();
+                for (int i = 0; i < renewals.size(); i++) {
+                    // lock doesn't exist anymore
+                    if (Long.valueOf(0).equals(result.get(i))) {
+                        RenewalEntry entry = renewals.get(i);
+                        entries.remove(names.get(i), entry);
+                    }
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Local queue of threads waiting for the same lock.
+ * Only one thread at a time contends for the lock in Redis,
+ * others wait for their turn or for the lock handed off by the owner.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class LockWaiterQueue {
+
+    /**
+     * Consecutive hand-offs limit after which lock is released in Redis,
+     * so threads of other Redisson instances get a chance to acquire it.
+     */
+    static final int MAX_HAND_OFFS = 16;
+
+    private static final ConcurrentMap<String, LockWaiterQueue> queues = PlatformDependent.newConcurrentHashMap();
+
+    enum State {WAITING, PROMOTED, HANDING_OFF, GRANTED}
+
+    static class Waiter {
+
+        final long threadId;
+        final long leaseTime;
+        final Semaphore signal = new Semaphore(0);
+        State state = State.WAITING;
+        boolean abandoned;
+
+        Waiter(long threadId, long leaseTime) {
+            this.threadId = threadId;
+            this.leaseTime = leaseTime;
+        }
+
+    }
+
+    private final LinkedList<Waiter> waiters = new LinkedList<Waiter>();
+    private boolean contended;
+    private int handOffs;
+    private int usages;
+    private boolean removed;
+
+    static LockWaiterQueue acquire(String name) {
+        while (true) {
+            LockWaiterQueue queue = queues.get(name);
+            if (queue == null) {
+                LockWaiterQueue newQueue = new LockWaiterQueue();
+                queue = queues.putIfAbsent(name, newQueue);
+                if (queue == null) {
+                    queue = newQueue;
+                }
+            }
+            synchronized (queue) {
+                if (!queue.removed) {
+                    queue.usages++;
+                    return queue;
+                }
+            }
+        }
+    }
+
+    static LockWaiterQueue get(String name) {
+        return queues.get(name);
+    }
+
+    void release(String name) {
+        synchronized (this) {
+            if (--usages > 0) {
+                return;
+            }
+            removed = true;
+        }
+        queues.remove(name, this);
+    }
+
+    /**
+     * Waits for the right to contend for the lock in Redis.
+     *
+     * @param threadId
+     * @param leaseTime - lease time in milliseconds or <code>-1</code>
+     * @param timeout - wait timeout in milliseconds or <code>-1</code> to wait infinitely
+     * @return <code>PROMOTED</code> if caller should acquire lock in Redis,
+     *         <code>GRANTED</code> if lock has been handed off to caller,
+     *         <code>null</code> if timeout elapsed
+     * @throws InterruptedException
+     */
+    State enter(long threadId, long leaseTime, long timeout) throws InterruptedException {
+        Waiter waiter;
+        synchronized (this) {
+            if (!contended) {
+                contended = true;
+                return State.PROMOTED;
+            }
+            waiter = new Waiter(threadId, leaseTime);
+            waiters.add(waiter);
+        }
+
+        boolean interrupted = false;
+        try {
+            if (timeout < 0) {
+                waiter.signal.acquire();
+            } else {
+                waiter.signal.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+
+        synchronized (this) {
+            if (waiter.state == State.WAITING) {
+                waiters.remove(waiter);
+                if (interrupted) {
+                    throw new InterruptedException();
+                }
+                return null;
+            }
+            if (waiter.state == State.PROMOTED && interrupted) {
+                leave();
+                throw new InterruptedException();
+            }
+            if (waiter.state == State.HANDING_OFF) {
+                waiter.abandoned = true;
+            }
+        }
+
+        if (waiter.abandoned) {
+            // hand-off result should be known before leaving
+            waiter.signal.acquireUninterruptibly();
+            synchronized (this) {
+                if (waiter.state != State.GRANTED) {
+                    if (interrupted) {
+                        throw new InterruptedException();
+                    }
+                    return null;
+                }
+            }
+        }
+
+        if (interrupted) {
+            // lock is already held by this thread
+            Thread.currentThread().interrupt();
+        }
+        return waiter.state;
+    }
+
+    /**
+     * Passes the right to contend for the lock in Redis to the next waiter.
+     */
+    synchronized void leave() {
+        Waiter next = waiters.poll();
+        if (next == null) {
+            contended = false;
+            return;
+        }
+        next.state = State.PROMOTED;
+        next.signal.release();
+    }
+
+    /**
+     * Takes the first waiter for lock hand-off.
+     *
+     * @return waiter or <code>null</code> if there are no waiters
+     *         or <code>MAX_HAND_OFFS</code> consecutive hand-offs have been made
+     */
+    synchronized Waiter pollForHandOff() {
+        if (handOffs >= MAX_HAND_OFFS || waiters.isEmpty()) {
+            handOffs = 0;
+            return null;
+        }
+        Waiter waiter = waiters.poll();
+        waiter.state = State.HANDING_OFF;
+        handOffs++;
+        return waiter;
+    }
+
+    synchronized void completeHandOff(Waiter waiter, boolean success) {
+        if (success) {
+            waiter.state = State.GRANTED;
+            waiter.signal.release();
+            return;
+        }
+
+        handOffs--;
+        waiter.state = State.WAITING;
+        if (waiter.abandoned) {
+            waiter.signal.release();
+        } else {
+            waiters.addFirst(waiter);
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.redisson;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.core.MessageListener;
+import org.redisson.pubsub.MessageEnvelope;
 
 /**
  *
@@ -70,6 +71,12 @@ public class PubSubMessageListener<V> implements RedisPubSubListener<Object> {
     public void onMessage(String channel, Object message) {
         // could be subscribed to multiple channels
         if (name.equals(channel)) {
+            if (message instanceof MessageEnvelope) {
+                for (Object msg : ((MessageEnvelope) message).getMessages()) {
+                    listener.onMessage(channel, (V)msg);
+                }
+                return;
+            }
             listener.onMessage(channel, (V)message);
         }
     }
@@ -78,6 +85,12 @@ public class PubSubMessageListener<V> implements RedisPubSubListener<Object> {
     public void onPatternMessage(String pattern, String channel, Object message) {
         // could be subscribed to multiple channels
         if (name.equals(pattern)) {
+            if (message instanceof MessageEnvelope) {
+                for (Object msg : ((MessageEnvelope) message).getMessages()) {
+                    listener.onMessage(channel, (V)msg);
+                }
+                return;
+            }
             listener.onMessage(channel, (V)message);
         }
     }
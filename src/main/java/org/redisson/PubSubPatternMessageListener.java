@@ -19,6 +19,7 @@ import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.core.MessageListener;
 import org.redisson.core.PatternMessageListener;
+import org.redisson.pubsub.MessageEnvelope;
 
 /**
  *
@@ -75,6 +76,12 @@ public class PubSubPatternMessageListener<V> implements RedisPubSubListener<V> {
     public void onPatternMessage(String pattern, String channel, V message) {
         // could be subscribed to multiple channels
         if (name.equals(pattern)) {
+            if (message instanceof MessageEnvelope) {
+                for (Object msg : ((MessageEnvelope) message).getMessages()) {
+                    listener.onMessage(pattern, channel, (V)msg);
+                }
+                return;
+            }
             listener.onMessage(pattern, channel, message);
         }
     }
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -48,21 +49,26 @@ import org.redisson.core.RBlockingDeque;
 import org.redisson.core.RBlockingQueue;
 import org.redisson.core.RBloomFilter;
 import org.redisson.core.RBucket;
+import org.redisson.core.RBufferedCounter;
 import org.redisson.core.RBuckets;
 import org.redisson.core.RCountDownLatch;
+import org.redisson.core.RCountMinSketch;
 import org.redisson.core.RDeque;
 import org.redisson.core.RGeo;
 import org.redisson.core.RHyperLogLog;
+import org.redisson.core.RIdGenerator;
 import org.redisson.core.RKeys;
 import org.redisson.core.RLexSortedSet;
 import org.redisson.core.RList;
 import org.redisson.core.RListMultimap;
 import org.redisson.core.RListMultimapCache;
 import org.redisson.core.RLock;
+import org.redisson.core.RLongAdder;
 import org.redisson.core.RMap;
 import org.redisson.core.RMapCache;
 import org.redisson.core.RPatternTopic;
 import org.redisson.core.RQueue;
+import org.redisson.core.RRateLimiter;
 import org.redisson.core.RReadWriteLock;
 import org.redisson.core.RRemoteService;
 import org.redisson.core.RScoredSortedSet;
@@ -72,10 +78,13 @@ import org.redisson.core.RSet;
 import org.redisson.core.RSetCache;
 import org.redisson.core.RSetMultimap;
 import org.redisson.core.RSetMultimapCache;
+import org.redisson.core.RSlidingWindowCounter;
+import org.redisson.core.RSnapshotableBloomFilter;
 import org.redisson.core.RSortedSet;
 import org.redisson.core.RTopic;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.internal.PlatformDependent;
 
 /**
  * Main infrastructure class allows to get access
@@ -87,6 +96,8 @@ import io.netty.util.concurrent.Future;
 public class Redisson implements RedissonClient {
 
     private final EvictionScheduler evictionScheduler;
+    private final LockRenewalScheduler lockRenewalScheduler;
+    private final Set<RedissonBufferedCounter> bufferedCounters = Collections.newSetFromMap(PlatformDependent.<RedissonBufferedCounter, Boolean>newConcurrentHashMap());
     private final CommandExecutor commandExecutor;
     private final ConnectionManager connectionManager;
     private final Config config;
@@ -117,6 +128,7 @@ public class Redisson implements RedissonClient {
         }
         commandExecutor = new CommandSyncService(connectionManager);
         evictionScheduler = new EvictionScheduler(commandExecutor);
+        lockRenewalScheduler = new LockRenewalScheduler(commandExecutor);
     }
 
     private void validate(SingleServerConfig config) {
@@ -364,17 +376,17 @@ public class Redisson implements RedissonClient {
 
     @Override
     public RLock getLock(String name) {
-        return new RedissonLock(commandExecutor, name, id);
+        return new RedissonLock(lockRenewalScheduler, commandExecutor, name, id);
     }
 
     @Override
     public RLock getFairLock(String name) {
-        return new RedissonFairLock(commandExecutor, name, id);
+        return new RedissonFairLock(lockRenewalScheduler, commandExecutor, name, id);
     }
     
     @Override
     public RReadWriteLock getReadWriteLock(String name) {
-        return new RedissonReadWriteLock(commandExecutor, name, id);
+        return new RedissonReadWriteLock(lockRenewalScheduler, commandExecutor, name, id);
     }
 
     @Override
@@ -501,6 +513,16 @@ public class Redisson implements RedissonClient {
         return new RedissonAtomicLong(commandExecutor, name);
     }
 
+    @Override
+    public RSlidingWindowCounter getSlidingWindowCounter(String name, long window, TimeUnit unit, int buckets) {
+        return new RedissonSlidingWindowCounter(commandExecutor, name, window, unit, buckets);
+    }
+
+    @Override
+    public RLongAdder getLongAdder(String name, int shards) {
+        return new RedissonLongAdder(commandExecutor, name, shards);
+    }
+
     @Override
     public RAtomicDouble getAtomicDouble(String name) {
         return new RedissonAtomicDouble(commandExecutor, name);
@@ -522,15 +544,60 @@ public class Redisson implements RedissonClient {
     }
 
     @Override
-    public <V> RBloomFilter<V> getBloomFilter(String name) {
+    public RRateLimiter getRateLimiter(String name) {
+        return new RedissonRateLimiter(commandExecutor, name, 1);
+    }
+
+    @Override
+    public RRateLimiter getRateLimiter(String name, long prefetchPermits) {
+        return new RedissonRateLimiter(commandExecutor, name, prefetchPermits);
+    }
+
+    @Override
+    public RSemaphore getStripedSemaphore(String name, int stripes) {
+        return new RedissonStripedSemaphore(commandExecutor, name, id, stripes);
+    }
+
+    @Override
+    public <V> RSnapshotableBloomFilter<V> getBloomFilter(String name) {
         return new RedissonBloomFilter<V>(commandExecutor, name);
     }
 
     @Override
-    public <V> RBloomFilter<V> getBloomFilter(String name, Codec codec) {
+    public <V> RSnapshotableBloomFilter<V> getBloomFilter(String name, Codec codec) {
         return new RedissonBloomFilter<V>(codec, commandExecutor, name);
     }
 
+    @Override
+    public <V> RBloomFilter<V> getShardedBloomFilter(String name, int partitions) {
+        return new RedissonShardedBloomFilter<V>(commandExecutor, name, partitions);
+    }
+
+    @Override
+    public <V> RBloomFilter<V> getShardedBloomFilter(String name, int partitions, Codec codec) {
+        return new RedissonShardedBloomFilter<V>(codec, commandExecutor, name, partitions);
+    }
+
+    @Override
+    public <V> RBloomFilter<V> getScalableBloomFilter(String name) {
+        return new RedissonScalableBloomFilter<V>(commandExecutor, name);
+    }
+
+    @Override
+    public <V> RBloomFilter<V> getScalableBloomFilter(String name, Codec codec) {
+        return new RedissonScalableBloomFilter<V>(codec, commandExecutor, name);
+    }
+
+    @Override
+    public <V> RCountMinSketch<V> getCountMinSketch(String name) {
+        return new RedissonCountMinSketch<V>(commandExecutor, name);
+    }
+
+    @Override
+    public <V> RCountMinSketch<V> getCountMinSketch(String name, Codec codec) {
+        return new RedissonCountMinSketch<V>(codec, commandExecutor, name);
+    }
+
     @Override
     public RKeys getKeys() {
         return new RedissonKeys(commandExecutor);
@@ -541,17 +608,40 @@ public class Redisson implements RedissonClient {
         return new RedissonBatch(evictionScheduler, connectionManager);
     }
 
+    @Override
+    public RBufferedCounter createBufferedCounter(String name, long flushInterval, TimeUnit unit, long threshold) {
+        return new RedissonBufferedCounter(bufferedCounters, commandExecutor, name, unit.toMillis(flushInterval), threshold);
+    }
+
+    @Override
+    public RIdGenerator createIdGenerator(String name, long allocationSize) {
+        return new RedissonIdGenerator(commandExecutor, name, allocationSize);
+    }
+
     @Override
     public void shutdown() {
+        flushBufferedCounters();
         connectionManager.shutdown();
     }
     
     
     @Override
     public void shutdown(long quietPeriod, long timeout, TimeUnit unit) {
+        flushBufferedCounters();
         connectionManager.shutdown(quietPeriod, timeout, unit);
     }
 
+    private void flushBufferedCounters() {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (RedissonBufferedCounter counter : bufferedCounters) {
+            futures.add(counter.flushAsync());
+        }
+        // failures are logged by counter
+        for (Future<Void> future : futures) {
+            future.awaitUninterruptibly();
+        }
+    }
+
     @Override
     public Config getConfig() {
         return config;
@@ -580,5 +670,15 @@ public class Redisson implements RedissonClient {
         return connectionManager.isShuttingDown();
     }
 
+    @Override
+    public int getInFlightCommands() {
+        return connectionManager.getInFlightCommands();
+    }
+
+    @Override
+    public int getAbandonedCommands() {
+        return connectionManager.getAbandonedCommands();
+    }
+
 }
 
@@ -45,6 +45,7 @@ import org.redisson.core.RSetCacheAsync;
 import org.redisson.core.RTopicAsync;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 /**
  *
@@ -58,7 +59,7 @@ public class RedissonBatch implements RBatch {
     private final CommandBatchService executorService;
 
     public RedissonBatch(EvictionScheduler evictionScheduler, ConnectionManager connectionManager) {
-        this.executorService = new CommandBatchService(connectionManager);
+        this.executorService = new CommandBatchService(connectionManager, true);
         this.evictionScheduler = evictionScheduler;
     }
 
@@ -232,6 +233,11 @@ public class RedissonBatch implements RBatch {
         return executorService.executeAsync();
     }
 
+    @Override
+    public Future<List<?>> executeAsync(FutureListener<List<?>> nodeListener) {
+        return executorService.executeAsync(nodeListener);
+    }
+
     @Override
     public <K, V> RMultimapAsync<K, V> getSetMultimap(String name) {
         return new RedissonSetMultimap<K, V>(executorService, name);
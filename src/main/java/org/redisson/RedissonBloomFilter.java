@@ -17,9 +17,14 @@ package org.redisson;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.redisson.client.RedisException;
 import org.redisson.client.codec.Codec;
@@ -29,17 +34,24 @@ import org.redisson.client.codec.LongCodec;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
-import org.redisson.client.protocol.convertor.VoidReplayConvertor;
 import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
 import org.redisson.command.CommandBatchService;
 import org.redisson.command.CommandExecutor;
-import org.redisson.core.RBloomFilter;
+import org.redisson.core.RBloomFilterSnapshot;
+import org.redisson.core.RSnapshotableBloomFilter;
 
 import io.netty.util.concurrent.Future;
 import net.openhft.hashing.LongHashFunction;
 
 /**
  * Bloom filter based on 64-bit hash derived from 128-bit hash (xxHash 64-bit + FarmHash 64-bit).
+ * <p/>
+ * Each add call increments <code>version</code> field of config hash and adds bitmap chunks
+ * touched by it to <code>__changes</code> sorted set scored by this version,
+ * so snapshots could download only changed chunks. It's done even if there are no snapshots
+ * and the sorted set holds up to one entry per 4 KB chunk of bitmap.
+ * Config hash also holds random <code>generation</code> id written on init
+ * to detect filter recreation.
  *
  * Code parts from Guava BloomFilter
  *
@@ -47,9 +59,26 @@ import net.openhft.hashing.LongHashFunction;
  *
  * @param <T>
  */
-public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomFilter<T> {
+public class RedissonBloomFilter<T> extends RedissonExpirable implements RSnapshotableBloomFilter<T> {
 
-    private static final long MAX_SIZE = Integer.MAX_VALUE*2L;
+    static final long MAX_SIZE = Integer.MAX_VALUE*2L;
+
+    /**
+     * Bitmap bytes per chunk tracked for snapshot refresh
+     */
+    static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Max objects amount per script call
+     */
+    static final int BATCH_SIZE = 1000;
+
+    static final String CONFIG_CHANGED = "Bloom filter config has been changed";
+
+    private static final String CONFIG_CHECK =
+            "local size = redis.call('hget', KEYS[2], 'size');" +
+            "local hashIterations = redis.call('hget', KEYS[2], 'hashIterations');" +
+            "assert(size == ARGV[1] and hashIterations == ARGV[2], '" + CONFIG_CHANGED + "'); ";
 
     private volatile long size;
     private volatile int hashIterations;
@@ -66,11 +95,11 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         this.commandExecutor = commandExecutor;
     }
 
-    private int optimalNumOfHashFunctions(long n, long m) {
+    static int optimalNumOfHashFunctions(long n, long m) {
         return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
       }
 
-    private long optimalNumOfBits(long n, double p) {
+    static long optimalNumOfBits(long n, double p) {
         if (p == 0) {
             p = Double.MIN_VALUE;
         }
@@ -79,41 +108,25 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
 
     @Override
     public boolean add(T object) {
-        byte[] state = encode(object);
-
-        while (true) {
-            if (size == 0) {
-                readConfig();
-            }
-
-            int hashIterations = this.hashIterations;
-            long size = this.size;
+        return addAll(Collections.singletonList(object)) > 0;
+    }
 
-            long[] indexes = hash(state, hashIterations, size);
+    @Override
+    public int addAll(Collection<? extends T> objects) {
+        return execute(objects, true);
+    }
 
-            CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-            addConfigCheck(hashIterations, size, executorService);
-            for (int i = 0; i < indexes.length; i++) {
-                executorService.writeAsync(getName(), codec, RedisCommands.SETBIT, getName(), indexes[i], 1);
-            }
-            try {
-                List<Boolean> result = (List<Boolean>) executorService.execute();
+    @Override
+    public boolean contains(T object) {
+        return containsAll(Collections.singletonList(object));
+    }
 
-                for (Boolean val : result.subList(1, result.size()-1)) {
-                    if (val) {
-                        return true;
-                    }
-                }
-                return false;
-            } catch (RedisException e) {
-                if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                    throw e;
-                }
-            }
-        }
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        return execute(objects, false) == objects.size();
     }
 
-    private long[] hash(byte[] state, int iterations, long size) {
+    static long[] hash(byte[] state, int iterations, long size) {
         long hash1 = LongHashFunction.xx_r39().hashBytes(state);
         long hash2 = LongHashFunction.farmUo().hashBytes(state);
 
@@ -130,11 +143,26 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         return indexes;
     }
 
-    @Override
-    public boolean contains(T object) {
-        byte[] state = encode(object);
+    /**
+     * Splits objects into groups of <code>BATCH_SIZE</code> and sends
+     * each group with single script call. Groups are sent without waiting for previous results.
+     * Groups rejected due to changed config are sent again after config reload.
+     *
+     * @return amount of added objects or amount of contained objects
+     */
+    private int execute(Collection<? extends T> objects, boolean add) {
+        List<List<byte[]>> groups = new ArrayList<List<byte[]>>();
+        List<byte[]> group = null;
+        for (T object : objects) {
+            if (group == null || group.size() == BATCH_SIZE) {
+                group = new ArrayList<byte[]>(Math.min(BATCH_SIZE, objects.size()));
+                groups.add(group);
+            }
+            group.add(encode(object));
+        }
 
-        while (true) {
+        int result = 0;
+        while (!groups.isEmpty()) {
             if (size == 0) {
                 readConfig();
             }
@@ -142,32 +170,104 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
             int hashIterations = this.hashIterations;
             long size = this.size;
 
-            long[] indexes = hash(state, hashIterations, size);
-
-            CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-            addConfigCheck(hashIterations, size, executorService);
-            for (int i = 0; i < indexes.length; i++) {
-                executorService.readAsync(getName(), codec, RedisCommands.GETBIT, getName(), indexes[i]);
+            List<Future<Long>> futures = new ArrayList<Future<Long>>(groups.size());
+            for (List<byte[]> states : groups) {
+                futures.add(executeAsync(states, hashIterations, size, add));
             }
-            try {
-                List<Boolean> result = (List<Boolean>) executorService.execute();
 
-                for (Boolean val : result.subList(1, result.size()-1)) {
-                    if (!val) {
-                        return false;
-                    }
+            List<List<byte[]>> failedGroups = new ArrayList<List<byte[]>>();
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Long> future = futures.get(i);
+                future.awaitUninterruptibly();
+                if (future.isSuccess()) {
+                    result += future.getNow();
+                    continue;
                 }
 
-                return true;
-            } catch (RedisException e) {
-                if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                    throw e;
+                if (!(future.cause() instanceof RedisException)
+                        || !future.cause().getMessage().contains(CONFIG_CHANGED)) {
+                    throw convertException(future);
                 }
+                failedGroups.add(groups.get(i));
+            }
+
+            if (!failedGroups.isEmpty()) {
+                readConfig();
             }
+            groups = failedGroups;
+        }
+        return result;
+    }
+
+    static RuntimeException convertException(Future<?> future) {
+        if (future.cause() instanceof RuntimeException) {
+            return (RuntimeException) future.cause();
         }
+        return new RedisException("Unexpected exception while processing command", future.cause());
     }
 
-    private byte[] encode(T object) {
+    private Future<Long> executeAsync(List<byte[]> states, int hashIterations, long size, boolean add) {
+        List<Object> params = new ArrayList<Object>(3 + states.size() * hashIterations);
+        params.add(size);
+        params.add(hashIterations);
+        params.add(CHUNK_SIZE);
+        for (byte[] state : states) {
+            for (long index : hash(state, hashIterations, size)) {
+                params.add(index);
+            }
+        }
+
+        List<Object> keys = Arrays.<Object>asList(getName(), getConfigName(), getChangesName());
+        if (add) {
+            // version and changed chunks are tracked for snapshots,
+            // which costs one HINCRBY plus one ZADD per touched chunk for each group
+            return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                    CONFIG_CHECK +
+                    "local hashIterations = tonumber(ARGV[2]); " +
+                    "local chunkSize = tonumber(ARGV[3]); " +
+                    "local added = 0; " +
+                    "local chunks = {}; " +
+                    "for i = 4, #ARGV, hashIterations do " +
+                        "local changed = false; " +
+                        "for j = i, i + hashIterations - 1 do " +
+                            "if redis.call('setbit', KEYS[1], ARGV[j], 1) == 0 then " +
+                                "changed = true; " +
+                            "end; " +
+                            "chunks[math.floor(tonumber(ARGV[j]) / 8 / chunkSize)] = true; " +
+                        "end; " +
+                        "if changed then " +
+                            "added = added + 1; " +
+                        "end; " +
+                    "end; " +
+                    "local version = redis.call('hincrby', KEYS[2], 'version', 1); " +
+                    "for chunk, v in pairs(chunks) do " +
+                        "redis.call('zadd', KEYS[3], version, chunk); " +
+                    "end; " +
+                    "return added;",
+                    keys, params.toArray());
+        }
+
+        return commandExecutor.evalReadAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                CONFIG_CHECK +
+                "local hashIterations = tonumber(ARGV[2]); " +
+                "local contained = 0; " +
+                "for i = 4, #ARGV, hashIterations do " +
+                    "local found = true; " +
+                    "for j = i, i + hashIterations - 1 do " +
+                        "if redis.call('getbit', KEYS[1], ARGV[j]) == 0 then " +
+                            "found = false; " +
+                            "break; " +
+                        "end; " +
+                    "end; " +
+                    "if found then " +
+                        "contained = contained + 1; " +
+                    "end; " +
+                "end; " +
+                "return contained;",
+                keys, params.toArray());
+    }
+
+    byte[] encode(T object) {
         byte[] state = null;
         try {
             state = codec.getValueEncoder().encode(object);
@@ -177,14 +277,6 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         return state;
     }
 
-    private void addConfigCheck(int hashIterations, long size, CommandBatchService executorService) {
-        executorService.evalReadAsync(getConfigName(), codec, RedisCommands.EVAL_VOID,
-                "local size = redis.call('hget', KEYS[1], 'size');" +
-                        "local hashIterations = redis.call('hget', KEYS[1], 'hashIterations');" +
-                        "assert(size == ARGV[1] and hashIterations == ARGV[2], 'Bloom filter config has been changed')",
-                        Arrays.<Object>asList(getConfigName()), size, hashIterations);
-    }
-
     @Override
     public int count() {
         CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
@@ -200,7 +292,15 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
 
     @Override
     public Future<Boolean> deleteAsync() {
-        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getConfigName());
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getConfigName(), getChangesName());
+    }
+
+    @Override
+    public RBloomFilterSnapshot<T> createSnapshot(long refreshInterval, TimeUnit unit) {
+        RedissonBloomFilterSnapshot<T> snapshot = new RedissonBloomFilterSnapshot<T>(this, commandExecutor, unit.toMillis(refreshInterval));
+        snapshot.refresh();
+        snapshot.scheduleRefresh();
+        return snapshot;
     }
 
     private void readConfig() {
@@ -228,33 +328,31 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         }
         hashIterations = optimalNumOfHashFunctions(expectedInsertions, size);
 
-        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-        executorService.evalReadAsync(getConfigName(), codec, RedisCommands.EVAL_VOID,
-                "local size = redis.call('hget', KEYS[1], 'size');" +
-                        "local hashIterations = redis.call('hget', KEYS[1], 'hashIterations');" +
-                        "assert(size == false and hashIterations == false, 'Bloom filter config has been changed')",
-                        Arrays.<Object>asList(getConfigName()), size, hashIterations);
-        executorService.writeAsync(getConfigName(), StringCodec.INSTANCE,
-                                                new RedisCommand<Void>("HMSET", new VoidReplayConvertor()), getConfigName(),
-                "size", size, "hashIterations", hashIterations,
-                "expectedInsertions", expectedInsertions, "falseProbability", BigDecimal.valueOf(falseProbability).toPlainString());
-        try {
-            executorService.execute();
-        } catch (RedisException e) {
-            if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                throw e;
-            }
+        // config is checked and stored atomically
+        Boolean result = commandExecutor.evalWrite(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('hexists', KEYS[1], 'size') == 1 " +
+                        "or redis.call('hexists', KEYS[1], 'hashIterations') == 1 then " +
+                    "return 0; " +
+                "end; " +
+                "redis.call('hmset', KEYS[1], 'size', ARGV[1], 'hashIterations', ARGV[2], " +
+                        "'expectedInsertions', ARGV[3], 'falseProbability', ARGV[4], 'generation', ARGV[5]); " +
+                "return 1;",
+                Arrays.<Object>asList(getConfigName()), size, hashIterations,
+                expectedInsertions, BigDecimal.valueOf(falseProbability).toPlainString(), UUID.randomUUID().toString());
+        if (!result) {
             readConfig();
-            return false;
         }
-
-        return true;
+        return result;
     }
 
-    private String getConfigName() {
+    String getConfigName() {
         return "{" + getName() + "}" + "__config";
     }
 
+    String getChangesName() {
+        return "{" + getName() + "}" + "__changes";
+    }
+
     @Override
     public long getExpectedInsertions() {
         Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "expectedInsertions");
@@ -0,0 +1,268 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.core.RBloomFilterSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.CharsetUtil;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Local bloom filter snapshot. First refresh downloads whole bitmap by <code>GETRANGE</code> pieces,
+ * next ones download only chunks marked with version greater than the snapshot version.
+ * Whole bitmap is downloaded again if filter config has been changed or filter has been recreated,
+ * which is detected by <code>generation</code> id written to filter config on init.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public class RedissonBloomFilterSnapshot<T> implements RBloomFilterSnapshot<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonBloomFilterSnapshot.class);
+
+    private static final int DOWNLOAD_SIZE = RedissonBloomFilter.CHUNK_SIZE * 16;
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+
+    static class State {
+
+        final long version;
+        final long size;
+        final int hashIterations;
+        final String generation;
+        final byte[] bitmap;
+
+        State(long version, long size, int hashIterations, String generation, byte[] bitmap) {
+            this.version = version;
+            this.size = size;
+            this.hashIterations = hashIterations;
+            this.generation = generation;
+            this.bitmap = bitmap;
+        }
+
+    }
+
+    private final RedissonBloomFilter<T> filter;
+    private final CommandAsyncExecutor commandExecutor;
+    private final long refreshInterval;
+
+    private volatile State state;
+    private volatile boolean closed;
+
+    public RedissonBloomFilterSnapshot(RedissonBloomFilter<T> filter, CommandAsyncExecutor commandExecutor, long refreshInterval) {
+        this.filter = filter;
+        this.commandExecutor = commandExecutor;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public boolean contains(T object) {
+        State state = this.state;
+        long[] indexes = RedissonBloomFilter.hash(filter.encode(object), state.hashIterations, state.size);
+        for (long index : indexes) {
+            int b = state.bitmap[(int) (index >>> 3)];
+            // Redis stores bit 0 as the most significant bit of the first byte
+            if ((b & (0x80 >>> (index & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long getVersion() {
+        return state.version;
+    }
+
+    @Override
+    public void refresh() {
+        commandExecutor.get(refreshAsync());
+    }
+
+    @Override
+    public Future<Void> refreshAsync() {
+        Promise<Void> result = commandExecutor.getConnectionManager().newPromise();
+        refreshAsync(state, 0, result);
+        return result;
+    }
+
+    /**
+     * Whole bitmap is downloaded by <code>GETRANGE</code> pieces outside of script,
+     * so big bitmap doesn't block Redis. Then the script is executed again with downloaded state:
+     * chunks changed during download are fetched by version,
+     * download is repeated if filter has been recreated or its config has been changed.
+     */
+    private void refreshAsync(final State current, final int attempt, final Promise<Void> result) {
+        long version = -1;
+        if (current != null) {
+            version = current.version;
+        }
+
+        Future<List<Object>> future = commandExecutor.evalReadAsync(filter.getName(), ByteArrayCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "local size = redis.call('hget', KEYS[2], 'size'); " +
+                "local hashIterations = redis.call('hget', KEYS[2], 'hashIterations'); " +
+                "if size == false or hashIterations == false then " +
+                    "return {}; " +
+                "end; " +
+                "local version = tonumber(redis.call('hget', KEYS[2], 'version')) or 0; " +
+                "local generation = redis.call('hget', KEYS[2], 'generation') or ''; " +
+                "local lastVersion = tonumber(ARGV[1]); " +
+                "if lastVersion < 0 or lastVersion > version or generation ~= ARGV[5] " +
+                        "or size ~= ARGV[3] or hashIterations ~= ARGV[4] then " +
+                    "return {version, size, hashIterations, generation, 1}; " +
+                "end; " +
+                "local result = {version, size, hashIterations, generation, 0}; " +
+                "local chunkSize = tonumber(ARGV[2]); " +
+                "local chunks = redis.call('zrangebyscore', KEYS[3], '(' .. lastVersion, '+inf'); " +
+                "for i, chunk in ipairs(chunks) do " +
+                    "table.insert(result, chunk); " +
+                    "table.insert(result, redis.call('getrange', KEYS[1], chunk * chunkSize, (chunk + 1) * chunkSize - 1)); " +
+                "end; " +
+                "return result;",
+                Arrays.<Object>asList(filter.getName(), filter.getConfigName(), filter.getChangesName()),
+                version, RedissonBloomFilter.CHUNK_SIZE,
+                current != null ? current.size : "", current != null ? current.hashIterations : "",
+                current != null ? current.generation : "");
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                List<Object> values = future.getNow();
+                if (values.isEmpty()) {
+                    result.setFailure(new IllegalStateException("Bloom filter is not initialized!"));
+                    return;
+                }
+
+                long version = (Long) values.get(0);
+                long size = Long.valueOf(RedissonBloomFilterSnapshot.this.toString(values.get(1)));
+                int hashIterations = Integer.valueOf(RedissonBloomFilterSnapshot.this.toString(values.get(2)));
+                String generation = RedissonBloomFilterSnapshot.this.toString(values.get(3));
+                if ((Long) values.get(4) == 0) {
+                    state = apply(current, version, values);
+                    result.setSuccess(null);
+                    return;
+                }
+
+                if (attempt >= MAX_DOWNLOAD_ATTEMPTS) {
+                    result.setFailure(new IllegalStateException("Bloom filter " + filter.getName()
+                            + " has been changed during each of " + attempt + " downloads"));
+                    return;
+                }
+
+                final State downloaded = new State(version, size, hashIterations, generation, new byte[(int) ((size + 7) / 8)]);
+                Promise<Void> downloadPromise = commandExecutor.getConnectionManager().newPromise();
+                download(downloaded, 0, downloadPromise);
+                downloadPromise.addListener(new FutureListener<Void>() {
+                    @Override
+                    public void operationComplete(Future<Void> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.setFailure(future.cause());
+                            return;
+                        }
+                        refreshAsync(downloaded, attempt + 1, result);
+                    }
+                });
+            }
+        });
+    }
+
+    private void download(final State downloaded, final int offset, final Promise<Void> result) {
+        Future<Object> future = commandExecutor.readAsync(filter.getName(), ByteArrayCodec.INSTANCE, RedisCommands.GETRANGE,
+                filter.getName(), offset, offset + DOWNLOAD_SIZE - 1);
+        future.addListener(new FutureListener<Object>() {
+            @Override
+            public void operationComplete(Future<Object> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                byte[] data = (byte[]) future.getNow();
+                int length = Math.min(data.length, downloaded.bitmap.length - offset);
+                System.arraycopy(data, 0, downloaded.bitmap, offset, length);
+                // bitmap key could be shorter than filter size if tail bits aren't set
+                if (data.length < DOWNLOAD_SIZE || offset + DOWNLOAD_SIZE >= downloaded.bitmap.length) {
+                    result.setSuccess(null);
+                    return;
+                }
+                download(downloaded, offset + DOWNLOAD_SIZE, result);
+            }
+        });
+    }
+
+    private State apply(State current, long version, List<Object> values) {
+        // bits are never reset, so changed chunks are updated in place
+        for (int i = 5; i < values.size(); i += 2) {
+            int chunk = Integer.valueOf(toString(values.get(i)));
+            byte[] data = (byte[]) values.get(i + 1);
+            int offset = chunk * RedissonBloomFilter.CHUNK_SIZE;
+            System.arraycopy(data, 0, current.bitmap, offset, Math.min(data.length, current.bitmap.length - offset));
+        }
+        return new State(version, current.size, current.hashIterations, current.generation, current.bitmap);
+    }
+
+    private String toString(Object value) {
+        return new String((byte[]) value, CharsetUtil.UTF_8);
+    }
+
+    void scheduleRefresh() {
+        if (refreshInterval <= 0 || closed) {
+            return;
+        }
+
+        commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                if (closed) {
+                    return;
+                }
+
+                refreshAsync().addListener(new FutureListener<Void>() {
+                    @Override
+                    public void operationComplete(Future<Void> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            log.error("Can't refresh bloom filter snapshot " + filter.getName(), future.cause());
+                        }
+                        scheduleRefresh();
+                    }
+                });
+            }
+        }, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.core.RBufferedCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.LongCounter;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Counter which collects deltas locally and flushes them with single <code>INCRBY</code>.
+ * Deltas are accumulated in striped cells, so concurrent threads don't contend on single value.
+ * <p/>
+ * If flush failed its delta is returned back to local buffer and flush is scheduled again
+ * after flush interval or, if only threshold is used, after <code>retryInterval</code> from config.
+ * Response timeout doesn't mean that <code>INCRBY</code> hasn't been executed,
+ * so in this case the delta could be counted twice.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonBufferedCounter implements RBufferedCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonBufferedCounter.class);
+
+    private final CommandAsyncExecutor commandExecutor;
+    private final String name;
+    private final long flushInterval;
+    private final long threshold;
+    private final Set<RedissonBufferedCounter> counters;
+
+    private final LongCounter pending = PlatformDependent.newLongCounter();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger activeAdds = new AtomicInteger();
+    private final AtomicInteger activeFlushes = new AtomicInteger();
+    private volatile boolean closed;
+
+    public RedissonBufferedCounter(Set<RedissonBufferedCounter> counters, CommandAsyncExecutor commandExecutor,
+            String name, long flushInterval, long threshold) {
+        if (flushInterval <= 0 && threshold <= 0) {
+            throw new IllegalArgumentException("flushInterval or threshold should be greater than 0");
+        }
+        this.counters = counters;
+        this.commandExecutor = commandExecutor;
+        this.name = name;
+        this.flushInterval = flushInterval;
+        this.threshold = threshold;
+        counters.add(this);
+    }
+
+    @Override
+    public void add(long delta) {
+        // close() waits for active adds, so delta can't be added after final flush
+        activeAdds.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Counter is closed");
+            }
+            pending.add(delta);
+        } finally {
+            if (activeAdds.decrementAndGet() == 0 && closed) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        if (threshold > 0 && Math.abs(pending.value()) >= threshold) {
+            flushAsync();
+        } else if (flushInterval > 0) {
+            scheduleFlush(flushInterval);
+        }
+    }
+
+    private void scheduleFlush(long delay) {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                flushScheduled.set(false);
+                flushAsync();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void increment() {
+        add(1);
+    }
+
+    @Override
+    public void decrement() {
+        add(-1);
+    }
+
+    @Override
+    public long get() {
+        Long value = commandExecutor.get(commandExecutor.<Long, Long>readAsync(name, StringCodec.INSTANCE, RedisCommands.GET_LONG, name));
+        return value + pending.value();
+    }
+
+    @Override
+    public long getPending() {
+        return pending.value();
+    }
+
+    @Override
+    public void flush() {
+        commandExecutor.get(flushAsync());
+    }
+
+    @Override
+    public Future<Void> flushAsync() {
+        final long delta;
+        synchronized (this) {
+            delta = pending.value();
+            if (delta == 0) {
+                return commandExecutor.getConnectionManager().newSucceededFuture(null);
+            }
+            pending.add(-delta);
+            activeFlushes.incrementAndGet();
+        }
+
+        final Promise<Void> result = commandExecutor.getConnectionManager().newPromise();
+        Future<Void> future = commandExecutor.writeAsync(name, StringCodec.INSTANCE, RedisCommands.INCRBY_VOID, name, delta);
+        future.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    pending.add(delta);
+                    // returned delta shouldn't wait for the next add
+                    if (!closed) {
+                        if (flushInterval > 0) {
+                            scheduleFlush(flushInterval);
+                        } else {
+                            scheduleFlush(commandExecutor.getConnectionManager().getConfig().getRetryInterval());
+                        }
+                    }
+                    log.error("Can't flush " + delta + " to counter " + name, future.cause());
+                }
+
+                synchronized (RedissonBufferedCounter.this) {
+                    if (activeFlushes.decrementAndGet() == 0) {
+                        RedissonBufferedCounter.this.notifyAll();
+                    }
+                }
+
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(null);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        await(activeAdds);
+        counters.remove(this);
+        // failed flush returns its delta back, so final flush should be made after it
+        await(activeFlushes);
+        flush();
+    }
+
+    private void await(AtomicInteger counter) {
+        synchronized (this) {
+            while (counter.get() > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.connection.ConnectionManager;
+import org.redisson.core.RBufferedPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Topic publisher which collects messages locally and sends them
+ * either as single <code>publishAll</code> command or as single packed message.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <M> message
+ */
+public class RedissonBufferedPublisher<M> implements RBufferedPublisher<M> {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonBufferedPublisher.class);
+
+    private final RedissonTopic<M> topic;
+    private final int maxMessages;
+    private final long flushInterval;
+    private final boolean packMessages;
+
+    private List<M> buffer = new ArrayList<M>();
+    private Timeout flushTimeout;
+    private boolean closed;
+    private Future<Long> lastSend;
+
+    public RedissonBufferedPublisher(RedissonTopic<M> topic, int maxMessages, long flushInterval, boolean packMessages) {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("maxMessages should be greater than 0");
+        }
+        this.topic = topic;
+        this.maxMessages = maxMessages;
+        this.flushInterval = flushInterval;
+        this.packMessages = packMessages;
+    }
+
+    private ConnectionManager getConnectionManager() {
+        return topic.commandExecutor.getConnectionManager();
+    }
+
+    @Override
+    public void publish(M message) {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Publisher is closed");
+            }
+
+            buffer.add(message);
+            if (buffer.size() >= maxMessages) {
+                send(drain());
+            } else if (flushTimeout == null && flushInterval > 0) {
+                flushTimeout = getConnectionManager().newTimeout(new TimerTask() {
+                    @Override
+                    public void run(Timeout timeout) throws Exception {
+                        synchronized (RedissonBufferedPublisher.this) {
+                            if (flushTimeout != timeout) {
+                                return;
+                            }
+                            send(drain());
+                        }
+                    }
+                }, flushInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private List<M> drain() {
+        if (flushTimeout != null) {
+            flushTimeout.cancel();
+            flushTimeout = null;
+        }
+        List<M> messages = buffer;
+        buffer = new ArrayList<M>();
+        return messages;
+    }
+
+    /**
+     * Sends batch right after previous batch has been published
+     * to keep order of batches. Should be invoked under lock.
+     */
+    private Future<Long> send(final List<M> messages) {
+        final Promise<Long> result = getConnectionManager().newPromise();
+        Future<Long> previous = lastSend;
+        lastSend = result;
+        if (previous == null) {
+            publish(messages, result);
+        } else {
+            previous.addListener(new FutureListener<Long>() {
+                @Override
+                public void operationComplete(Future<Long> future) throws Exception {
+                    publish(messages, result);
+                }
+            });
+        }
+        return result;
+    }
+
+    private void publish(final List<M> messages, final Promise<Long> result) {
+        if (messages.isEmpty()) {
+            result.setSuccess(0L);
+            return;
+        }
+
+        Future<Long> future;
+        if (packMessages && messages.size() > 1) {
+            future = topic.publishEnvelopeAsync(new ArrayList<Object>(messages));
+        } else {
+            future = topic.publishAllAsync(messages);
+        }
+        future.addListener(new FutureListener<Long>() {
+            @Override
+            public void operationComplete(Future<Long> future) throws Exception {
+                if (!future.isSuccess()) {
+                    log.error("Can't publish " + messages.size() + " messages to topic " + topic.getChannelNames(), future.cause());
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(future.getNow());
+            }
+        });
+    }
+
+    @Override
+    public void flush() {
+        topic.commandExecutor.get(flushAsync());
+    }
+
+    @Override
+    public Future<Void> flushAsync() {
+        Future<Long> sendFuture;
+        synchronized (this) {
+            sendFuture = send(drain());
+        }
+
+        final Promise<Void> result = getConnectionManager().newPromise();
+        sendFuture.addListener(new FutureListener<Long>() {
+            @Override
+            public void operationComplete(Future<Long> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(null);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+}
@@ -33,21 +33,26 @@ import org.redisson.core.RBlockingDeque;
 import org.redisson.core.RBlockingQueue;
 import org.redisson.core.RBloomFilter;
 import org.redisson.core.RBucket;
+import org.redisson.core.RBufferedCounter;
 import org.redisson.core.RBuckets;
 import org.redisson.core.RCountDownLatch;
+import org.redisson.core.RCountMinSketch;
 import org.redisson.core.RDeque;
 import org.redisson.core.RGeo;
 import org.redisson.core.RHyperLogLog;
+import org.redisson.core.RIdGenerator;
 import org.redisson.core.RKeys;
 import org.redisson.core.RLexSortedSet;
 import org.redisson.core.RList;
 import org.redisson.core.RListMultimap;
 import org.redisson.core.RListMultimapCache;
 import org.redisson.core.RLock;
+import org.redisson.core.RLongAdder;
 import org.redisson.core.RMap;
 import org.redisson.core.RMapCache;
 import org.redisson.core.RPatternTopic;
 import org.redisson.core.RQueue;
+import org.redisson.core.RRateLimiter;
 import org.redisson.core.RReadWriteLock;
 import org.redisson.core.RRemoteService;
 import org.redisson.core.RScoredSortedSet;
@@ -57,6 +62,8 @@ import org.redisson.core.RSet;
 import org.redisson.core.RSetCache;
 import org.redisson.core.RSetMultimap;
 import org.redisson.core.RSetMultimapCache;
+import org.redisson.core.RSlidingWindowCounter;
+import org.redisson.core.RSnapshotableBloomFilter;
 import org.redisson.core.RSortedSet;
 import org.redisson.core.RTopic;
 
@@ -336,6 +343,42 @@ public interface RedissonClient {
      */
     RSemaphore getSemaphore(String name);
 
+    /**
+     * Returns semaphore instance by name which permits
+     * are spread over <code>stripes</code> keys.
+     * <p/>
+     * Amount of permits requested by single acquire operation
+     * should be available within one stripe.
+     * Rename, move and migrate operations aren't supported.
+     *
+     * @param name of semaphore
+     * @param stripes amount of stripes
+     * @return
+     */
+    RSemaphore getStripedSemaphore(String name, int stripes);
+
+    /**
+     * Returns rate limiter instance by name
+     *
+     * @param name of rate limiter
+     * @return
+     */
+    RRateLimiter getRateLimiter(String name);
+
+    /**
+     * Returns rate limiter instance by name which takes up to
+     * <code>prefetchPermits</code> permits from Redis per request
+     * and hands out the surplus locally.
+     * <p/>
+     * Prefetched permits are kept by returned instance, so it should be reused.
+     * Permits prefetched but not used during rate interval are lost.
+     *
+     * @param name of rate limiter
+     * @param prefetchPermits max amount of permits taken per request
+     * @return
+     */
+    RRateLimiter getRateLimiter(String name, long prefetchPermits);
+
     /**
      * Returns lock instance by name.
      * <p/>
@@ -558,6 +601,61 @@ public interface RedissonClient {
      */
     RAtomicLong getAtomicLong(String name);
 
+    /**
+     * Returns sharded counter instance by name.
+     * Counter value is spread over <code>shards</code> keys.
+     * <p/>
+     * All instances of the same counter should use the same shards amount.
+     * Rename, move and migrate operations aren't supported.
+     *
+     * @param name of counter
+     * @param shards amount of shards
+     * @return
+     */
+    RLongAdder getLongAdder(String name, int shards);
+
+    /**
+     * Returns counter of events happened during the last <code>window</code>.
+     * Window is split into <code>buckets</code> time buckets.
+     * <p/>
+     * All instances of the same counter should use the same window and buckets amount.
+     *
+     * @param name of counter
+     * @param window size
+     * @param unit of window
+     * @param buckets amount per window
+     * @return
+     */
+    RSlidingWindowCounter getSlidingWindowCounter(String name, long window, TimeUnit unit, int buckets);
+
+    /**
+     * Returns counter which accumulates deltas locally
+     * and adds them to the atomicLong with specified name.
+     * Deltas are flushed each <code>flushInterval</code> or
+     * once absolute value of accumulated deltas reaches <code>threshold</code>.
+     * Zero value disables corresponding trigger.
+     * <p/>
+     * Pending deltas are flushed during {@link #shutdown()}.
+     *
+     * @param name of atomicLong
+     * @param flushInterval max time deltas are kept locally
+     * @param unit of flushInterval
+     * @param threshold of accumulated deltas
+     * @return
+     */
+    RBufferedCounter createBufferedCounter(String name, long flushInterval, TimeUnit unit, long threshold);
+
+    /**
+     * Returns id generator which reserves blocks of <code>allocationSize</code> ids
+     * from the atomicLong with specified name and hands them out locally.
+     * Returned instance keeps the current block, so it should be reused.
+     *
+     * @param name of atomicLong
+     * @param allocationSize amount of ids reserved per request
+     * @return
+     */
+    RIdGenerator createIdGenerator(String name, long allocationSize);
+
     /**
      * Returns atomicDouble instance by name.
      *
@@ -588,7 +686,7 @@ public interface RedissonClient {
      * @param name of bloom filter
      * @return
      */
-    <V> RBloomFilter<V> getBloomFilter(String name);
+    <V> RSnapshotableBloomFilter<V> getBloomFilter(String name);
 
     /**
      * Returns bloom filter instance by name
@@ -597,7 +695,67 @@ public interface RedissonClient {
      * @param name of bloom filter
      * @return
      */
-    <V> RBloomFilter<V> getBloomFilter(String name, Codec codec);
+    <V> RSnapshotableBloomFilter<V> getBloomFilter(String name, Codec codec);
+
+    /**
+     * Returns sharded bloom filter instance by name.
+     * Filter bitmap is split into <code>partitions</code> keys.
+     * <p/>
+     * Partitions amount is stored on initialization
+     * and the stored value is used by all instances of the same filter.
+     *
+     * @param name of bloom filter
+     * @param partitions amount of partitions
+     * @return
+     */
+    <V> RBloomFilter<V> getShardedBloomFilter(String name, int partitions);
+
+    /**
+     * Returns sharded bloom filter instance by name
+     * using provided codec for objects.
+     *
+     * @param name of bloom filter
+     * @param partitions amount of partitions
+     * @param codec
+     * @return
+     */
+    <V> RBloomFilter<V> getShardedBloomFilter(String name, int partitions, Codec codec);
+
+    /**
+     * Returns scalable bloom filter instance by name.
+     * Filter adds new layer each time the last layer is full.
+     *
+     * @param name of bloom filter
+     * @return
+     */
+    <V> RBloomFilter<V> getScalableBloomFilter(String name);
+
+    /**
+     * Returns scalable bloom filter instance by name
+     * using provided codec for objects.
+     *
+     * @param name of bloom filter
+     * @param codec
+     * @return
+     */
+    <V> RBloomFilter<V> getScalableBloomFilter(String name, Codec codec);
+
+    /**
+     * Returns count-min sketch instance by name.
+     *
+     * @param name of count-min sketch
+     * @return
+     */
+    <V> RCountMinSketch<V> getCountMinSketch(String name);
+
+    /**
+     * Returns count-min sketch instance by name
+     * using provided codec for objects.
+     *
+     * @param name of count-min sketch
+     * @return
+     */
+    <V> RCountMinSketch<V> getCountMinSketch(String name, Codec codec);
 
     /**
      * Returns script operations object
@@ -670,6 +828,11 @@ public interface RedissonClient {
      * (usually a couple seconds) before it shuts itself down.  If a task is submitted during the quiet period,
      * it is guaranteed to be accepted and the quiet period will start over.
      * 
+     * New commands are rejected with {@link RedissonShutdownException} since shutdown start.
+     * Already accepted commands, including batches, are awaited for completion during {@code timeout}.
+     * Time spent on commands awaiting is subtracted from {@code timeout} of executor shutdown,
+     * so whole shutdown takes no more than {@code timeout}.
+     * 
      * @param quietPeriod the quiet period as described in the documentation
      * @param timeout     the maximum amount of time to wait until the executor is {@linkplain #shutdown()}
      *                    regardless if a task was submitted during the quiet period
@@ -715,4 +878,20 @@ public interface RedissonClient {
      */
     boolean isShuttingDown();
 
+    /**
+     * Returns amount of accepted commands, including batches,
+     * which haven't been completed yet.
+     *
+     * @return
+     */
+    int getInFlightCommands();
+
+    /**
+     * Returns amount of accepted commands which haven't been completed
+     * during shutdown timeout and were dropped.
+     *
+     * @return
+     */
+    int getAbandonedCommands();
+
 }
@@ -24,6 +24,7 @@ import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.core.RCountDownLatch;
 import org.redisson.pubsub.CountDownLatchPubSub;
+import org.redisson.pubsub.NotificationChannels;
 
 import io.netty.util.concurrent.Future;
 
@@ -117,10 +118,11 @@ public class RedissonCountDownLatch extends RedissonObject implements RCountDown
     @Override
     public Future<Void> countDownAsync() {
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                        NotificationChannels.NOTIFY_FUNCTION +
                         "local v = redis.call('decr', KEYS[1]);" +
                         "if v <= 0 then redis.call('del', KEYS[1]) end;" +
-                        "if v == 0 then redis.call('publish', KEYS[2], ARGV[1]) end;",
-                    Arrays.<Object>asList(getName(), getChannelName()), zeroCountMessage);
+                        "if v == 0 then notify(KEYS[2], ARGV[1]) end;",
+                    Arrays.<Object>asList(getName(), getChannelName()), zeroCountMessage, getPublishChannel());
     }
 
     private String getEntryName() {
@@ -131,6 +133,10 @@ public class RedissonCountDownLatch extends RedissonObject implements RCountDown
         return "redisson_countdownlatch__channel__{" + getName() + "}";
     }
 
+    private String getPublishChannel() {
+        return commandExecutor.getConnectionManager().getNotificationChannels().getPublishChannel(getChannelName());
+    }
+
     @Override
     public long getCount() {
         return get(getCountAsync());
@@ -149,26 +155,28 @@ public class RedissonCountDownLatch extends RedissonObject implements RCountDown
     @Override
     public Future<Boolean> trySetCountAsync(long count) {
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                NotificationChannels.NOTIFY_FUNCTION +
                 "if redis.call('exists', KEYS[1]) == 0 then "
                     + "redis.call('set', KEYS[1], ARGV[2]); "
-                    + "redis.call('publish', KEYS[2], ARGV[1]); "
+                    + "notify(KEYS[2], ARGV[1]); "
                     + "return 1 "
                 + "else "
                     + "return 0 "
                 + "end",
-                Arrays.<Object>asList(getName(), getChannelName()), newCountMessage, count);
+                Arrays.<Object>asList(getName(), getChannelName()), newCountMessage, count, getPublishChannel());
     }
 
     @Override
     public Future<Boolean> deleteAsync() {
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                NotificationChannels.NOTIFY_FUNCTION +
                 "if redis.call('del', KEYS[1]) == 1 then "
-                    + "redis.call('publish', KEYS[2], ARGV[1]); "
+                    + "notify(KEYS[2], ARGV[1]); "
                     + "return 1 "
                 + "else "
                     + "return 0 "
                 + "end",
-                Arrays.<Object>asList(getName(), getChannelName()), newCountMessage);
+                Arrays.<Object>asList(getName(), getChannelName()), newCountMessage, getPublishChannel());
     }
 
 }
@@ -0,0 +1,432 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
+import org.redisson.command.CommandExecutor;
+import org.redisson.core.RCountMinSketch;
+
+import io.netty.util.concurrent.Future;
+import net.openhft.hashing.LongHashFunction;
+
+/**
+ * Count-min sketch with counters stored in hash by cell index
+ * and top-K objects stored in sorted set scored by estimated count.
+ * Cell indexes are calculated with the same 64-bit hashes as in {@link RedissonBloomFilter}.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public class RedissonCountMinSketch<T> extends RedissonExpirable implements RCountMinSketch<T> {
+
+    private static final String CONFIG_CHANGED = "Count-min sketch config has been changed";
+
+    private static final String CONFIG_CHECK =
+              "local width = redis.call('hget', KEYS[2], 'width'); "
+            + "local depth = redis.call('hget', KEYS[2], 'depth'); "
+            + "assert(width == ARGV[1] and depth == ARGV[2], '" + CONFIG_CHANGED + "'); ";
+
+    private volatile int width;
+    private volatile int depth;
+
+    private final CommandExecutor commandExecutor;
+
+    protected RedissonCountMinSketch(CommandExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    protected RedissonCountMinSketch(Codec codec, CommandExecutor commandExecutor, String name) {
+        super(codec, commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    private static String suffixName(String name, String suffix) {
+        if (name.contains("{") && name.indexOf("}") > name.indexOf("{") + 1) {
+            return name + suffix;
+        }
+        return "{" + name + "}" + suffix;
+    }
+
+    private List<Object> getKeys(String name) {
+        return Arrays.<Object>asList(name, suffixName(name, "__config"), suffixName(name, "__topk"));
+    }
+
+    private List<String> getKeyNames() {
+        return Arrays.asList(getName(), getConfigName(), getTopKName());
+    }
+
+    private String getConfigName() {
+        return suffixName(getName(), "__config");
+    }
+
+    private String getTopKName() {
+        return suffixName(getName(), "__topk");
+    }
+
+    @Override
+    public boolean tryInit(double epsilon, double confidence, int topK) {
+        if (epsilon <= 0 || epsilon >= 1) {
+            throw new IllegalArgumentException("epsilon should be in range (0, 1)");
+        }
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("confidence should be in range (0, 1)");
+        }
+        if (topK < 0) {
+            throw new IllegalArgumentException("topK can't be negative");
+        }
+
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / (1 - confidence)));
+
+        Boolean result = commandExecutor.evalWrite(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('exists', KEYS[1]) == 1 then "
+                  + "return 0; "
+              + "end; "
+              + "redis.call('hmset', KEYS[1], 'width', ARGV[1], 'depth', ARGV[2], 'topK', ARGV[3], "
+                  + "'epsilon', ARGV[4], 'confidence', ARGV[5]); "
+              + "return 1;",
+                Arrays.<Object>asList(getConfigName()), width, depth, topK,
+                BigDecimal.valueOf(epsilon).toPlainString(), BigDecimal.valueOf(confidence).toPlainString());
+        if (result) {
+            this.width = width;
+            this.depth = depth;
+        } else {
+            readConfig();
+        }
+        return result;
+    }
+
+    private void readConfig() {
+        Future<Map<String, String>> future = commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+        Map<String, String> config = commandExecutor.get(future);
+        if (config.get("width") == null
+                || config.get("depth") == null) {
+            throw new IllegalStateException("Count-min sketch is not initialized!");
+        }
+        width = Integer.valueOf(config.get("width"));
+        depth = Integer.valueOf(config.get("depth"));
+    }
+
+    private void hash(byte[] state, int width, int depth, List<Object> params) {
+        long hash1 = LongHashFunction.xx_r39().hashBytes(state);
+        long hash2 = LongHashFunction.farmUo().hashBytes(state);
+
+        long hash = hash1;
+        for (int i = 0; i < depth; i++) {
+            params.add((long) i * width + (hash & Long.MAX_VALUE) % width);
+            hash += hash2;
+        }
+    }
+
+    private byte[] encode(T object) {
+        try {
+            return codec.getValueEncoder().encode(object);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public long add(T object) {
+        return add(object, 1);
+    }
+
+    @Override
+    public long add(T object, long count) {
+        return addAllAndEstimate(Collections.singletonMap(object, count));
+    }
+
+    @Override
+    public void addAll(Collection<? extends T> objects) {
+        Map<T, Long> counts = new LinkedHashMap<T, Long>();
+        for (T object : objects) {
+            Long count = counts.get(object);
+            if (count == null) {
+                count = 0L;
+            }
+            counts.put(object, count + 1);
+        }
+        addAll(counts);
+    }
+
+    @Override
+    public void addAll(Map<? extends T, Long> counts) {
+        addAllAndEstimate(counts);
+    }
+
+    /**
+     * @return estimated count of the last object
+     */
+    private long addAllAndEstimate(Map<? extends T, Long> counts) {
+        if (counts.isEmpty()) {
+            return 0;
+        }
+        for (Long count : counts.values()) {
+            if (count == null || count <= 0) {
+                throw new IllegalArgumentException("count should be positive");
+            }
+        }
+
+        List<byte[]> states = new ArrayList<byte[]>(counts.size());
+        for (T object : counts.keySet()) {
+            states.add(encode(object));
+        }
+
+        while (true) {
+            if (width == 0) {
+                readConfig();
+            }
+
+            int width = this.width;
+            int depth = this.depth;
+
+            List<Object> params = new ArrayList<Object>(2 + counts.size() * (2 + depth));
+            params.add(width);
+            params.add(depth);
+            int i = 0;
+            for (Long count : counts.values()) {
+                byte[] state = states.get(i++);
+                params.add(count);
+                params.add(state);
+                hash(state, width, depth, params);
+            }
+
+            try {
+                return commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                        CONFIG_CHECK
+                      + "depth = tonumber(depth); "
+                      + "local topK = tonumber(redis.call('hget', KEYS[2], 'topK')); "
+                      + "local estimate = 0; "
+                      + "local i = 3; "
+                      + "while i <= #ARGV do "
+                          + "estimate = nil; "
+                          + "for j = 1, depth do "
+                              + "local value = redis.call('hincrby', KEYS[1], ARGV[i + 1 + j], ARGV[i]); "
+                              + "if estimate == nil or value < estimate then "
+                                  + "estimate = value; "
+                              + "end; "
+                          + "end; "
+                          + "if topK > 0 then "
+                              + "redis.call('zadd', KEYS[3], estimate, ARGV[i + 1]); "
+                          + "end; "
+                          + "i = i + 2 + depth; "
+                      + "end; "
+                      + "if topK > 0 then "
+                          + "local size = redis.call('zcard', KEYS[3]); "
+                          + "if size > topK then "
+                              + "redis.call('zremrangebyrank', KEYS[3], 0, size - topK - 1); "
+                          + "end; "
+                      + "end; "
+                      + "return estimate;",
+                        getKeys(getName()), params.toArray());
+            } catch (RedisException e) {
+                if (!e.getMessage().contains(CONFIG_CHANGED)) {
+                    throw e;
+                }
+                readConfig();
+            }
+        }
+    }
+
+    @Override
+    public long count(T object) {
+        byte[] state = encode(object);
+
+        while (true) {
+            if (width == 0) {
+                readConfig();
+            }
+
+            int width = this.width;
+            int depth = this.depth;
+
+            List<Object> params = new ArrayList<Object>(2 + depth);
+            params.add(width);
+            params.add(depth);
+            hash(state, width, depth, params);
+
+            try {
+                return commandExecutor.evalRead(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                        CONFIG_CHECK
+                      + "local values = redis.call('hmget', KEYS[1], unpack(ARGV, 3)); "
+                      + "local estimate = nil; "
+                      + "for i, v in ipairs(values) do "
+                          + "local value = tonumber(v) or 0; "
+                          + "if estimate == nil or value < estimate then "
+                              + "estimate = value; "
+                          + "end; "
+                      + "end; "
+                      + "return estimate;",
+                        getKeys(getName()), params.toArray());
+            } catch (RedisException e) {
+                if (!e.getMessage().contains(CONFIG_CHANGED)) {
+                    throw e;
+                }
+                readConfig();
+            }
+        }
+    }
+
+    @Override
+    public Map<T, Long> getTopK() {
+        List<ScoredEntry<T>> entries = commandExecutor.read(getTopKName(), codec, RedisCommands.ZREVRANGE_ENTRY, getTopKName(), 0, -1, "WITHSCORES");
+        Map<T, Long> result = new LinkedHashMap<T, Long>();
+        for (ScoredEntry<T> entry : entries) {
+            result.put(entry.getValue(), entry.getScore().longValue());
+        }
+        return result;
+    }
+
+    @Override
+    public void merge(String... names) {
+        // own or repeated name would add the same counters twice
+        Set<String> sketchNames = new LinkedHashSet<String>(Arrays.asList(names));
+        sketchNames.remove(getName());
+        if (sketchNames.isEmpty()) {
+            return;
+        }
+
+        List<Object> keys = new ArrayList<Object>(getKeys(getName()));
+        for (String name : sketchNames) {
+            keys.addAll(getKeys(name));
+        }
+
+        Set<ByteBuffer> candidates = new LinkedHashSet<ByteBuffer>();
+        for (int i = 2; i < keys.size(); i += 3) {
+            String topKName = (String) keys.get(i);
+            List<Object> objects = commandExecutor.read(topKName, ByteArrayCodec.INSTANCE, RedisCommands.ZRANGE, topKName, 0, -1);
+            for (Object object : objects) {
+                candidates.add(ByteBuffer.wrap((byte[]) object));
+            }
+        }
+
+        while (true) {
+            if (width == 0) {
+                readConfig();
+            }
+
+            int width = this.width;
+            int depth = this.depth;
+
+            List<Object> params = new ArrayList<Object>(2 + candidates.size() * (1 + depth));
+            params.add(width);
+            params.add(depth);
+            for (ByteBuffer candidate : candidates) {
+                byte[] state = candidate.array();
+                params.add(state);
+                hash(state, width, depth, params);
+            }
+
+            try {
+                commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                        CONFIG_CHECK
+                      + "for i = 4, #KEYS, 3 do "
+                          + "assert(redis.call('hget', KEYS[i + 1], 'width') == width "
+                              + "and redis.call('hget', KEYS[i + 1], 'depth') == depth, "
+                              + "'Count-min sketch ' .. KEYS[i] .. ' has different width or depth'); "
+                          + "local counters = redis.call('hgetall', KEYS[i]); "
+                          + "for j = 1, #counters, 2 do "
+                              + "redis.call('hincrby', KEYS[1], counters[j], counters[j + 1]); "
+                          + "end; "
+                      + "end; "
+                      + "depth = tonumber(depth); "
+                      + "local topK = tonumber(redis.call('hget', KEYS[2], 'topK')); "
+                      + "if topK > 0 then "
+                          + "for i = 3, #ARGV, 1 + depth do "
+                              + "local values = redis.call('hmget', KEYS[1], unpack(ARGV, i + 1, i + depth)); "
+                              + "local estimate = nil; "
+                              + "for j, v in ipairs(values) do "
+                                  + "local value = tonumber(v) or 0; "
+                                  + "if estimate == nil or value < estimate then "
+                                      + "estimate = value; "
+                                  + "end; "
+                              + "end; "
+                              + "redis.call('zadd', KEYS[3], estimate, ARGV[i]); "
+                          + "end; "
+                          + "local size = redis.call('zcard', KEYS[3]); "
+                          + "if size > topK then "
+                              + "redis.call('zremrangebyrank', KEYS[3], 0, size - topK - 1); "
+                          + "end; "
+                      + "end;",
+                        keys, params.toArray());
+                return;
+            } catch (RedisException e) {
+                if (!e.getMessage().contains(CONFIG_CHANGED)) {
+                    throw e;
+                }
+                readConfig();
+            }
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        readConfig();
+        return width;
+    }
+
+    @Override
+    public int getDepth() {
+        readConfig();
+        return depth;
+    }
+
+    @Override
+    public Future<Boolean> deleteAsync() {
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getKeys(getName()).toArray());
+    }
+
+    @Override
+    public Future<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeOnKeysAsync(true, RedisCommands.PEXPIRE, getKeyNames(), timeUnit.toMillis(timeToLive));
+    }
+
+    @Override
+    public Future<Boolean> expireAtAsync(long timestamp) {
+        return executeOnKeysAsync(true, RedisCommands.PEXPIREAT, getKeyNames(), timestamp);
+    }
+
+    @Override
+    public Future<Boolean> clearExpireAsync() {
+        return executeOnKeysAsync(true, RedisCommands.PERSIST, getKeyNames());
+    }
+
+}
@@ -26,6 +26,7 @@ import org.redisson.client.protocol.RedisStrictCommand;
 import org.redisson.command.CommandExecutor;
 import org.redisson.core.RLock;
 import org.redisson.pubsub.LockPubSub;
+import org.redisson.pubsub.NotificationChannels;
 
 import io.netty.util.concurrent.Future;
 
@@ -41,10 +42,29 @@ import io.netty.util.concurrent.Future;
  */
 public class RedissonFairLock extends RedissonLock implements RLock {
 
+    /**
+     * Drops waiters which haven't renewed their place in queue in time.
+     * Expired waiters are removed from timeout set by single range command,
+     * queue list entries without timeout are popped once they reach the head.
+     * Expects queue list in KEYS[2], timeout set in KEYS[3]
+     * and current time in <code>currentTime</code> variable.
+     *
+     * @see RedissonObject#currentTimeScript(String)
+     */
+    private static final String REMOVE_STALE_THREADS =
+            "redis.call('zremrangebyscore', KEYS[3], '-inf', currentTime); " +
+            "while true do " +
+                "local firstThreadId = redis.call('lindex', KEYS[2], 0); " +
+                "if firstThreadId == false or redis.call('zscore', KEYS[3], firstThreadId) ~= false then " +
+                    "break; " +
+                "end; " +
+                "redis.call('lpop', KEYS[2]); " +
+            "end; ";
+
     private final CommandExecutor commandExecutor;
 
-    protected RedissonFairLock(CommandExecutor commandExecutor, String name, UUID id) {
-        super(commandExecutor, name, id);
+    protected RedissonFairLock(LockRenewalScheduler renewalScheduler, CommandExecutor commandExecutor, String name, UUID id) {
+        super(renewalScheduler, commandExecutor, name, id);
         this.commandExecutor = commandExecutor;
     }
     
@@ -52,10 +72,15 @@ public class RedissonFairLock extends RedissonLock implements RLock {
         return "redisson_lock_queue:{" + getName() + "}";
     }
     
-    String getThreadElementName(long threadId) {
-        return "redisson_lock_thread:{" + getName() + "}:" + getLockName(threadId);
+    String getTimeoutSetName() {
+        return "redisson_lock_timeout:{" + getName() + "}";
     }
-    
+
+    @Override
+    protected boolean isWaitersCoalescingSupported() {
+        return false;
+    }
+
     @Override
     protected RedissonLockEntry getEntry(long threadId) {
         return PUBSUB.getEntry(getEntryName() + ":" + threadId);
@@ -77,27 +102,17 @@ public class RedissonFairLock extends RedissonLock implements RLock {
     <T> Future<T> tryLockInnerAsync(long leaseTime, TimeUnit unit, long threadId, RedisStrictCommand<T> command) {
         internalLockLeaseTime = unit.toMillis(leaseTime);
         long threadWaitTime = 5000;
+        long currentTime = System.currentTimeMillis();
 
         if (command == RedisCommands.EVAL_NULL_BOOLEAN) {
             return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, command,
-                    // remove stale threads
-                    "while true do "
-                    + "local firstThreadId2 = redis.call('lindex', KEYS[2], 0);"
-                    + "if firstThreadId2 == false then "
-                        + "break;"
-                    + "end; "
-                    + "if redis.call('exists', 'redisson_lock_thread:{' .. KEYS[1] .. '}:' .. firstThreadId2) == 0 then "
-                        + "redis.call('lpop', KEYS[2]); "
-                    + "else "
-                        + "break;"
-                    + "end; "
-                  + "end;"
-                    + 
-                    
+                    currentTimeScript("ARGV[3]") +
+                    REMOVE_STALE_THREADS +
+
                     "if (redis.call('exists', KEYS[1]) == 0) and ((redis.call('exists', KEYS[2]) == 0) "
                             + "or (redis.call('lindex', KEYS[2], 0) == ARGV[2])) then " +
                             "redis.call('lpop', KEYS[2]); " +
-                            "redis.call('del', KEYS[3]); " +
+                            "redis.call('zrem', KEYS[3], ARGV[2]); " +
                             "redis.call('hset', KEYS[1], ARGV[2], 1); " +
                             "redis.call('pexpire', KEYS[1], ARGV[1]); " +
                             "return nil; " +
@@ -108,28 +123,19 @@ public class RedissonFairLock extends RedissonLock implements RLock {
                             "return nil; " +
                         "end; " +
                         "return 1;", 
-                    Arrays.<Object>asList(getName(), getThreadsQueueName(), getThreadElementName(threadId)), internalLockLeaseTime, getLockName(threadId));
+                    Arrays.<Object>asList(getName(), getThreadsQueueName(), getTimeoutSetName()), 
+                                    internalLockLeaseTime, getLockName(threadId), currentTime);
         }
         
         if (command == RedisCommands.EVAL_LONG) {
             return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, command,
-                    // remove stale threads
-                    "while true do "
-                    + "local firstThreadId2 = redis.call('lindex', KEYS[2], 0);"
-                    + "if firstThreadId2 == false then "
-                        + "break;"
-                    + "end; "
-                    + "if redis.call('exists', 'redisson_lock_thread:{' .. KEYS[1] .. '}:' .. firstThreadId2) == 0 then "
-                        + "redis.call('lpop', KEYS[2]); "
-                    + "else "
-                        + "break;"
-                    + "end; "
-                  + "end;"
-                    + 
+                    currentTimeScript("ARGV[4]") +
+                    REMOVE_STALE_THREADS +
+
                         "if (redis.call('exists', KEYS[1]) == 0) and ((redis.call('exists', KEYS[2]) == 0) "
                             + "or (redis.call('lindex', KEYS[2], 0) == ARGV[2])) then " +
                             "redis.call('lpop', KEYS[2]); " +
-                            "redis.call('del', KEYS[3]); " +
+                            "redis.call('zrem', KEYS[3], ARGV[2]); " +
                             "redis.call('hset', KEYS[1], ARGV[2], 1); " +
                             "redis.call('pexpire', KEYS[1], ARGV[1]); " +
                             "return nil; " +
@@ -139,19 +145,17 @@ public class RedissonFairLock extends RedissonLock implements RLock {
                             "redis.call('pexpire', KEYS[1], ARGV[1]); " +
                             "return nil; " +
                         "end; " +
-                        "local firstThreadId = redis.call('lindex', KEYS[2], 0)" +
+                        "local firstThreadId = redis.call('lindex', KEYS[2], 0); " +
                         "local ttl = redis.call('pttl', KEYS[1]); " + 
                         "if firstThreadId ~= false and firstThreadId ~= ARGV[2] then " + 
-                            "ttl = redis.call('pttl', 'redisson_lock_thread:{' .. KEYS[1] .. '}:' .. firstThreadId);" + 
+                            "ttl = tonumber(redis.call('zscore', KEYS[3], firstThreadId)) - currentTime; " + 
                         "end; " + 
-                        "if redis.call('exists', KEYS[3]) == 0 then " +
-                            "redis.call('rpush', KEYS[2], ARGV[2]);" +
-                            "redis.call('set', KEYS[3], 1);" +
+                        "if redis.call('zadd', KEYS[3], ttl + tonumber(ARGV[3]) + currentTime, ARGV[2]) == 1 then " +
+                            "redis.call('rpush', KEYS[2], ARGV[2]); " +
                         "end; " +
-                        "redis.call('pexpire', KEYS[3], ttl + tonumber(ARGV[3]));" +
                         "return ttl;", 
-                        Arrays.<Object>asList(getName(), getThreadsQueueName(), getThreadElementName(threadId)), 
-                                    internalLockLeaseTime, getLockName(threadId), threadWaitTime);
+                        Arrays.<Object>asList(getName(), getThreadsQueueName(), getTimeoutSetName()), 
+                                    internalLockLeaseTime, getLockName(threadId), threadWaitTime, currentTime);
         }
         
         throw new IllegalArgumentException();
@@ -160,24 +164,14 @@ public class RedissonFairLock extends RedissonLock implements RLock {
     @Override
     public void unlock() {
         Boolean opStatus = commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
-                // remove stale threads
-                "while true do "
-                + "local firstThreadId2 = redis.call('lindex', KEYS[2], 0);"
-                + "if firstThreadId2 == false then "
-                    + "break;"
-                + "end; "
-                + "if redis.call('exists', 'redisson_lock_thread:{' .. KEYS[1] .. '}:' .. firstThreadId2) == 0 then "
-                    + "redis.call('lpop', KEYS[2]); "
-                + "else "
-                    + "break;"
-                + "end; "
-              + "end;"
-                + 
-                
+                NotificationChannels.NOTIFY_FUNCTION +
+                currentTimeScript("ARGV[4]") +
+                REMOVE_STALE_THREADS +
+
                 "if (redis.call('exists', KEYS[1]) == 0) then " + 
-                    "local nextThreadId = redis.call('lindex', KEYS[3], 0); " + 
+                    "local nextThreadId = redis.call('lindex', KEYS[2], 0); " + 
                     "if nextThreadId ~= false then " +
-                        "redis.call('publish', KEYS[2] .. ':' .. nextThreadId, ARGV[1]); " +
+                        "notify(KEYS[4] .. ':' .. nextThreadId, ARGV[1]); " +
                     "end; " +
                     "return 1; " +
                 "end;" +
@@ -190,14 +184,16 @@ public class RedissonFairLock extends RedissonLock implements RLock {
                     "return 0; " +
                 "else " +
                     "redis.call('del', KEYS[1]); " +
-                    "local nextThreadId = redis.call('lindex', KEYS[3], 0); " + 
+                    "local nextThreadId = redis.call('lindex', KEYS[2], 0); " + 
                     "if nextThreadId ~= false then " +
-                        "redis.call('publish', KEYS[2] .. ':' .. nextThreadId, ARGV[1]); " +
+                        "notify(KEYS[4] .. ':' .. nextThreadId, ARGV[1]); " +
                     "end; " +
                     "return 1; "+
                 "end; " +
                 "return nil;",
-                Arrays.<Object>asList(getName(), getChannelName(), getThreadsQueueName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()));
+                Arrays.<Object>asList(getName(), getThreadsQueueName(), getTimeoutSetName(), getChannelName()), 
+                LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()), 
+                System.currentTimeMillis(), getPublishChannel());
         
         if (opStatus == null) {
             throw new IllegalMonitorStateException("attempt to unlock lock, not locked by current thread by node id: "
@@ -217,29 +213,20 @@ public class RedissonFairLock extends RedissonLock implements RLock {
     public Future<Boolean> forceUnlockAsync() {
         cancelExpirationRenewal();
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
-                // remove stale threads
-                "while true do "
-                + "local firstThreadId2 = redis.call('lindex', KEYS[2], 0);"
-                + "if firstThreadId2 == false then "
-                    + "break;"
-                + "end; "
-                + "if redis.call('exists', 'redisson_lock_thread:{' .. KEYS[1] .. '}:' .. firstThreadId2) == 0 then "
-                    + "redis.call('lpop', KEYS[2]); "
-                + "else "
-                    + "break;"
-                + "end; "
-              + "end;"
-                + 
-                
+                NotificationChannels.NOTIFY_FUNCTION +
+                currentTimeScript("ARGV[2]") +
+                REMOVE_STALE_THREADS +
+
                 "if (redis.call('del', KEYS[1]) == 1) then " + 
-                    "local nextThreadId = redis.call('lindex', KEYS[3], 0); " + 
+                    "local nextThreadId = redis.call('lindex', KEYS[2], 0); " + 
                     "if nextThreadId ~= false then " +
-                        "redis.call('publish', KEYS[2] .. ':' .. nextThreadId, ARGV[1]); " +
+                        "notify(KEYS[4] .. ':' .. nextThreadId, ARGV[1]); " +
                     "end; " + 
                     "return 1 " + 
                 "end " + 
                 "return 0;",
-                Arrays.<Object>asList(getName(), getChannelName(), getThreadsQueueName()), LockPubSub.unlockMessage);
+                Arrays.<Object>asList(getName(), getThreadsQueueName(), getTimeoutSetName(), getChannelName()), 
+                LockPubSub.unlockMessage, System.currentTimeMillis(), getPublishChannel());
     }
 
 }
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.core.RIdGenerator;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Hi/lo id generator. Each block of <code>allocationSize</code> ids is reserved
+ * with single <code>INCRBY</code> command. Ids are handed out from the current block
+ * using atomic counter. Next block is requested once half of current block is used.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonIdGenerator implements RIdGenerator {
+
+    static class Block {
+
+        final AtomicLong next;
+        final long end;
+        final long prefetchId;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchId = start + (end - start) / 2;
+        }
+
+    }
+
+    private final CommandAsyncExecutor commandExecutor;
+    private final String name;
+    private final long allocationSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<Block>();
+    private final AtomicReference<Future<Block>> nextBlock = new AtomicReference<Future<Block>>();
+
+    public RedissonIdGenerator(CommandAsyncExecutor commandExecutor, String name, long allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("allocationSize should be greater than 0");
+        }
+        this.commandExecutor = commandExecutor;
+        this.name = name;
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    if (id == block.prefetchId) {
+                        fetchNextBlock();
+                    }
+                    return id;
+                }
+            }
+
+            Future<Block> future = fetchNextBlock();
+            Block newBlock = commandExecutor.get(future);
+            install(block, newBlock, future);
+        }
+    }
+
+    @Override
+    public Future<Long> nextIdAsync() {
+        Promise<Long> result = commandExecutor.getConnectionManager().newPromise();
+        nextIdAsync(result);
+        return result;
+    }
+
+    private void nextIdAsync(final Promise<Long> result) {
+        final Block block = current.get();
+        if (block != null) {
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                if (id == block.prefetchId) {
+                    fetchNextBlock();
+                }
+                result.setSuccess(id);
+                return;
+            }
+        }
+
+        final Future<Block> future = fetchNextBlock();
+        future.addListener(new FutureListener<Block>() {
+            @Override
+            public void operationComplete(Future<Block> f) throws Exception {
+                if (!f.isSuccess()) {
+                    result.setFailure(f.cause());
+                    return;
+                }
+
+                install(block, f.getNow(), future);
+                nextIdAsync(result);
+            }
+        });
+    }
+
+    private void install(Block exhausted, Block newBlock, Future<Block> future) {
+        // only one thread installs fetched block,
+        // others just retry with installed one
+        if (current.compareAndSet(exhausted, newBlock)) {
+            nextBlock.compareAndSet(future, null);
+        }
+    }
+
+    private Future<Block> fetchNextBlock() {
+        while (true) {
+            Future<Block> future = nextBlock.get();
+            if (future != null) {
+                return future;
+            }
+
+            final Promise<Block> promise = commandExecutor.getConnectionManager().newPromise();
+            if (!nextBlock.compareAndSet(null, promise)) {
+                continue;
+            }
+
+            Future<Long> incrFuture = commandExecutor.writeAsync(name, StringCodec.INSTANCE, RedisCommands.INCRBY, name, allocationSize);
+            incrFuture.addListener(new FutureListener<Long>() {
+                @Override
+                public void operationComplete(Future<Long> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        nextBlock.compareAndSet(promise, null);
+                        promise.setFailure(future.cause());
+                        return;
+                    }
+
+                    long end = future.getNow() + 1;
+                    promise.setSuccess(new Block(end - allocationSize, end));
+                }
+            });
+            return promise;
+        }
+    }
+
+}
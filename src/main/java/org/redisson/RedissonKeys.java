@@ -150,7 +150,7 @@ public class RedissonKeys implements RKeys {
     @Override
     public Future<Long> deleteByPatternAsync(String pattern) {
         if (!commandExecutor.getConnectionManager().isClusterMode()) {
-            return commandExecutor.evalWriteAsync((String)null, null, RedisCommands.EVAL_LONG, "local keys = redis.call('keys', ARGV[1]) "
+            return commandExecutor.getBulkExecutor().evalWriteAsync((String)null, null, RedisCommands.EVAL_LONG, "local keys = redis.call('keys', ARGV[1]) "
                               + "local n = 0 "
                               + "for i=1, #keys,5000 do "
                                   + "n = n + redis.call('del', unpack(keys, i, math.min(i+4999, table.getn(keys)))) "
@@ -177,7 +177,7 @@ public class RedissonKeys implements RKeys {
         };
 
         for (MasterSlaveEntry entry : entries) {
-            Future<Collection<String>> findFuture = commandExecutor.readAsync(entry, null, RedisCommands.KEYS, pattern);
+            Future<Collection<String>> findFuture = commandExecutor.getBulkExecutor().readAsync(entry, null, RedisCommands.KEYS, pattern);
             findFuture.addListener(new FutureListener<Collection<String>>() {
                 @Override
                 public void operationComplete(Future<Collection<String>> future) throws Exception {
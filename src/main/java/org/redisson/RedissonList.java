@@ -101,7 +101,7 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
 
     @Override
     public Future<List<V>> readAllAsync() {
-        return commandExecutor.readAsync(getName(), codec, LRANGE, getName(), 0, -1);
+        return commandExecutor.getBulkExecutor().readAsync(getName(), codec, LRANGE, getName(), 0, -1);
     }
 
     @Override
@@ -18,7 +18,6 @@ package org.redisson;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -31,16 +30,14 @@ import org.redisson.client.protocol.RedisStrictCommand;
 import org.redisson.command.CommandExecutor;
 import org.redisson.core.RLock;
 import org.redisson.pubsub.LockPubSub;
+import org.redisson.pubsub.NotificationChannels;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.netty.util.Timeout;
-import io.netty.util.TimerTask;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.concurrent.ScheduledFuture;
-import io.netty.util.internal.PlatformDependent;
 
 /**
  * Distributed implementation of {@link java.util.concurrent.locks.Lock}
@@ -57,7 +54,6 @@ public class RedissonLock extends RedissonExpirable implements RLock {
     private final Logger log = LoggerFactory.getLogger(RedissonLock.class);
     
     public static final long LOCK_EXPIRATION_INTERVAL_SECONDS = 30;
-    private static final ConcurrentMap<String, Timeout> expirationRenewalMap = PlatformDependent.newConcurrentHashMap();
     protected long internalLockLeaseTime = TimeUnit.SECONDS.toMillis(LOCK_EXPIRATION_INTERVAL_SECONDS);
 
     final UUID id;
@@ -65,10 +61,12 @@ public class RedissonLock extends RedissonExpirable implements RLock {
     protected static final LockPubSub PUBSUB = new LockPubSub();
 
     final CommandExecutor commandExecutor;
+    final LockRenewalScheduler renewalScheduler;
 
-    protected RedissonLock(CommandExecutor commandExecutor, String name, UUID id) {
+    protected RedissonLock(LockRenewalScheduler renewalScheduler, CommandExecutor commandExecutor, String name, UUID id) {
         super(commandExecutor, name);
         this.commandExecutor = commandExecutor;
+        this.renewalScheduler = renewalScheduler;
         this.id = id;
     }
 
@@ -83,10 +81,36 @@ public class RedissonLock extends RedissonExpirable implements RLock {
         return "redisson_lock__channel__{" + getName() + "}";
     }
 
+    String getPublishChannel() {
+        return commandExecutor.getConnectionManager().getNotificationChannels().getPublishChannel(getChannelName());
+    }
+
     String getLockName(long threadId) {
         return id + ":" + threadId;
     }
 
+    /**
+     * Local waiters queue could be used only if lock is exclusive
+     * and doesn't order waiters itself
+     *
+     * @return <code>true</code> if local waiters queue is supported
+     */
+    protected boolean isWaitersCoalescingSupported() {
+        return true;
+    }
+
+    private boolean isWaitersCoalescingEnabled() {
+        return isWaitersCoalescingSupported()
+                && commandExecutor.getConnectionManager().getConfig().isLockWaitersCoalescing();
+    }
+
+    private long toMillis(long leaseTime, TimeUnit unit) {
+        if (leaseTime == -1) {
+            return -1;
+        }
+        return unit.toMillis(leaseTime);
+    }
+
     @Override
     public void lock() {
         try {
@@ -120,6 +144,34 @@ public class RedissonLock extends RedissonExpirable implements RLock {
         }
 
         long threadId = Thread.currentThread().getId();
+        LockWaiterQueue queue = null;
+        if (isWaitersCoalescingEnabled()) {
+            queue = LockWaiterQueue.acquire(getEntryName());
+            try {
+                LockWaiterQueue.State state = queue.enter(threadId, toMillis(leaseTime, unit), -1);
+                // lock handed off
+                if (state == LockWaiterQueue.State.GRANTED) {
+                    queue.release(getEntryName());
+                    return;
+                }
+            } catch (InterruptedException e) {
+                queue.release(getEntryName());
+                throw e;
+            }
+        }
+
+        try {
+            lockInterruptibly(leaseTime, unit, threadId);
+        } finally {
+            if (queue != null) {
+                queue.leave();
+                queue.release(getEntryName());
+            }
+        }
+    }
+
+    private void lockInterruptibly(long leaseTime, TimeUnit unit, long threadId) throws InterruptedException {
+        Long ttl;
         Future<RedissonLockEntry> future = subscribe(threadId);
         get(future);
 
@@ -198,42 +250,11 @@ public class RedissonLock extends RedissonExpirable implements RLock {
     }
 
     private void scheduleExpirationRenewal() {
-        if (expirationRenewalMap.containsKey(getEntryName())) {
-            return;
-        }
-
-        Timeout task = commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
-            @Override
-            public void run(Timeout timeout) throws Exception {
-                Future<Boolean> future = expireAsync(internalLockLeaseTime, TimeUnit.MILLISECONDS);
-                future.addListener(new FutureListener<Boolean>() {
-                    @Override
-                    public void operationComplete(Future<Boolean> future) throws Exception {
-                        expirationRenewalMap.remove(getEntryName());
-                        if (!future.isSuccess()) {
-                            log.error("Can't update lock " + getName() + " expiration", future.cause());
-                            return;
-                        }
-                        
-                        if (future.getNow()) {
-                            // reschedule itself
-                            scheduleExpirationRenewal();
-                        }
-                    }
-                });
-            }
-        }, internalLockLeaseTime / 3, TimeUnit.MILLISECONDS);
-
-        if (expirationRenewalMap.putIfAbsent(getEntryName(), task) != null) {
-            task.cancel();
-        }
+        renewalScheduler.schedule(getEntryName(), getName(), internalLockLeaseTime);
     }
 
     void cancelExpirationRenewal() {
-        Timeout task = expirationRenewalMap.remove(getEntryName());
-        if (task != null) {
-            task.cancel();
-        }
+        renewalScheduler.cancel(getEntryName());
     }
 
     <T> Future<T> tryLockInnerAsync(long leaseTime, TimeUnit unit, long threadId, RedisStrictCommand<T> command) {
@@ -263,7 +284,36 @@ public class RedissonLock extends RedissonExpirable implements RLock {
             return true;
         }
 
-        final long threadId = Thread.currentThread().getId();
+        long threadId = Thread.currentThread().getId();
+        if (!isWaitersCoalescingEnabled()) {
+            return tryLock(time, leaseTime, unit, threadId);
+        }
+
+        LockWaiterQueue queue = LockWaiterQueue.acquire(getEntryName());
+        try {
+            long current = System.currentTimeMillis();
+            LockWaiterQueue.State state = queue.enter(threadId, toMillis(leaseTime, unit), Math.max(time, 0));
+            if (state == null) {
+                return false;
+            }
+            // lock handed off
+            if (state == LockWaiterQueue.State.GRANTED) {
+                return true;
+            }
+
+            time -= System.currentTimeMillis() - current;
+            try {
+                return tryLock(time, leaseTime, unit, threadId);
+            } finally {
+                queue.leave();
+            }
+        } finally {
+            queue.release(getEntryName());
+        }
+    }
+
+    private boolean tryLock(long time, long leaseTime, TimeUnit unit, final long threadId) throws InterruptedException {
+        Long ttl;
         Future<RedissonLockEntry> future = subscribe(threadId);
         if (!await(future, time, TimeUnit.MILLISECONDS)) {
             future.addListener(new FutureListener<RedissonLockEntry>() {
@@ -325,9 +375,14 @@ public class RedissonLock extends RedissonExpirable implements RLock {
 
     @Override
     public void unlock() {
+        if (handOff()) {
+            return;
+        }
+
         Boolean opStatus = commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                        NotificationChannels.NOTIFY_FUNCTION +
                         "if (redis.call('exists', KEYS[1]) == 0) then " +
-                            "redis.call('publish', KEYS[2], ARGV[1]); " +
+                            "notify(KEYS[2], ARGV[1]); " +
                             "return 1; " +
                         "end;" +
                         "if (redis.call('hexists', KEYS[1], ARGV[3]) == 0) then " +
@@ -339,11 +394,11 @@ public class RedissonLock extends RedissonExpirable implements RLock {
                             "return 0; " +
                         "else " +
                             "redis.call('del', KEYS[1]); " +
-                            "redis.call('publish', KEYS[2], ARGV[1]); " +
+                            "notify(KEYS[2], ARGV[1]); " +
                             "return 1; "+
                         "end; " +
                         "return nil;",
-                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()));
+                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()), getPublishChannel());
         if (opStatus == null) {
             throw new IllegalMonitorStateException("attempt to unlock lock, not locked by current thread by node id: "
                     + id + " thread-id: " + Thread.currentThread().getId());
@@ -363,6 +418,64 @@ public class RedissonLock extends RedissonExpirable implements RLock {
 //        throw commandExecutor.convertException(future);
     }
 
+    /**
+     * Passes lock held by current thread to the first locally queued waiter.
+     *
+     * @return <code>true</code> if lock has been handed off
+     */
+    boolean handOff() {
+        if (!isWaitersCoalescingEnabled()
+                || !commandExecutor.getConnectionManager().getConfig().isLockHandOff()) {
+            return false;
+        }
+        LockWaiterQueue queue = LockWaiterQueue.get(getEntryName());
+        if (queue == null) {
+            return false;
+        }
+        LockWaiterQueue.Waiter waiter = queue.pollForHandOff();
+        if (waiter == null) {
+            return false;
+        }
+
+        boolean success = false;
+        try {
+            long leaseTime = waiter.leaseTime;
+            if (leaseTime == -1) {
+                leaseTime = TimeUnit.SECONDS.toMillis(LOCK_EXPIRATION_INTERVAL_SECONDS);
+            }
+            Boolean result = commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                            getHandOffScript(),
+                            Collections.<Object>singletonList(getName()), leaseTime,
+                            getLockName(Thread.currentThread().getId()), getLockName(waiter.threadId));
+            success = result;
+            if (success) {
+                if (waiter.leaseTime == -1) {
+                    internalLockLeaseTime = leaseTime;
+                    scheduleExpirationRenewal();
+                } else {
+                    cancelExpirationRenewal();
+                }
+            }
+            return success;
+        } finally {
+            queue.completeHandOff(waiter, success);
+        }
+    }
+
+    /**
+     * Switches lock owner from ARGV[2] to ARGV[3] and sets lease time ARGV[1]
+     * if lock isn't reentered by current owner.
+     */
+    String getHandOffScript() {
+        return "if (redis.call('hget', KEYS[1], ARGV[2]) ~= '1') then " +
+                    "return 0; " +
+                "end; " +
+                "redis.call('hdel', KEYS[1], ARGV[2]); " +
+                "redis.call('hset', KEYS[1], ARGV[3], 1); " +
+                "redis.call('pexpire', KEYS[1], ARGV[1]); " +
+                "return 1; ";
+    }
+
     @Override
     public Condition newCondition() {
         // TODO implement
@@ -378,13 +491,14 @@ public class RedissonLock extends RedissonExpirable implements RLock {
     public Future<Boolean> forceUnlockAsync() {
         cancelExpirationRenewal();
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                NotificationChannels.NOTIFY_FUNCTION +
                 "if (redis.call('del', KEYS[1]) == 1) then "
-                + "redis.call('publish', KEYS[2], ARGV[1]); "
+                + "notify(KEYS[2], ARGV[1]); "
                 + "return 1 "
                 + "else "
                 + "return 0 "
                 + "end",
-                Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage);
+                Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, getPublishChannel());
     }
 
     @Override
@@ -411,16 +525,19 @@ public class RedissonLock extends RedissonExpirable implements RLock {
         return forceUnlockAsync();
     }
 
+    @Override
     public Future<Void> unlockAsync() {
         long threadId = Thread.currentThread().getId();
         return unlockAsync(threadId);
     }
 
+    @Override
     public Future<Void> unlockAsync(final long threadId) {
         final Promise<Void> result = newPromise();
         Future<Boolean> future = commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                        NotificationChannels.NOTIFY_FUNCTION +
                         "if (redis.call('exists', KEYS[1]) == 0) then " +
-                            "redis.call('publish', KEYS[2], ARGV[1]); " +
+                            "notify(KEYS[2], ARGV[1]); " +
                             "return 1; " +
                         "end;" +
                         "if (redis.call('hexists', KEYS[1], ARGV[3]) == 0) then " +
@@ -432,11 +549,11 @@ public class RedissonLock extends RedissonExpirable implements RLock {
                             "return 0; " +
                         "else " +
                             "redis.call('del', KEYS[1]); " +
-                            "redis.call('publish', KEYS[2], ARGV[1]); " +
+                            "notify(KEYS[2], ARGV[1]); " +
                             "return 1; "+
                         "end; " +
                         "return nil;",
-                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(threadId));
+                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(threadId), getPublishChannel());
 
         future.addListener(new FutureListener<Boolean>() {
             @Override
@@ -0,0 +1,240 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.core.RLongAdder;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.ThreadLocalRandom;
+
+/**
+ * Distributed alternative to the {@link java.util.concurrent.atomic.LongAdder}
+ * <p/>
+ * Each update goes to randomly chosen shard stored in <code>name:index</code> key.
+ * Sum is calculated by reading all shards.
+ * Rename, move and migrate aren't supported since shards could be stored on different nodes.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonLongAdder extends RedissonExpirable implements RLongAdder {
+
+    private final int shards;
+
+    public RedissonLongAdder(CommandAsyncExecutor commandExecutor, String name, int shards) {
+        super(commandExecutor, name);
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shards amount should be positive");
+        }
+        this.shards = shards;
+    }
+
+    String getShardName(int index) {
+        return getName() + ":" + index;
+    }
+
+    @Override
+    public void add(long delta) {
+        get(addAsync(delta));
+    }
+
+    @Override
+    public Future<Void> addAsync(long delta) {
+        // TODO JDK UPGRADE replace to native ThreadLocalRandom
+        String shardName = getShardName(ThreadLocalRandom.current().nextInt(shards));
+        return commandExecutor.writeAsync(shardName, StringCodec.INSTANCE, RedisCommands.INCRBY_VOID, shardName, delta);
+    }
+
+    @Override
+    public void increment() {
+        add(1);
+    }
+
+    @Override
+    public Future<Void> incrementAsync() {
+        return addAsync(1);
+    }
+
+    @Override
+    public void decrement() {
+        add(-1);
+    }
+
+    @Override
+    public Future<Void> decrementAsync() {
+        return addAsync(-1);
+    }
+
+    @Override
+    public long sum() {
+        return get(sumAsync());
+    }
+
+    @Override
+    public Future<Long> sumAsync() {
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(shards);
+        for (int i = 0; i < shards; i++) {
+            String shardName = getShardName(i);
+            Future<Long> future = commandExecutor.readAsync(shardName, LongCodec.INSTANCE, RedisCommands.GET_LONG, shardName);
+            futures.add(future);
+        }
+        return sumAsync(futures);
+    }
+
+    @Override
+    public void reset() {
+        get(resetAsync());
+    }
+
+    @Override
+    public Future<Void> resetAsync() {
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>(shards);
+        for (int i = 0; i < shards; i++) {
+            String shardName = getShardName(i);
+            Future<Boolean> future = commandExecutor.writeAsync(shardName, RedisCommands.DEL_BOOL, shardName);
+            futures.add(future);
+        }
+
+        final Promise<Void> result = newPromise();
+        collectAsync(futures).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(null);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public long sumThenReset() {
+        return get(sumThenResetAsync());
+    }
+
+    @Override
+    public Future<Long> sumThenResetAsync() {
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(shards);
+        for (int i = 0; i < shards; i++) {
+            String shardName = getShardName(i);
+            Future<Long> future = commandExecutor.evalWriteAsync(shardName, LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                    "local value = redis.call('get', KEYS[1]); " +
+                    "redis.call('del', KEYS[1]); " +
+                    "return tonumber(value) or 0;",
+                    Collections.<Object>singletonList(shardName));
+            futures.add(future);
+        }
+        return sumAsync(futures);
+    }
+
+    private Future<Long> sumAsync(List<Future<Long>> futures) {
+        final Promise<Long> result = newPromise();
+        collectAsync(futures).addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                long sum = 0;
+                for (Long value : future.getNow()) {
+                    sum += value;
+                }
+                result.setSuccess(sum);
+            }
+        });
+        return result;
+    }
+
+    private List<String> getShardNames() {
+        List<String> names = new ArrayList<String>(shards);
+        for (int i = 0; i < shards; i++) {
+            names.add(getShardName(i));
+        }
+        return names;
+    }
+
+    @Override
+    public Future<Boolean> deleteAsync() {
+        return executeOnKeysAsync(true, RedisCommands.DEL_BOOL, getShardNames());
+    }
+
+    @Override
+    public Future<Boolean> isExistsAsync() {
+        return executeOnKeysAsync(false, RedisCommands.EXISTS, getShardNames());
+    }
+
+    /**
+     * Only existing shards are affected, shards created by later updates have no expiration.
+     */
+    @Override
+    public Future<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeOnKeysAsync(true, RedisCommands.PEXPIRE, getShardNames(), timeUnit.toMillis(timeToLive));
+    }
+
+    /**
+     * Only existing shards are affected, shards created by later updates have no expiration.
+     */
+    @Override
+    public Future<Boolean> expireAtAsync(long timestamp) {
+        return executeOnKeysAsync(true, RedisCommands.PEXPIREAT, getShardNames(), timestamp);
+    }
+
+    @Override
+    public Future<Boolean> clearExpireAsync() {
+        return executeOnKeysAsync(true, RedisCommands.PERSIST, getShardNames());
+    }
+
+    @Override
+    public Future<Long> remainTimeToLiveAsync() {
+        return remainTimeToLiveAsync(getShardNames());
+    }
+
+    @Override
+    public Future<Void> renameAsync(String newName) {
+        throw new UnsupportedOperationException("Rename isn't supported by long adder");
+    }
+
+    @Override
+    public Future<Boolean> renamenxAsync(String newName) {
+        throw new UnsupportedOperationException("Rename isn't supported by long adder");
+    }
+
+    @Override
+    public Future<Boolean> moveAsync(int database) {
+        throw new UnsupportedOperationException("Move isn't supported by long adder");
+    }
+
+    @Override
+    public Future<Void> migrateAsync(String host, int port, int database) {
+        throw new UnsupportedOperationException("Migrate isn't supported by long adder");
+    }
+
+}
@@ -196,7 +196,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     @Override
     public Future<Set<K>> readAllKeySetAsync() {
-        return commandExecutor.readAsync(getName(), codec, RedisCommands.HKEYS, getName());
+        return commandExecutor.getBulkExecutor().readAsync(getName(), codec, RedisCommands.HKEYS, getName());
     }
 
     @Override
@@ -206,7 +206,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     @Override
     public Future<Collection<V>> readAllValuesAsync() {
-        return commandExecutor.readAsync(getName(), codec, RedisCommands.HVALS, getName());
+        return commandExecutor.getBulkExecutor().readAsync(getName(), codec, RedisCommands.HVALS, getName());
     }
 
     @Override
@@ -216,7 +216,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     @Override
     public Future<Set<Entry<K, V>>> readAllEntrySetAsync() {
-        return commandExecutor.readAsync(getName(), codec, RedisCommands.HGETALL_ENTRY, getName());
+        return commandExecutor.getBulkExecutor().readAsync(getName(), codec, RedisCommands.HGETALL_ENTRY, getName());
     }
 
     @Override
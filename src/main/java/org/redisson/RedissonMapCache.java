@@ -741,7 +741,7 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
 
     @Override
     public Future<Set<java.util.Map.Entry<K, V>>> readAllEntrySetAsync() {
-        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_MAP_ENTRY,
+        return commandExecutor.getBulkExecutor().evalWriteAsync(getName(), codec, RedisCommands.EVAL_MAP_ENTRY,
                 "local s = redis.call('hgetall', KEYS[1]); "
                 + "local result = {}; "
                 + "for i, v in ipairs(s) do "
@@ -776,7 +776,7 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
     
     @Override
     public Future<Collection<V>> readAllValuesAsync() {
-        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_MAP_VALUE_LIST,
+        return commandExecutor.getBulkExecutor().evalWriteAsync(getName(), codec, RedisCommands.EVAL_MAP_VALUE_LIST,
                 "local s = redis.call('hgetall', KEYS[1]); "
                 + "local result = {}; "
                 + "for i, v in ipairs(s) do "
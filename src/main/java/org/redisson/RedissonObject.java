@@ -15,14 +15,23 @@
  */
 package org.redisson;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.core.RObject;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.Promise;
 
 /**
@@ -63,6 +72,141 @@ abstract class RedissonObject implements RObject {
         return commandExecutor.getConnectionManager().newSucceededFuture(result);
     }
 
+    /**
+     * Returns <code>true</code> if any of futures returned <code>true</code>
+     */
+    protected Future<Boolean> anyAsync(List<Future<Boolean>> futures) {
+        final Promise<Boolean> result = newPromise();
+        collectAsync(futures).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(future.getNow().contains(Boolean.TRUE));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns results of all futures in the same order
+     * or the first failure occurred.
+     */
+    protected <V> Future<List<V>> collectAsync(List<Future<V>> futures) {
+        final Promise<List<V>> result = newPromise();
+        final AtomicReferenceArray<V> values = new AtomicReferenceArray<V>(futures.size());
+        final AtomicInteger counter = new AtomicInteger(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            final int index = i;
+            futures.get(i).addListener(new FutureListener<V>() {
+                @Override
+                public void operationComplete(Future<V> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        result.tryFailure(future.cause());
+                        return;
+                    }
+
+                    values.set(index, future.getNow());
+                    if (counter.decrementAndGet() == 0) {
+                        List<V> list = new ArrayList<V>(values.length());
+                        for (int j = 0; j < values.length(); j++) {
+                            list.add(values.get(j));
+                        }
+                        result.trySuccess(list);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Executes boolean command on each key in parallel.
+     * Keys could belong to different slots, key is passed
+     * as the first command param followed by <code>params</code>.
+     *
+     * @param write - <code>true</code> for write command
+     * @param command
+     * @param keys
+     * @param params
+     * @return <code>true</code> if command returned <code>true</code> for any key
+     */
+    protected Future<Boolean> executeOnKeysAsync(boolean write, RedisCommand<Boolean> command, Collection<String> keys, Object... params) {
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>(keys.size());
+        for (String key : keys) {
+            List<Object> args = new ArrayList<Object>(params.length + 1);
+            args.add(key);
+            args.addAll(Arrays.asList(params));
+            Future<Boolean> future;
+            if (write) {
+                future = commandExecutor.writeAsync(key, StringCodec.INSTANCE, command, args.toArray());
+            } else {
+                future = commandExecutor.readAsync(key, StringCodec.INSTANCE, command, args.toArray());
+            }
+            futures.add(future);
+        }
+        return anyAsync(futures);
+    }
+
+    /**
+     * Returns remaining time to live of object stored in several keys
+     * in the same format as <code>PTTL</code> command.
+     *
+     * @param keys
+     * @return <code>-2</code> if none of keys exists,
+     *         <code>-1</code> if any existing key has no expiration,
+     *         otherwise the greatest time to live in milliseconds
+     */
+    protected Future<Long> remainTimeToLiveAsync(Collection<String> keys) {
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(keys.size());
+        for (String key : keys) {
+            Future<Long> future = commandExecutor.readAsync(key, StringCodec.INSTANCE, RedisCommands.PTTL, key);
+            futures.add(future);
+        }
+
+        final Promise<Long> result = newPromise();
+        collectAsync(futures).addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                long ttl = -2;
+                for (Long value : future.getNow()) {
+                    if (value == -1) {
+                        ttl = -1;
+                        break;
+                    }
+                    ttl = Math.max(ttl, value);
+                }
+                result.setSuccess(ttl);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Script declaring <code>currentTime</code> variable with Redis server time in milliseconds.
+     * Should be placed before any write command of script.
+     * Redis before 3.2 doesn't allow writes after TIME command in script,
+     * so client time passed as argument is used there and clocks of clients
+     * should be synchronized.
+     *
+     * @param clientTimeArg - script argument with client time, e.g. <code>ARGV[3]</code>
+     * @return script
+     */
+    protected static String currentTimeScript(String clientTimeArg) {
+        return "local currentTime = tonumber(" + clientTimeArg + "); " +
+               "if redis.replicate_commands ~= nil and redis.replicate_commands() then " +
+                   "local serverTime = redis.call('time'); " +
+                   "currentTime = tonumber(serverTime[1]) * 1000 + math.floor(tonumber(serverTime[2]) / 1000); " +
+               "end; ";
+    }
+
     @Override
     public String getName() {
         return name;
@@ -17,15 +17,16 @@ package org.redisson;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Semaphore;
 
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.command.CommandExecutor;
 import org.redisson.connection.PubSubConnectionEntry;
 import org.redisson.core.PatternMessageListener;
 import org.redisson.core.PatternStatusListener;
 import org.redisson.core.RPatternTopic;
+import org.redisson.pubsub.EnvelopeCodec;
 
 import io.netty.util.concurrent.Future;
 
@@ -59,33 +60,19 @@ public class RedissonPatternTopic<M> implements RPatternTopic<M> {
 
     @Override
     public int addListener(PatternMessageListener<M> listener) {
-        PubSubPatternMessageListener<M> pubSubListener = new PubSubPatternMessageListener<M>(listener, name);
+        PubSubPatternMessageListener<M> pubSubListener = new PubSubPatternMessageListener<M>(commandExecutor.getConnectionManager().getMessageDispatcher().wrap(listener), name);
         return addListener(pubSubListener);
     }
 
     private int addListener(RedisPubSubListener<?> pubSubListener) {
-        Future<PubSubConnectionEntry> future = commandExecutor.getConnectionManager().psubscribe(name, codec, pubSubListener);
+        Future<PubSubConnectionEntry> future = commandExecutor.getConnectionManager().psubscribe(name, new EnvelopeCodec(codec), pubSubListener);
         future.syncUninterruptibly();
         return System.identityHashCode(pubSubListener);
     }
 
     @Override
     public void removeListener(int listenerId) {
-        Semaphore semaphore = commandExecutor.getConnectionManager().getSemaphore(name);
-        semaphore.acquireUninterruptibly();
-
-        PubSubConnectionEntry entry = commandExecutor.getConnectionManager().getPubSubEntry(name);
-        if (entry == null) {
-            semaphore.release();
-            return;
-        }
-        
-        entry.removeListener(name, listenerId);
-        if (!entry.hasListeners(name)) {
-            commandExecutor.getConnectionManager().punsubscribe(name, semaphore);
-        } else {
-            semaphore.release();
-        }
+        commandExecutor.getConnectionManager().removeListener(name, listenerId, PubSubType.PSUBSCRIBE).syncUninterruptibly();
     }
 
     @Override
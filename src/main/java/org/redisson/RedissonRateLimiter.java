@@ -0,0 +1,252 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.core.RRateLimiter;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Token bucket rate limiter. Bucket state is stored in hash
+ * with <code>rate</code>, <code>interval</code>, <code>tokens</code> and <code>timestamp</code> fields.
+ * <p/>
+ * If <code>prefetchPermits</code> is greater than 1, up to that amount of permits
+ * is taken from the bucket per request and the surplus is kept locally for next acquires
+ * during one rate interval.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonRateLimiter extends RedissonExpirable implements RRateLimiter {
+
+    private final long prefetchPermits;
+    private long localPermits;
+    private long localPermitsDeadline;
+
+    protected RedissonRateLimiter(CommandAsyncExecutor commandExecutor, String name, long prefetchPermits) {
+        super(commandExecutor, name);
+        this.prefetchPermits = prefetchPermits;
+    }
+
+    @Override
+    public boolean trySetRate(long rate, long rateInterval, TimeUnit unit) {
+        return get(trySetRateAsync(rate, rateInterval, unit));
+    }
+
+    @Override
+    public Future<Boolean> trySetRateAsync(long rate, long rateInterval, TimeUnit unit) {
+        if (rate < 1 || rateInterval < 1) {
+            throw new IllegalArgumentException("rate and rateInterval should be greater than 0");
+        }
+
+        return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('hsetnx', KEYS[1], 'rate', ARGV[1]) == 1 then "
+                  + "redis.call('hset', KEYS[1], 'interval', ARGV[2]); "
+                  + "return 1; "
+              + "end; "
+              + "return 0;",
+                Collections.<Object>singletonList(getName()), rate, unit.toMillis(rateInterval));
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    @Override
+    public Future<Boolean> tryAcquireAsync() {
+        return tryAcquireAsync(1);
+    }
+
+    @Override
+    public boolean tryAcquire(long permits) {
+        return get(tryAcquireAsync(permits));
+    }
+
+    @Override
+    public Future<Boolean> tryAcquireAsync(long permits) {
+        return tryAcquireAsync(permits, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean tryAcquire(long permits, long timeout, TimeUnit unit) {
+        return get(tryAcquireAsync(permits, timeout, unit));
+    }
+
+    @Override
+    public Future<Boolean> tryAcquireAsync(long permits, long timeout, TimeUnit unit) {
+        Promise<Boolean> result = newPromise();
+        tryAcquireAsync(permits, System.currentTimeMillis() + unit.toMillis(timeout), result);
+        return result;
+    }
+
+    @Override
+    public void acquire() {
+        acquire(1);
+    }
+
+    @Override
+    public Future<Void> acquireAsync() {
+        return acquireAsync(1);
+    }
+
+    @Override
+    public void acquire(long permits) {
+        get(acquireAsync(permits));
+    }
+
+    @Override
+    public Future<Void> acquireAsync(long permits) {
+        final Promise<Void> result = newPromise();
+        Promise<Boolean> acquireResult = newPromise();
+        acquireResult.addListener(new FutureListener<Boolean>() {
+            @Override
+            public void operationComplete(Future<Boolean> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(null);
+            }
+        });
+        tryAcquireAsync(permits, Long.MAX_VALUE, acquireResult);
+        return result;
+    }
+
+    private synchronized boolean tryAcquireLocal(long permits) {
+        if (System.currentTimeMillis() >= localPermitsDeadline) {
+            localPermits = 0;
+        }
+        if (localPermits < permits) {
+            return false;
+        }
+        localPermits -= permits;
+        return true;
+    }
+
+    /**
+     * Prefetched permits expire after rate interval,
+     * otherwise they could be used later along with refilled bucket and exceed the rate.
+     */
+    private synchronized void addLocalPermits(long permits, long rateInterval) {
+        long currentTime = System.currentTimeMillis();
+        if (currentTime >= localPermitsDeadline) {
+            localPermits = 0;
+            localPermitsDeadline = currentTime + rateInterval;
+        }
+        localPermits += permits;
+    }
+
+    private void tryAcquireAsync(final long permits, final long deadline, final Promise<Boolean> result) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits amount should be greater than 0");
+        }
+
+        if (tryAcquireLocal(permits)) {
+            result.setSuccess(true);
+            return;
+        }
+
+        Future<List<Long>> future = acquireFromBucketAsync(permits, Math.max(permits, prefetchPermits));
+        future.addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                long value = future.getNow().get(0);
+                if (value > 0) {
+                    if (value > permits) {
+                        addLocalPermits(value - permits, future.getNow().get(1));
+                    }
+                    result.setSuccess(true);
+                    return;
+                }
+
+                long wait = -value;
+                if (System.currentTimeMillis() + wait > deadline) {
+                    result.setSuccess(false);
+                    return;
+                }
+
+                commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
+                    @Override
+                    public void run(Timeout timeout) throws Exception {
+                        tryAcquireAsync(permits, deadline, result);
+                    }
+                }, wait, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    /**
+     * Refills bucket and takes from <code>permits</code> up to <code>maxPermits</code> from it.
+     * Bucket is refilled according to Redis server time.
+     *
+     * @return amount of taken permits or negative time in milliseconds
+     *         to wait until <code>permits</code> become available,
+     *         followed by rate interval in milliseconds
+     */
+    private Future<List<Long>> acquireFromBucketAsync(long permits, long maxPermits) {
+        return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "local rate = redis.call('hget', KEYS[1], 'rate'); "
+              + "local interval = redis.call('hget', KEYS[1], 'interval'); "
+              + "if rate == false or interval == false then "
+                  + "return redis.error_reply('RateLimiter is not initialized'); "
+              + "end; "
+              + "rate = tonumber(rate); "
+              + "interval = tonumber(interval); "
+              + "local permits = tonumber(ARGV[1]); "
+              + "if permits > rate then "
+                  + "return redis.error_reply('Requested permits amount could not exceed defined rate'); "
+              + "end; "
+              + currentTimeScript("ARGV[3]")
+              + "local tokens = tonumber(redis.call('hget', KEYS[1], 'tokens')); "
+              + "local timestamp = tonumber(redis.call('hget', KEYS[1], 'timestamp')); "
+              + "if tokens == nil or timestamp == nil then "
+                  + "tokens = rate; "
+                  + "timestamp = currentTime; "
+              + "end; "
+              + "if currentTime > timestamp then "
+                  + "tokens = math.min(rate, tokens + (currentTime - timestamp) * rate / interval); "
+                  + "timestamp = currentTime; "
+              + "end; "
+              + "local result; "
+              + "if tokens >= permits then "
+                  + "result = math.max(permits, math.min(math.floor(tokens), tonumber(ARGV[2]))); "
+                  + "tokens = tokens - result; "
+              + "else "
+                  + "result = -math.ceil((permits - tokens) * interval / rate); "
+              + "end; "
+              + "redis.call('hmset', KEYS[1], 'tokens', tokens, 'timestamp', timestamp); "
+              + "return {result, interval};",
+                Collections.<Object>singletonList(getName()), permits, maxPermits, System.currentTimeMillis());
+    }
+
+}
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.redisson.api.RAtomicLongReactive;
+import org.redisson.api.RLongAdderReactive;
 import org.redisson.api.RBatchReactive;
 import org.redisson.api.RBitSetReactive;
 import org.redisson.api.RBlockingQueueReactive;
@@ -52,6 +53,7 @@ import org.redisson.core.ClusterNode;
 import org.redisson.core.Node;
 import org.redisson.core.NodesGroup;
 import org.redisson.reactive.RedissonAtomicLongReactive;
+import org.redisson.reactive.RedissonLongAdderReactive;
 import org.redisson.reactive.RedissonBatchReactive;
 import org.redisson.reactive.RedissonBitSetReactive;
 import org.redisson.reactive.RedissonBlockingQueueReactive;
@@ -262,6 +264,11 @@ public class RedissonReactive implements RedissonReactiveClient {
         return new RedissonAtomicLongReactive(commandExecutor, name);
     }
 
+    @Override
+    public RLongAdderReactive getLongAdder(String name, int shards) {
+        return new RedissonLongAdderReactive(commandExecutor, name, shards);
+    }
+
     @Override
     public RBitSetReactive getBitSet(String name) {
         return new RedissonBitSetReactive(commandExecutor, name);
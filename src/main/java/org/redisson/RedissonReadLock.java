@@ -27,6 +27,7 @@ import org.redisson.client.protocol.RedisStrictCommand;
 import org.redisson.command.CommandExecutor;
 import org.redisson.core.RLock;
 import org.redisson.pubsub.LockPubSub;
+import org.redisson.pubsub.NotificationChannels;
 
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
@@ -41,11 +42,16 @@ public class RedissonReadLock extends RedissonLock implements RLock {
 
     private final CommandExecutor commandExecutor;
 
-    protected RedissonReadLock(CommandExecutor commandExecutor, String name, UUID id) {
-        super(commandExecutor, name, id);
+    protected RedissonReadLock(LockRenewalScheduler renewalScheduler, CommandExecutor commandExecutor, String name, UUID id) {
+        super(renewalScheduler, commandExecutor, name, id);
         this.commandExecutor = commandExecutor;
     }
 
+    @Override
+    protected boolean isWaitersCoalescingSupported() {
+        return false;
+    }
+
     @Override
     String getChannelName() {
         return "redisson_rwlock__{" + getName() + "}";
@@ -75,9 +81,10 @@ public class RedissonReadLock extends RedissonLock implements RLock {
     @Override
     public void unlock() {
         Boolean opStatus = commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                                NotificationChannels.NOTIFY_FUNCTION +
                                 "local mode = redis.call('hget', KEYS[1], 'mode'); " +
                                 "if (mode == false) then " +
-                                    "redis.call('publish', KEYS[2], ARGV[1]); " +
+                                    "notify(KEYS[2], ARGV[1]); " +
                                     "return 1; " +
                                 "end; "
                               + "if (mode == 'read') then " +
@@ -93,14 +100,14 @@ public class RedissonReadLock extends RedissonLock implements RLock {
                                             "redis.call('hdel', KEYS[1], ARGV[3]); " +
                                             "if (redis.call('hlen', KEYS[1]) == 1) then " +
                                                 "redis.call('del', KEYS[1]); " +
-                                                "redis.call('publish', KEYS[2], ARGV[1]); " +
+                                                "notify(KEYS[2], ARGV[1]); " +
                                             "end; " +
                                             "return 1; "+
                                         "end; " +
                                     "end; " +
                                 "end; " +
                                 "return nil; ",
-                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()));
+                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()), getPublishChannel());
         if (opStatus == null) {
             throw new IllegalMonitorStateException("attempt to unlock read lock, not locked by current thread by node id: "
                     + id + " thread-id: " + Thread.currentThread().getId());
@@ -118,14 +125,15 @@ public class RedissonReadLock extends RedissonLock implements RLock {
     @Override
     public Future<Boolean> forceUnlockAsync() {
         Future<Boolean> result = commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                NotificationChannels.NOTIFY_FUNCTION +
                 "if (redis.call('hget', KEYS[1], 'mode') == 'read') then " +
                     "redis.call('del', KEYS[1]); " +
-                    "redis.call('publish', KEYS[2], ARGV[1]); " +
+                    "notify(KEYS[2], ARGV[1]); " +
                     "return 1; " +
                 "else " +
                     "return 0; " +
                 "end;",
-                Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage);
+                Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, getPublishChannel());
 
           result.addListener(new FutureListener<Boolean>() {
               @Override
@@ -39,21 +39,23 @@ public class RedissonReadWriteLock extends RedissonExpirable implements RReadWri
 
     private final UUID id;
     private final CommandExecutor commandExecutor;
+    private final LockRenewalScheduler renewalScheduler;
 
-    RedissonReadWriteLock(CommandExecutor commandExecutor, String name, UUID id) {
+    RedissonReadWriteLock(LockRenewalScheduler renewalScheduler, CommandExecutor commandExecutor, String name, UUID id) {
         super(commandExecutor, name);
         this.commandExecutor = commandExecutor;
+        this.renewalScheduler = renewalScheduler;
         this.id = id;
     }
 
     @Override
     public RLock readLock() {
-        return new RedissonReadLock(commandExecutor, getName(), id);
+        return new RedissonReadLock(renewalScheduler, commandExecutor, getName(), id);
     }
 
     @Override
     public RLock writeLock() {
-        return new RedissonWriteLock(commandExecutor, getName(), id);
+        return new RedissonWriteLock(renewalScheduler, commandExecutor, getName(), id);
     }
 
 }
@@ -0,0 +1,493 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.DoubleCodec;
+import org.redisson.client.codec.IntegerCodec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
+import org.redisson.command.CommandExecutor;
+import org.redisson.core.RBloomFilter;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Scalable Bloom filter which grows by adding new layers stored in <code>{name}:index</code> keys.
+ * <p/>
+ * <code>expectedInsertions</code> and <code>falseProbability</code> define first layer.
+ * Each next layer has doubled capacity and halved false probability,
+ * so total false probability doesn't exceed <code>falseProbability</code>.
+ * Objects are added to the last layer only if they aren't present in any layer.
+ * New layer is added once amount of objects added to the last layer reaches its capacity.
+ * Layers aren't added beyond the last one fitting into max bitmap size,
+ * it accepts objects over its capacity with growing false probability.
+ * <p/>
+ * All keys share the same hash tag and are processed by single script call.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public class RedissonScalableBloomFilter<T> extends RedissonExpirable implements RBloomFilter<T> {
+
+    private static final int GROWTH_RATIO = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private static final String CONFIG_CHECK =
+            "local layers = redis.call('hget', KEYS[1], 'layers');" +
+            "assert(layers == ARGV[1], '" + RedissonBloomFilter.CONFIG_CHANGED + "'); ";
+
+    private volatile List<Layer> layers;
+
+    private final CommandExecutor commandExecutor;
+
+    private static class Layer {
+
+        final long capacity;
+        final long size;
+        final int hashIterations;
+
+        Layer(long capacity, long size, int hashIterations) {
+            this.capacity = capacity;
+            this.size = size;
+            this.hashIterations = hashIterations;
+        }
+
+    }
+
+    public RedissonScalableBloomFilter(CommandExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    public RedissonScalableBloomFilter(Codec codec, CommandExecutor commandExecutor, String name) {
+        super(codec, commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    String getConfigName() {
+        return "{" + getName() + "}" + "__config";
+    }
+
+    String getLayerName(int index) {
+        return "{" + getName() + "}" + ":" + index;
+    }
+
+    static long layerCapacity(long expectedInsertions, int index) {
+        return expectedInsertions * (long) Math.pow(GROWTH_RATIO, index);
+    }
+
+    static long layerSize(long expectedInsertions, double falseProbability, int index) {
+        double probability = falseProbability * Math.pow(TIGHTENING_RATIO, index) * (1 - TIGHTENING_RATIO);
+        return RedissonBloomFilter.optimalNumOfBits(layerCapacity(expectedInsertions, index), probability);
+    }
+
+    /**
+     * Returns amount of layers which size doesn't exceed <code>MAX_SIZE</code>.
+     */
+    static int maxLayers(long expectedInsertions, double falseProbability) {
+        int count = 0;
+        while (layerSize(expectedInsertions, falseProbability, count) <= RedissonBloomFilter.MAX_SIZE) {
+            count++;
+        }
+        return count;
+    }
+
+    static Layer createLayer(long expectedInsertions, double falseProbability, int index) {
+        long capacity = layerCapacity(expectedInsertions, index);
+        long size = layerSize(expectedInsertions, falseProbability, index);
+        if (size > RedissonBloomFilter.MAX_SIZE) {
+            throw new IllegalStateException("Bloom filter layer can't be greater than " + RedissonBloomFilter.MAX_SIZE
+                    + ". But calculated size of layer " + index + " is " + size);
+        }
+        return new Layer(capacity, size, RedissonBloomFilter.optimalNumOfHashFunctions(capacity, size));
+    }
+
+    @Override
+    public boolean add(T object) {
+        return addAll(Collections.singletonList(object)) > 0;
+    }
+
+    @Override
+    public int addAll(Collection<? extends T> objects) {
+        return execute(objects, true);
+    }
+
+    @Override
+    public boolean contains(T object) {
+        return containsAll(Collections.singletonList(object));
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        return execute(objects, false) == objects.size();
+    }
+
+    /**
+     * Splits objects into groups of <code>BATCH_SIZE</code> and sends
+     * each group with single script call.
+     * Groups rejected due to changed layers are sent again after config reload.
+     * Adding stops once the last layer is full and the rest of group is sent again to the new layer.
+     *
+     * @return amount of added objects or amount of contained objects
+     */
+    private int execute(Collection<? extends T> objects, boolean add) {
+        List<List<byte[]>> groups = new ArrayList<List<byte[]>>();
+        List<byte[]> group = null;
+        for (T object : objects) {
+            if (group == null || group.size() == RedissonBloomFilter.BATCH_SIZE) {
+                group = new ArrayList<byte[]>(Math.min(RedissonBloomFilter.BATCH_SIZE, objects.size()));
+                groups.add(group);
+            }
+            group.add(encode(object));
+        }
+
+        int result = 0;
+        while (!groups.isEmpty()) {
+            if (layers == null) {
+                readConfig();
+            }
+
+            List<Layer> layers = this.layers;
+            List<Future<List<Object>>> futures = new ArrayList<Future<List<Object>>>(groups.size());
+            for (List<byte[]> states : groups) {
+                futures.add(executeAsync(states, layers, add));
+            }
+
+            List<List<byte[]>> failedGroups = new ArrayList<List<byte[]>>();
+            for (int i = 0; i < futures.size(); i++) {
+                Future<List<Object>> future = futures.get(i);
+                future.awaitUninterruptibly();
+                if (future.isSuccess()) {
+                    List<Object> res = future.getNow();
+                    result += ((Long) res.get(0)).intValue();
+                    int processed = ((Long) res.get(1)).intValue();
+                    List<byte[]> states = groups.get(i);
+                    if (processed < states.size()) {
+                        failedGroups.add(states.subList(processed, states.size()));
+                    }
+                    continue;
+                }
+
+                if (!(future.cause() instanceof RedisException)
+                        || !future.cause().getMessage().contains(RedissonBloomFilter.CONFIG_CHANGED)) {
+                    throw RedissonBloomFilter.convertException(future);
+                }
+                failedGroups.add(groups.get(i));
+            }
+
+            if (!failedGroups.isEmpty()) {
+                readConfig();
+            }
+            groups = failedGroups;
+        }
+        return result;
+    }
+
+    private Future<List<Object>> executeAsync(List<byte[]> states, List<Layer> layers, boolean add) {
+        List<Object> keys = new ArrayList<Object>(layers.size() + 1);
+        keys.add(getConfigName());
+        List<Object> params = new ArrayList<Object>();
+        params.add(layers.size());
+        for (int i = 0; i < layers.size(); i++) {
+            keys.add(getLayerName(i));
+            params.add(layers.get(i).hashIterations);
+        }
+        params.add(layers.get(layers.size() - 1).capacity);
+        for (byte[] state : states) {
+            for (Layer layer : layers) {
+                for (long index : RedissonBloomFilter.hash(state, layer.hashIterations, layer.size)) {
+                    params.add(index);
+                }
+            }
+        }
+
+        String findScript =
+                CONFIG_CHECK +
+                "local layers = tonumber(ARGV[1]); " +
+                "local hashIterations = {}; " +
+                "local step = 0; " +
+                "for i = 1, layers do " +
+                    "hashIterations[i] = tonumber(ARGV[i + 1]); " +
+                    "step = step + hashIterations[i]; " +
+                "end; " +
+                "local find = function(pos) " +
+                    "for i = 1, layers do " +
+                        "local found = true; " +
+                        "for j = pos, pos + hashIterations[i] - 1 do " +
+                            "if redis.call('getbit', KEYS[i + 1], ARGV[j]) == 0 then " +
+                                "found = false; " +
+                                "break; " +
+                            "end; " +
+                        "end; " +
+                        "if found then " +
+                            "return true; " +
+                        "end; " +
+                        "pos = pos + hashIterations[i]; " +
+                    "end; " +
+                    "return false; " +
+                "end; ";
+
+        if (add) {
+            // returns amount of added objects and amount of processed objects
+            return commandExecutor.evalWriteAsync(getConfigName(), LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                    findScript +
+                    "local capacity = tonumber(ARGV[layers + 2]); " +
+                    "local count = tonumber(redis.call('hget', KEYS[1], 'count')); " +
+                    // the last possible layer isn't limited by capacity
+                    "if layers >= tonumber(redis.call('hget', KEYS[1], 'maxLayers')) then " +
+                        "capacity = math.huge; " +
+                    "end; " +
+                    "local added = 0; " +
+                    "local processed = 0; " +
+                    "for pos = layers + 3, #ARGV, step do " +
+                        "if count >= capacity then " +
+                            "break; " +
+                        "end; " +
+                        "if not find(pos) then " +
+                            "for j = pos + step - hashIterations[layers], pos + step - 1 do " +
+                                "redis.call('setbit', KEYS[layers + 1], ARGV[j], 1); " +
+                            "end; " +
+                            "added = added + 1; " +
+                            "count = count + 1; " +
+                        "end; " +
+                        "processed = processed + 1; " +
+                    "end; " +
+                    "if added > 0 then " +
+                        "redis.call('hset', KEYS[1], 'count', count); " +
+                        "redis.call('hincrby', KEYS[1], 'total', added); " +
+                    "end; " +
+                    "if count >= capacity then " +
+                        "redis.call('hmset', KEYS[1], 'layers', layers + 1, 'count', 0); " +
+                    "end; " +
+                    "return {added, processed};",
+                    keys, params.toArray());
+        }
+
+        // returns amount of contained objects and amount of processed objects
+        return commandExecutor.evalReadAsync(getConfigName(), LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                findScript +
+                "local contained = 0; " +
+                "local processed = 0; " +
+                "for pos = layers + 3, #ARGV, step do " +
+                    "if find(pos) then " +
+                        "contained = contained + 1; " +
+                    "end; " +
+                    "processed = processed + 1; " +
+                "end; " +
+                "return {contained, processed};",
+                keys, params.toArray());
+    }
+
+    private byte[] encode(T object) {
+        try {
+            return codec.getValueEncoder().encode(object);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Returns exact amount of objects added to filter.
+     */
+    @Override
+    public int count() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "total");
+        return check(result).intValue();
+    }
+
+    private void readConfig() {
+        Future<Map<String, String>> future = commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+        Map<String, String> config = commandExecutor.get(future);
+
+        if (config.get("expectedInsertions") == null
+                || config.get("falseProbability") == null
+                || config.get("layers") == null
+                || config.get("maxLayers") == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+        long expectedInsertions = Long.valueOf(config.get("expectedInsertions"));
+        double falseProbability = Double.valueOf(config.get("falseProbability"));
+        int count = Integer.valueOf(config.get("layers"));
+
+        List<Layer> layers = new ArrayList<Layer>(count);
+        for (int i = 0; i < count; i++) {
+            layers.add(createLayer(expectedInsertions, falseProbability, i));
+        }
+        this.layers = Collections.unmodifiableList(layers);
+    }
+
+    @Override
+    public boolean tryInit(long expectedInsertions, double falseProbability) {
+        Layer layer = createLayer(expectedInsertions, falseProbability, 0);
+        int maxLayers = maxLayers(expectedInsertions, falseProbability);
+
+        // config is checked and stored atomically
+        Boolean result = commandExecutor.evalWrite(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('hexists', KEYS[1], 'layers') == 1 then " +
+                    "return 0; " +
+                "end; " +
+                "redis.call('hmset', KEYS[1], 'expectedInsertions', ARGV[1], 'falseProbability', ARGV[2], " +
+                        "'layers', 1, 'maxLayers', ARGV[3], 'count', 0, 'total', 0); " +
+                "return 1;",
+                Arrays.<Object>asList(getConfigName()),
+                expectedInsertions, BigDecimal.valueOf(falseProbability).toPlainString(), maxLayers);
+        if (!result) {
+            readConfig();
+            return false;
+        }
+
+        layers = Collections.singletonList(layer);
+        return true;
+    }
+
+    @Override
+    public long getExpectedInsertions() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "expectedInsertions");
+        return check(result);
+    }
+
+    @Override
+    public double getFalseProbability() {
+        Double result = commandExecutor.read(getConfigName(), DoubleCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "falseProbability");
+        return check(result);
+    }
+
+    /**
+     * Returns total size of all layers.
+     */
+    @Override
+    public long getSize() {
+        readConfig();
+        long size = 0;
+        for (Layer layer : layers) {
+            size += layer.size;
+        }
+        return size;
+    }
+
+    /**
+     * Returns hash iterations amount of the last layer.
+     */
+    @Override
+    public int getHashIterations() {
+        readConfig();
+        List<Layer> layers = this.layers;
+        return layers.get(layers.size() - 1).hashIterations;
+    }
+
+    private <V> V check(V result) {
+        if (result == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+        return result;
+    }
+
+    @Override
+    public Future<Boolean> deleteAsync() {
+        return executeOnLayersAsync(RedisCommands.DEL_BOOL);
+    }
+
+    @Override
+    public Future<Boolean> isExistsAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.EXISTS, getConfigName());
+    }
+
+    /**
+     * Only existing layers are affected, layers added later have no expiration.
+     */
+    @Override
+    public Future<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeOnLayersAsync(RedisCommands.PEXPIRE, timeUnit.toMillis(timeToLive));
+    }
+
+    /**
+     * Only existing layers are affected, layers added later have no expiration.
+     */
+    @Override
+    public Future<Boolean> expireAtAsync(long timestamp) {
+        return executeOnLayersAsync(RedisCommands.PEXPIREAT, timestamp);
+    }
+
+    @Override
+    public Future<Boolean> clearExpireAsync() {
+        return executeOnLayersAsync(RedisCommands.PERSIST);
+    }
+
+    @Override
+    public Future<Long> remainTimeToLiveAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.PTTL, getConfigName());
+    }
+
+    /**
+     * Executes command on config and all existing layer keys.
+     */
+    private Future<Boolean> executeOnLayersAsync(final RedisCommand<Boolean> command, final Object... params) {
+        final Promise<Boolean> result = newPromise();
+        Future<Integer> layersFuture = commandExecutor.readAsync(getConfigName(), IntegerCodec.INSTANCE,
+                RedisCommands.HGET, getConfigName(), "layers");
+        layersFuture.addListener(new FutureListener<Integer>() {
+            @Override
+            public void operationComplete(Future<Integer> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                int layers = 0;
+                if (future.getNow() != null) {
+                    layers = future.getNow();
+                }
+                List<String> keys = new ArrayList<String>(layers + 1);
+                keys.add(getConfigName());
+                for (int i = 0; i < layers; i++) {
+                    keys.add(getLayerName(i));
+                }
+
+                executeOnKeysAsync(true, command, keys, params).addListener(new FutureListener<Boolean>() {
+                    @Override
+                    public void operationComplete(Future<Boolean> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.setFailure(future.cause());
+                            return;
+                        }
+                        result.setSuccess(future.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+}
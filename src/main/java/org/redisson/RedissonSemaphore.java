@@ -28,6 +28,7 @@ import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandExecutor;
 import org.redisson.core.RSemaphore;
+import org.redisson.pubsub.NotificationChannels;
 import org.redisson.pubsub.SemaphorePubSub;
 
 import io.netty.util.concurrent.Future;
@@ -65,6 +66,10 @@ public class RedissonSemaphore extends RedissonExpirable implements RSemaphore {
         return "redisson_semaphore__channel__{" + getName() + "}";
     }
 
+    String getPublishChannel() {
+        return commandExecutor.getConnectionManager().getNotificationChannels().getPublishChannel(getChannelName());
+    }
+
     @Override
     public void acquire() throws InterruptedException {
         acquire(1);
@@ -413,9 +418,10 @@ public class RedissonSemaphore extends RedissonExpirable implements RSemaphore {
         }
 
         return commandExecutor.evalWriteAsync(getName(), StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+            NotificationChannels.NOTIFY_FUNCTION +
             "local value = redis.call('incrby', KEYS[1], ARGV[1]); " +
-            "redis.call('publish', KEYS[2], value); ",
-            Arrays.<Object>asList(getName(), getChannelName()), permits);
+            "notify(KEYS[2], value); ",
+            Arrays.<Object>asList(getName(), getChannelName()), permits, getPublishChannel());
     }
 
 
@@ -446,12 +452,13 @@ public class RedissonSemaphore extends RedissonExpirable implements RSemaphore {
     @Override
     public Future<Void> setPermitsAsync(int permits) {
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                NotificationChannels.NOTIFY_FUNCTION +
                 "local value = redis.call('get', KEYS[1]); " +
                 "if (value == false or value == 0) then "
                     + "redis.call('set', KEYS[1], ARGV[1]); "
-                    + "redis.call('publish', KEYS[2], ARGV[1]); "
+                    + "notify(KEYS[2], ARGV[1]); "
                 + "end;",
-                Arrays.<Object>asList(getName(), getChannelName()), permits);
+                Arrays.<Object>asList(getName(), getChannelName()), permits, getPublishChannel());
     }
 
 }
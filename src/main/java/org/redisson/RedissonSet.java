@@ -104,7 +104,7 @@ public class RedissonSet<V> extends RedissonExpirable implements RSet<V> {
 
     @Override
     public Future<Set<V>> readAllAsync() {
-        return commandExecutor.readAsync(getName(), codec, RedisCommands.SMEMBERS, getName());
+        return commandExecutor.getBulkExecutor().readAsync(getName(), codec, RedisCommands.SMEMBERS, getName());
     }
 
     @Override
@@ -153,7 +153,7 @@ public class RedissonSetCache<V> extends RedissonExpirable implements RSetCache<
     }
 
     private Future<?> readAllAsync(RedisCommand<? extends Collection<?>> command) {
-        return commandExecutor.readAsync(getName(), codec, command, getName(), System.currentTimeMillis(), 92233720368547758L);
+        return commandExecutor.getBulkExecutor().readAsync(getName(), codec, command, getName(), System.currentTimeMillis(), 92233720368547758L);
     }
 
     
@@ -0,0 +1,504 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.DoubleCodec;
+import org.redisson.client.codec.IntegerCodec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
+import org.redisson.command.CommandExecutor;
+import org.redisson.core.RBloomFilter;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Bloom filter with bitmap split into partitions stored in <code>name:index</code> keys.
+ * <p/>
+ * Each hash index is routed to partition holding its bit range,
+ * so filter size isn't limited by single key and load is spread over cluster slots.
+ * Indexes are grouped per partition and sent with single script call for each partition.
+ * <p/>
+ * Config is stored in <code>{name}__config</code> key and copied to each partition
+ * in <code>{name:index}__config</code> key to allow config check inside partition script.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public class RedissonShardedBloomFilter<T> extends RedissonExpirable implements RBloomFilter<T> {
+
+    private static final String CONFIG_CHECK =
+            "local size = redis.call('hget', KEYS[2], 'size');" +
+            "local hashIterations = redis.call('hget', KEYS[2], 'hashIterations');" +
+            "local partitions = redis.call('hget', KEYS[2], 'partitions');" +
+            "assert(size == ARGV[1] and hashIterations == ARGV[2] and partitions == ARGV[3], '"
+                    + RedissonBloomFilter.CONFIG_CHANGED + "'); ";
+
+    private final int partitions;
+
+    private volatile Config config;
+
+    private final CommandExecutor commandExecutor;
+
+    private static class Config {
+
+        final long size;
+        final int hashIterations;
+        final int partitions;
+        final long partitionSize;
+
+        Config(long size, int hashIterations, int partitions) {
+            this.size = size;
+            this.hashIterations = hashIterations;
+            this.partitions = partitions;
+            this.partitionSize = (size + partitions - 1) / partitions;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Config)) {
+                return false;
+            }
+            Config other = (Config) obj;
+            return size == other.size
+                    && hashIterations == other.hashIterations
+                    && partitions == other.partitions;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int) (size ^ (size >>> 32));
+            result = 31 * result + hashIterations;
+            result = 31 * result + partitions;
+            return result;
+        }
+
+    }
+
+    private static class Group {
+
+        final List<byte[]> states;
+        final Set<Object> positions = new HashSet<Object>();
+        Config config;
+        Map<Integer, List<Object>> pendingParams;
+
+        Group(List<byte[]> states) {
+            this.states = states;
+        }
+
+        /**
+         * Results received with previous config are dropped
+         * since hash indexes depend on config.
+         */
+        void init(Config config) {
+            this.config = config;
+            pendingParams = partitionParams(states, config);
+            positions.clear();
+        }
+
+    }
+
+    public RedissonShardedBloomFilter(CommandExecutor commandExecutor, String name, int partitions) {
+        this(commandExecutor.getConnectionManager().getCodec(), commandExecutor, name, partitions);
+    }
+
+    public RedissonShardedBloomFilter(Codec codec, CommandExecutor commandExecutor, String name, int partitions) {
+        super(codec, commandExecutor, name);
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions amount should be positive");
+        }
+        this.partitions = partitions;
+        this.commandExecutor = commandExecutor;
+    }
+
+    String getConfigName() {
+        return "{" + getName() + "}" + "__config";
+    }
+
+    String getPartitionName(int index) {
+        return getName() + ":" + index;
+    }
+
+    String getPartitionConfigName(int index) {
+        return "{" + getPartitionName(index) + "}" + "__config";
+    }
+
+    @Override
+    public boolean add(T object) {
+        return addAll(Collections.singletonList(object)) > 0;
+    }
+
+    @Override
+    public int addAll(Collection<? extends T> objects) {
+        return execute(objects, true);
+    }
+
+    @Override
+    public boolean contains(T object) {
+        return containsAll(Collections.singletonList(object));
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        return execute(objects, false) == objects.size();
+    }
+
+    /**
+     * Splits objects into groups of <code>BATCH_SIZE</code> and sends
+     * each group with one script call per partition.
+     * Partition calls rejected due to changed config are sent again after config reload.
+     * Whole group is sent again if reloaded config differs from the one used for group.
+     *
+     * @return amount of added objects or amount of contained objects
+     */
+    private int execute(Collection<? extends T> objects, boolean add) {
+        List<Group> groups = new ArrayList<Group>();
+        List<byte[]> states = null;
+        for (T object : objects) {
+            if (states == null || states.size() == RedissonBloomFilter.BATCH_SIZE) {
+                states = new ArrayList<byte[]>(Math.min(RedissonBloomFilter.BATCH_SIZE, objects.size()));
+                groups.add(new Group(states));
+            }
+            states.add(encode(object));
+        }
+
+        int result = 0;
+        while (!groups.isEmpty()) {
+            if (config == null) {
+                readConfig();
+            }
+
+            Config config = this.config;
+            List<Map<Integer, Future<List<Object>>>> futures = new ArrayList<Map<Integer, Future<List<Object>>>>(groups.size());
+            for (Group group : groups) {
+                if (!config.equals(group.config)) {
+                    group.init(config);
+                }
+
+                Map<Integer, Future<List<Object>>> groupFutures = new LinkedHashMap<Integer, Future<List<Object>>>();
+                for (Entry<Integer, List<Object>> entry : group.pendingParams.entrySet()) {
+                    groupFutures.put(entry.getKey(), executeAsync(entry.getKey(), entry.getValue(), add));
+                }
+                futures.add(groupFutures);
+            }
+
+            List<Group> failedGroups = new ArrayList<Group>();
+            for (int i = 0; i < futures.size(); i++) {
+                Group group = groups.get(i);
+                for (Entry<Integer, Future<List<Object>>> entry : futures.get(i).entrySet()) {
+                    Future<List<Object>> future = entry.getValue();
+                    future.awaitUninterruptibly();
+                    if (future.isSuccess()) {
+                        group.positions.addAll(future.getNow());
+                        group.pendingParams.remove(entry.getKey());
+                        continue;
+                    }
+
+                    if (!(future.cause() instanceof RedisException)
+                            || !future.cause().getMessage().contains(RedissonBloomFilter.CONFIG_CHANGED)) {
+                        throw RedissonBloomFilter.convertException(future);
+                    }
+                }
+
+                if (!group.pendingParams.isEmpty()) {
+                    failedGroups.add(group);
+                } else if (add) {
+                    result += group.positions.size();
+                } else {
+                    result += group.states.size() - group.positions.size();
+                }
+            }
+
+            if (!failedGroups.isEmpty()) {
+                // partition config could be missed if initialization hasn't been completed
+                readConfig();
+                writePartitionConfigs(this.config);
+            }
+            groups = failedGroups;
+        }
+        return result;
+    }
+
+    /**
+     * Routes hash indexes of each group object to partitions.
+     * Each partition params start with config followed by object position and index pairs.
+     */
+    private static Map<Integer, List<Object>> partitionParams(List<byte[]> states, Config config) {
+        Map<Integer, List<Object>> partitionParams = new HashMap<Integer, List<Object>>();
+        for (int i = 0; i < states.size(); i++) {
+            for (long index : RedissonBloomFilter.hash(states.get(i), config.hashIterations, config.size)) {
+                int partition = (int) (index / config.partitionSize);
+                List<Object> params = partitionParams.get(partition);
+                if (params == null) {
+                    params = new ArrayList<Object>();
+                    params.add(config.size);
+                    params.add(config.hashIterations);
+                    params.add(config.partitions);
+                    partitionParams.put(partition, params);
+                }
+                params.add(i);
+                params.add(index % config.partitionSize);
+            }
+        }
+        return partitionParams;
+    }
+
+    private Future<List<Object>> executeAsync(int partition, List<Object> params, boolean add) {
+        String partitionName = getPartitionName(partition);
+        List<Object> keys = Arrays.<Object>asList(partitionName, getPartitionConfigName(partition));
+        if (add) {
+            // returns positions of objects with changed bits
+            return commandExecutor.evalWriteAsync(partitionName, LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                    CONFIG_CHECK +
+                    "local result = {}; " +
+                    "for i = 4, #ARGV, 2 do " +
+                        "if redis.call('setbit', KEYS[1], ARGV[i + 1], 1) == 0 then " +
+                            "table.insert(result, tonumber(ARGV[i])); " +
+                        "end; " +
+                    "end; " +
+                    "return result;",
+                    keys, params.toArray());
+        }
+
+        // returns positions of objects with unset bits
+        return commandExecutor.evalReadAsync(partitionName, LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                CONFIG_CHECK +
+                "local result = {}; " +
+                "local missed = {}; " +
+                "for i = 4, #ARGV, 2 do " +
+                    "if not missed[ARGV[i]] and redis.call('getbit', KEYS[1], ARGV[i + 1]) == 0 then " +
+                        "missed[ARGV[i]] = true; " +
+                        "table.insert(result, tonumber(ARGV[i])); " +
+                    "end; " +
+                "end; " +
+                "return result;",
+                keys, params.toArray());
+    }
+
+    private byte[] encode(T object) {
+        try {
+            return codec.getValueEncoder().encode(object);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public int count() {
+        readConfig();
+        Config config = this.config;
+
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(config.partitions);
+        for (int i = 0; i < config.partitions; i++) {
+            String partitionName = getPartitionName(i);
+            Future<Long> future = commandExecutor.readAsync(partitionName, codec, RedisCommands.BITCOUNT, partitionName);
+            futures.add(future);
+        }
+
+        long cardinality = 0;
+        for (Long value : get(collectAsync(futures))) {
+            cardinality += value;
+        }
+        return (int) (-config.size / ((double) config.hashIterations) * Math.log(1 - cardinality / ((double) config.size)));
+    }
+
+    private void readConfig() {
+        Future<Map<String, String>> future = commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+        Map<String, String> config = commandExecutor.get(future);
+
+        if (config.get("hashIterations") == null
+                || config.get("size") == null
+                || config.get("partitions") == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+        this.config = new Config(Long.valueOf(config.get("size")),
+                Integer.valueOf(config.get("hashIterations")), Integer.valueOf(config.get("partitions")));
+    }
+
+    private void writePartitionConfigs(Config config) {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(config.partitions);
+        for (int i = 0; i < config.partitions; i++) {
+            String partitionConfigName = getPartitionConfigName(i);
+            Future<Void> future = commandExecutor.writeAsync(partitionConfigName, StringCodec.INSTANCE, RedisCommands.HMSET,
+                    partitionConfigName, "size", config.size, "hashIterations", config.hashIterations, "partitions", config.partitions);
+            futures.add(future);
+        }
+        get(collectAsync(futures));
+    }
+
+    @Override
+    public boolean tryInit(long expectedInsertions, double falseProbability) {
+        long size = RedissonBloomFilter.optimalNumOfBits(expectedInsertions, falseProbability);
+        if (size > RedissonBloomFilter.MAX_SIZE * partitions) {
+            throw new IllegalArgumentException("Bloom filter can't be greater than " + RedissonBloomFilter.MAX_SIZE * partitions
+                    + ". But calculated size is " + size);
+        }
+        int hashIterations = RedissonBloomFilter.optimalNumOfHashFunctions(expectedInsertions, size);
+
+        // config is checked and stored atomically
+        Boolean result = commandExecutor.evalWrite(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('hexists', KEYS[1], 'size') == 1 then " +
+                    "return 0; " +
+                "end; " +
+                "redis.call('hmset', KEYS[1], 'size', ARGV[1], 'hashIterations', ARGV[2], 'partitions', ARGV[3], " +
+                        "'expectedInsertions', ARGV[4], 'falseProbability', ARGV[5]); " +
+                "return 1;",
+                Arrays.<Object>asList(getConfigName()), size, hashIterations, partitions,
+                expectedInsertions, BigDecimal.valueOf(falseProbability).toPlainString());
+        if (!result) {
+            readConfig();
+            return false;
+        }
+
+        config = new Config(size, hashIterations, partitions);
+        writePartitionConfigs(config);
+        return true;
+    }
+
+    @Override
+    public long getExpectedInsertions() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "expectedInsertions");
+        return check(result);
+    }
+
+    @Override
+    public double getFalseProbability() {
+        Double result = commandExecutor.read(getConfigName(), DoubleCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "falseProbability");
+        return check(result);
+    }
+
+    @Override
+    public long getSize() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "size");
+        return check(result);
+    }
+
+    @Override
+    public int getHashIterations() {
+        Integer result = commandExecutor.read(getConfigName(), IntegerCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "hashIterations");
+        return check(result);
+    }
+
+    private <V> V check(V result) {
+        if (result == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+        return result;
+    }
+
+    private List<String> getKeyNames(int partitions) {
+        List<String> names = new ArrayList<String>(1 + partitions * 2);
+        names.add(getConfigName());
+        for (int i = 0; i < partitions; i++) {
+            names.add(getPartitionName(i));
+            names.add(getPartitionConfigName(i));
+        }
+        return names;
+    }
+
+    @Override
+    public Future<Boolean> deleteAsync() {
+        return executeOnPartitionsAsync(RedisCommands.DEL_BOOL);
+    }
+
+    @Override
+    public Future<Boolean> isExistsAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.EXISTS, getConfigName());
+    }
+
+    @Override
+    public Future<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeOnPartitionsAsync(RedisCommands.PEXPIRE, timeUnit.toMillis(timeToLive));
+    }
+
+    @Override
+    public Future<Boolean> expireAtAsync(long timestamp) {
+        return executeOnPartitionsAsync(RedisCommands.PEXPIREAT, timestamp);
+    }
+
+    @Override
+    public Future<Boolean> clearExpireAsync() {
+        return executeOnPartitionsAsync(RedisCommands.PERSIST);
+    }
+
+    @Override
+    public Future<Long> remainTimeToLiveAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.PTTL, getConfigName());
+    }
+
+    /**
+     * Executes command on config and all partition keys.
+     * Partitions amount is taken from stored config,
+     * amount passed to constructor is used only if config is missed.
+     */
+    private Future<Boolean> executeOnPartitionsAsync(final RedisCommand<Boolean> command, final Object... params) {
+        final Promise<Boolean> result = newPromise();
+        Future<Integer> partitionsFuture = commandExecutor.readAsync(getConfigName(), IntegerCodec.INSTANCE,
+                RedisCommands.HGET, getConfigName(), "partitions");
+        partitionsFuture.addListener(new FutureListener<Integer>() {
+            @Override
+            public void operationComplete(Future<Integer> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                int count = partitions;
+                if (future.getNow() != null) {
+                    count = future.getNow();
+                }
+                executeOnKeysAsync(true, command, getKeyNames(count), params).addListener(new FutureListener<Boolean>() {
+                    @Override
+                    public void operationComplete(Future<Boolean> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.setFailure(future.cause());
+                            return;
+                        }
+                        result.setSuccess(future.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+}
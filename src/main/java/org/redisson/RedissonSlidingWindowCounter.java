@@ -0,0 +1,134 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.core.RSlidingWindowCounter;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Sliding window counter. Stores bucket values in hash by bucket index
+ * (current time divided by bucket size) and the latest bucket index in <code>last</code> field.
+ * Buckets which are left the window are removed by the next update.
+ * Bucket index is calculated from Redis server time.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonSlidingWindowCounter extends RedissonObject implements RSlidingWindowCounter {
+
+    private static final String SUM_WINDOW =
+              "local sum = 0; "
+            + "local fields = {}; "
+            + "for i = current - buckets + 1, current do "
+                + "table.insert(fields, i); "
+            + "end; "
+            + "local values = redis.call('hmget', KEYS[1], unpack(fields)); "
+            + "for i, v in ipairs(values) do "
+                + "if v ~= false then "
+                    + "sum = sum + tonumber(v); "
+                + "end; "
+            + "end; "
+            + "return sum;";
+
+    /**
+     * Bucket index never goes back behind the latest one. Otherwise update
+     * from lagging clock could be added to already removed bucket and lost,
+     * and window sum could miss the latest buckets.
+     */
+    private static final String CLAMP_CURRENT =
+              "if last ~= nil and current < last then "
+                + "current = last; "
+            + "end; ";
+
+    private final long bucketSize;
+    private final int buckets;
+
+    protected RedissonSlidingWindowCounter(CommandAsyncExecutor commandExecutor, String name, long window, TimeUnit unit, int buckets) {
+        super(commandExecutor, name);
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Buckets amount should be greater than 0");
+        }
+        this.bucketSize = unit.toMillis(window) / buckets;
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("Window should be at least " + buckets + " ms");
+        }
+        this.buckets = buckets;
+    }
+
+    @Override
+    public long addAndGetWindowSum(long delta) {
+        return get(addAndGetWindowSumAsync(delta));
+    }
+
+    @Override
+    public Future<Long> addAndGetWindowSumAsync(long delta) {
+        return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                currentTimeScript("ARGV[3]")
+              + "local bucketSize = tonumber(ARGV[1]); "
+              + "local buckets = tonumber(ARGV[2]); "
+              + "local current = math.floor(currentTime / bucketSize); "
+              + "local last = tonumber(redis.call('hget', KEYS[1], 'last')); "
+              + CLAMP_CURRENT
+              + "if last == nil or current > last then "
+                  + "if last ~= nil then "
+                      + "for i = last - buckets + 1, math.min(last, current - buckets) do "
+                          + "redis.call('hdel', KEYS[1], i); "
+                      + "end; "
+                  + "end; "
+                  + "redis.call('hset', KEYS[1], 'last', current); "
+              + "end; "
+              + "redis.call('hincrby', KEYS[1], current, ARGV[4]); "
+              + "redis.call('pexpire', KEYS[1], bucketSize * (buckets + 1)); "
+              + SUM_WINDOW,
+                Collections.<Object>singletonList(getName()), bucketSize, buckets, System.currentTimeMillis(), delta);
+    }
+
+    @Override
+    public long incrementAndGetWindowSum() {
+        return addAndGetWindowSum(1);
+    }
+
+    @Override
+    public Future<Long> incrementAndGetWindowSumAsync() {
+        return addAndGetWindowSumAsync(1);
+    }
+
+    @Override
+    public long getWindowSum() {
+        return get(getWindowSumAsync());
+    }
+
+    @Override
+    public Future<Long> getWindowSumAsync() {
+        return commandExecutor.evalReadAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                currentTimeScript("ARGV[3]")
+              + "local bucketSize = tonumber(ARGV[1]); "
+              + "local buckets = tonumber(ARGV[2]); "
+              + "local current = math.floor(currentTime / bucketSize); "
+              + "local last = tonumber(redis.call('hget', KEYS[1], 'last')); "
+              + CLAMP_CURRENT
+              + SUM_WINDOW,
+                Collections.<Object>singletonList(getName()), bucketSize, buckets, System.currentTimeMillis());
+    }
+
+}
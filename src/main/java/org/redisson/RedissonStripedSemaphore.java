@@ -0,0 +1,258 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandExecutor;
+import org.redisson.pubsub.NotificationChannels;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Semaphore which spreads its permits over a number of stripes.
+ * Each stripe is stored in own key and thus could be placed on different slot in cluster mode.
+ * <p/>
+ * Permits are acquired from the stripe preferred by current thread first,
+ * other stripes are tried one by one if it doesn't have enough permits.
+ * Permits amount passed to single acquire invocation should be available in one stripe,
+ * permits are never combined from several stripes.
+ * <p/>
+ * All stripes share the same notification channel, so waiting is the same as in {@link RedissonSemaphore}.
+ * Rename, move and migrate aren't supported since stripes could be stored on different nodes.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonStripedSemaphore extends RedissonSemaphore {
+
+    private final int stripes;
+
+    protected RedissonStripedSemaphore(CommandExecutor commandExecutor, String name, UUID id, int stripes) {
+        super(commandExecutor, name, id);
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes amount should be positive");
+        }
+        this.stripes = stripes;
+    }
+
+    String getStripeName(int index) {
+        return getName() + ":" + index;
+    }
+
+    private int getPreferredStripe() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+
+    @Override
+    public Future<Boolean> tryAcquireAsync(int permits) {
+        if (permits < 0) {
+            throw new IllegalArgumentException("Permits amount can't be negative");
+        }
+
+        Promise<Boolean> result = newPromise();
+        tryAcquireAsync(getPreferredStripe(), 0, permits, result);
+        return result;
+    }
+
+    private void tryAcquireAsync(final int index, final int attempt, final int permits, final Promise<Boolean> result) {
+        String stripeName = getStripeName(index);
+        Future<Boolean> future = commandExecutor.evalWriteAsync(stripeName, LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                  "local value = redis.call('get', KEYS[1]); " +
+                  "if (value ~= false and tonumber(value) >= tonumber(ARGV[1])) then " +
+                      "redis.call('decrby', KEYS[1], ARGV[1]); " +
+                      "return 1; " +
+                  "end; " +
+                  "return 0;",
+                  Collections.<Object>singletonList(stripeName), permits);
+        future.addListener(new FutureListener<Boolean>() {
+            @Override
+            public void operationComplete(Future<Boolean> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+
+                if (future.getNow() || attempt + 1 == stripes) {
+                    result.setSuccess(future.getNow());
+                    return;
+                }
+
+                tryAcquireAsync((index + 1) % stripes, attempt + 1, permits, result);
+            }
+        });
+    }
+
+    @Override
+    public Future<Void> releaseAsync(int permits) {
+        if (permits < 0) {
+            throw new IllegalArgumentException("Permits amount can't be negative");
+        }
+
+        String stripeName = getStripeName(getPreferredStripe());
+        return commandExecutor.evalWriteAsync(stripeName, StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+            NotificationChannels.NOTIFY_FUNCTION +
+            "local value = redis.call('incrby', KEYS[1], ARGV[1]); " +
+            "notify(ARGV[2], value); ",
+            Collections.<Object>singletonList(stripeName), permits, getChannelName(), getPublishChannel());
+    }
+
+    @Override
+    public int drainPermits() {
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            String stripeName = getStripeName(i);
+            Future<Long> future = commandExecutor.evalWriteAsync(stripeName, LongCodec.INSTANCE, RedisCommands.EVAL_LONG,
+                    "local value = redis.call('get', KEYS[1]); " +
+                    "if (value == false or value == 0) then " +
+                        "return 0; " +
+                    "end; " +
+                    "redis.call('set', KEYS[1], 0); " +
+                    "return value;",
+                    Collections.<Object>singletonList(stripeName));
+            futures.add(future);
+        }
+        return sum(get(collectAsync(futures)));
+    }
+
+    @Override
+    public int availablePermits() {
+        List<Future<Long>> futures = new ArrayList<Future<Long>>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            String stripeName = getStripeName(i);
+            Future<Long> future = commandExecutor.readAsync(stripeName, LongCodec.INSTANCE, RedisCommands.GET_LONG, stripeName);
+            futures.add(future);
+        }
+        return sum(get(collectAsync(futures)));
+    }
+
+    private int sum(List<Long> values) {
+        long result = 0;
+        for (Long value : values) {
+            if (value != null) {
+                result += value;
+            }
+        }
+        return (int) result;
+    }
+
+    /**
+     * Splits permits evenly between stripes.
+     * Stripe is initialized only if it has no permits, like in {@link RedissonSemaphore#setPermitsAsync(int)}.
+     */
+    @Override
+    public Future<Void> setPermitsAsync(int permits) {
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            int stripePermits = permits / stripes;
+            if (i < permits % stripes) {
+                stripePermits++;
+            }
+
+            String stripeName = getStripeName(i);
+            Future<Void> future = commandExecutor.evalWriteAsync(stripeName, LongCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                    NotificationChannels.NOTIFY_FUNCTION +
+                    "local value = redis.call('get', KEYS[1]); " +
+                    "if (value == false or value == 0) then "
+                        + "redis.call('set', KEYS[1], ARGV[1]); "
+                        + "notify(ARGV[2], ARGV[1]); "
+                    + "end;",
+                    Collections.<Object>singletonList(stripeName), stripePermits, getChannelName(), getPublishChannel());
+            futures.add(future);
+        }
+
+        final Promise<Void> result = newPromise();
+        collectAsync(futures).addListener(new FutureListener<List<Void>>() {
+            @Override
+            public void operationComplete(Future<List<Void>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.setFailure(future.cause());
+                    return;
+                }
+                result.setSuccess(null);
+            }
+        });
+        return result;
+    }
+
+    private List<String> getStripeNames() {
+        List<String> names = new ArrayList<String>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            names.add(getStripeName(i));
+        }
+        return names;
+    }
+
+    @Override
+    public Future<Boolean> deleteAsync() {
+        return executeOnKeysAsync(true, RedisCommands.DEL_BOOL, getStripeNames());
+    }
+
+    @Override
+    public Future<Boolean> isExistsAsync() {
+        return executeOnKeysAsync(false, RedisCommands.EXISTS, getStripeNames());
+    }
+
+    @Override
+    public Future<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeOnKeysAsync(true, RedisCommands.PEXPIRE, getStripeNames(), timeUnit.toMillis(timeToLive));
+    }
+
+    @Override
+    public Future<Boolean> expireAtAsync(long timestamp) {
+        return executeOnKeysAsync(true, RedisCommands.PEXPIREAT, getStripeNames(), timestamp);
+    }
+
+    @Override
+    public Future<Boolean> clearExpireAsync() {
+        return executeOnKeysAsync(true, RedisCommands.PERSIST, getStripeNames());
+    }
+
+    @Override
+    public Future<Long> remainTimeToLiveAsync() {
+        return remainTimeToLiveAsync(getStripeNames());
+    }
+
+    @Override
+    public Future<Void> renameAsync(String newName) {
+        throw new UnsupportedOperationException("Rename isn't supported by striped semaphore");
+    }
+
+    @Override
+    public Future<Boolean> renamenxAsync(String newName) {
+        throw new UnsupportedOperationException("Rename isn't supported by striped semaphore");
+    }
+
+    @Override
+    public Future<Boolean> moveAsync(int database) {
+        throw new UnsupportedOperationException("Move isn't supported by striped semaphore");
+    }
+
+    @Override
+    public Future<Void> migrateAsync(String host, int port, int database) {
+        throw new UnsupportedOperationException("Migrate isn't supported by striped semaphore");
+    }
+
+}
@@ -15,19 +15,24 @@
  */
 package org.redisson;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.connection.MasterSlaveConnectionManager;
 import org.redisson.connection.PubSubConnectionEntry;
 import org.redisson.core.MessageListener;
+import org.redisson.core.RBufferedPublisher;
 import org.redisson.core.RTopic;
 import org.redisson.core.StatusListener;
+import org.redisson.pubsub.EnvelopeCodec;
+import org.redisson.pubsub.MessageEnvelope;
 
 import io.netty.util.concurrent.Future;
 
@@ -43,6 +48,7 @@ public class RedissonTopic<M> implements RTopic<M> {
     final CommandAsyncExecutor commandExecutor;
     private final String name;
     private final Codec codec;
+    private final Codec envelopeCodec;
 
     protected RedissonTopic(CommandAsyncExecutor commandExecutor, String name) {
         this(commandExecutor.getConnectionManager().getCodec(), commandExecutor, name);
@@ -52,6 +58,7 @@ public class RedissonTopic<M> implements RTopic<M> {
         this.commandExecutor = commandExecutor;
         this.name = name;
         this.codec = codec;
+        this.envelopeCodec = new EnvelopeCodec(codec);
     }
 
     public List<String> getChannelNames() {
@@ -68,6 +75,34 @@ public class RedissonTopic<M> implements RTopic<M> {
         return commandExecutor.writeAsync(name, codec, RedisCommands.PUBLISH, name, message);
     }
 
+    @Override
+    public long publishAll(Collection<? extends M> messages) {
+        return commandExecutor.get(publishAllAsync(messages));
+    }
+
+    @Override
+    public Future<Long> publishAllAsync(Collection<? extends M> messages) {
+        if (messages.isEmpty()) {
+            return commandExecutor.getConnectionManager().newSucceededFuture(0L);
+        }
+        return commandExecutor.evalWriteAsync(name, codec, RedisCommands.EVAL_LONG,
+                "local n = 0; "
+              + "for i = 1, #ARGV, 1 do "
+                  + "n = n + redis.call('publish', KEYS[1], ARGV[i]); "
+              + "end; "
+              + "return n;",
+                Collections.<Object>singletonList(name), messages.toArray());
+    }
+
+    Future<Long> publishEnvelopeAsync(List<Object> messages) {
+        return commandExecutor.writeAsync(name, envelopeCodec, RedisCommands.PUBLISH, name, new MessageEnvelope(messages));
+    }
+
+    @Override
+    public RBufferedPublisher<M> createBufferedPublisher(int maxMessages, long flushInterval, TimeUnit unit, boolean packMessages) {
+        return new RedissonBufferedPublisher<M>(this, maxMessages, unit.toMillis(flushInterval), packMessages);
+    }
+
     @Override
     public int addListener(StatusListener listener) {
         return addListener(new PubSubStatusListener<Object>(listener, name));
@@ -75,33 +110,19 @@ public class RedissonTopic<M> implements RTopic<M> {
 
     @Override
     public int addListener(MessageListener<M> listener) {
-        PubSubMessageListener<M> pubSubListener = new PubSubMessageListener<M>(listener, name);
+        PubSubMessageListener<M> pubSubListener = new PubSubMessageListener<M>(commandExecutor.getConnectionManager().getMessageDispatcher().wrap(listener), name);
         return addListener(pubSubListener);
     }
 
     private int addListener(RedisPubSubListener<?> pubSubListener) {
-        Future<PubSubConnectionEntry> future = commandExecutor.getConnectionManager().subscribe(codec, name, pubSubListener);
+        Future<PubSubConnectionEntry> future = commandExecutor.getConnectionManager().subscribe(envelopeCodec, name, pubSubListener);
         future.syncUninterruptibly();
         return System.identityHashCode(pubSubListener);
     }
 
     @Override
     public void removeListener(int listenerId) {
-        Semaphore semaphore = commandExecutor.getConnectionManager().getSemaphore(name);
-        semaphore.acquireUninterruptibly();
-        
-        PubSubConnectionEntry entry = commandExecutor.getConnectionManager().getPubSubEntry(name);
-        if (entry == null) {
-            semaphore.release();
-            return;
-        }
-
-        entry.removeListener(name, listenerId);
-        if (!entry.hasListeners(name)) {
-            commandExecutor.getConnectionManager().unsubscribe(name, semaphore);
-        } else {
-            semaphore.release();
-        }
+        commandExecutor.getConnectionManager().removeListener(name, listenerId, PubSubType.SUBSCRIBE).syncUninterruptibly();
     }
 
 }
@@ -27,6 +27,7 @@ import org.redisson.client.protocol.RedisStrictCommand;
 import org.redisson.command.CommandExecutor;
 import org.redisson.core.RLock;
 import org.redisson.pubsub.LockPubSub;
+import org.redisson.pubsub.NotificationChannels;
 
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
@@ -41,8 +42,8 @@ public class RedissonWriteLock extends RedissonLock implements RLock {
 
     private final CommandExecutor commandExecutor;
 
-    protected RedissonWriteLock(CommandExecutor commandExecutor, String name, UUID id) {
-        super(commandExecutor, name, id);
+    protected RedissonWriteLock(LockRenewalScheduler renewalScheduler, CommandExecutor commandExecutor, String name, UUID id) {
+        super(renewalScheduler, commandExecutor, name, id);
         this.commandExecutor = commandExecutor;
     }
 
@@ -74,12 +75,25 @@ public class RedissonWriteLock extends RedissonLock implements RLock {
                         Arrays.<Object>asList(getName()), internalLockLeaseTime, getLockName(threadId));
     }
 
+    @Override
+    String getHandOffScript() {
+        return "if (redis.call('hget', KEYS[1], 'mode') ~= 'write') then " +
+                    "return 0; " +
+                "end; " +
+                super.getHandOffScript();
+    }
+
     @Override
     public void unlock() {
+        if (handOff()) {
+            return;
+        }
+
         Boolean opStatus = commandExecutor.evalWrite(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                                NotificationChannels.NOTIFY_FUNCTION +
                                 "local mode = redis.call('hget', KEYS[1], 'mode'); " +
                                 "if (mode == false) then " +
-                                    "redis.call('publish', KEYS[2], ARGV[1]); " +
+                                    "notify(KEYS[2], ARGV[1]); " +
                                     "return 1; " +
                                 "end;" +
                                 "if (mode == 'write') then " +
@@ -95,14 +109,14 @@ public class RedissonWriteLock extends RedissonLock implements RLock {
                                             "redis.call('hdel', KEYS[1], ARGV[3]); " +
                                             "if (redis.call('hlen', KEYS[1]) == 1) then " +
                                                 "redis.call('del', KEYS[1]); " +
-                                                "redis.call('publish', KEYS[2], ARGV[1]); " +
+                                                "notify(KEYS[2], ARGV[1]); " +
                                             "end; " +
                                             "return 1; "+
                                         "end; " +
                                     "end; " +
                                 "end; "
                                 + "return nil;",
-                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()));
+                        Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, internalLockLeaseTime, getLockName(Thread.currentThread().getId()), getPublishChannel());
         if (opStatus == null) {
             throw new IllegalMonitorStateException("attempt to unlock read lock, not locked by current thread by node id: "
                     + id + " thread-id: " + Thread.currentThread().getId());
@@ -120,14 +134,15 @@ public class RedissonWriteLock extends RedissonLock implements RLock {
     @Override
     public Future<Boolean> forceUnlockAsync() {
         Future<Boolean> result = commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+              NotificationChannels.NOTIFY_FUNCTION +
               "if (redis.call('hget', KEYS[1], 'mode') == 'write') then " +
                   "redis.call('del', KEYS[1]); " +
-                  "redis.call('publish', KEYS[2], ARGV[1]); " +
+                  "notify(KEYS[2], ARGV[1]); " +
                   "return 1; " +
               "else " +
                   "return 0; " +
               "end;",
-              Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage);
+              Arrays.<Object>asList(getName(), getChannelName()), LockPubSub.unlockMessage, getPublishChannel());
 
         result.addListener(new FutureListener<Boolean>() {
             @Override
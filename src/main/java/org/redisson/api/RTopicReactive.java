@@ -15,6 +15,7 @@
  */
 package org.redisson.api;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.reactivestreams.Publisher;
@@ -40,6 +41,14 @@ public interface RTopicReactive<M> {
      */
     Publisher<Long> publish(M message);
 
+    /**
+     * Publish all messages to subscribers of this topic using single command
+     *
+     * @param messages
+     * @return the <code>Publisher</code> object with sum of clients that received each message
+     */
+    Publisher<Long> publishAll(Collection<? extends M> messages);
+
     Publisher<Integer> addListener(StatusListener listener);
 
     Publisher<Integer> addListener(MessageListener<M> listener);
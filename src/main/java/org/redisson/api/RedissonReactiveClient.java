@@ -313,6 +313,18 @@ public interface RedissonReactiveClient {
      */
     RAtomicLongReactive getAtomicLong(String name);
 
+    /**
+     * Returns sharded counter instance by name.
+     * Counter value is spread over <code>shards</code> keys.
+     * <p/>
+     * All instances of the same counter should use the same shards amount.
+     *
+     * @param name of counter
+     * @param shards amount of shards
+     * @return
+     */
+    RLongAdderReactive getLongAdder(String name, int shards);
+
     /**
      * Returns bitSet instance by name.
      *
@@ -0,0 +1,33 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.client;
+
+/**
+ * Thrown when command can't be executed due to
+ * open circuit breaker of Redis node.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedisCircuitBreakerException extends RedisException {
+
+    private static final long serialVersionUID = 3578614917290484519L;
+
+    public RedisCircuitBreakerException(String message) {
+        super(message);
+    }
+
+}
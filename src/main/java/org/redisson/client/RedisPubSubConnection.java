@@ -15,12 +15,15 @@
  */
 package org.redisson.client;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.CommandData;
@@ -42,12 +45,23 @@ import io.netty.util.internal.PlatformDependent;
 
 public class RedisPubSubConnection extends RedisConnection {
 
+    private static final ThreadLocal<RedisPubSubConnection> deliveringConnection = new ThreadLocal<RedisPubSubConnection>();
+
     final Queue<RedisPubSubListener<Object>> listeners = new ConcurrentLinkedQueue<RedisPubSubListener<Object>>();
+    final ConcurrentMap<String, Queue<RedisPubSubListener<Object>>> channelListeners = PlatformDependent.newConcurrentHashMap();
     final Map<String, Codec> channels = PlatformDependent.newConcurrentHashMap();
     final Map<String, Codec> patternChannels = PlatformDependent.newConcurrentHashMap();
     final Set<String> unsubscibedChannels = new HashSet<String>();
     final Set<String> punsubscibedChannels = new HashSet<String>();
 
+    private final AtomicInteger readPauses = new AtomicInteger();
+    private final Runnable updateAutoReadTask = new Runnable() {
+        @Override
+        public void run() {
+            updateAutoRead();
+        }
+    };
+
     public RedisPubSubConnection(RedisClient redisClient, Channel channel) {
         super(redisClient, channel);
     }
@@ -64,24 +78,144 @@ public class RedisPubSubConnection extends RedisConnection {
         listeners.remove(listener);
     }
 
+    /**
+     * Adds listener notified only about messages and status events
+     * of specified channel or pattern.
+     *
+     * @param channel - channel name or pattern
+     * @param listener
+     */
+    public void addListener(String channel, RedisPubSubListener listener) {
+        while (true) {
+            Queue<RedisPubSubListener<Object>> queue = channelListeners.get(channel);
+            if (queue == null) {
+                queue = new ConcurrentLinkedQueue<RedisPubSubListener<Object>>();
+                Queue<RedisPubSubListener<Object>> oldQueue = channelListeners.putIfAbsent(channel, queue);
+                if (oldQueue != null) {
+                    queue = oldQueue;
+                }
+            }
+
+            synchronized (queue) {
+                // queue could be removed by removeListener method
+                if (channelListeners.get(channel) == queue) {
+                    queue.add(listener);
+                    return;
+                }
+            }
+        }
+    }
+
+    public void removeListener(String channel, RedisPubSubListener<?> listener) {
+        Queue<RedisPubSubListener<Object>> queue = channelListeners.get(channel);
+        if (queue == null) {
+            return;
+        }
+
+        synchronized (queue) {
+            if (queue.remove(listener) && queue.isEmpty()) {
+                channelListeners.remove(channel, queue);
+            }
+        }
+    }
+
+    private Collection<RedisPubSubListener<Object>> getListeners(String channel) {
+        Queue<RedisPubSubListener<Object>> queue = channelListeners.get(channel);
+        if (queue == null) {
+            return Collections.emptyList();
+        }
+        return queue;
+    }
+
     public void onMessage(PubSubStatusMessage message) {
         for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
             redisPubSubListener.onStatus(message.getType(), message.getChannel());
         }
+        for (RedisPubSubListener<Object> redisPubSubListener : getListeners(message.getChannel())) {
+            redisPubSubListener.onStatus(message.getType(), message.getChannel());
+        }
     }
 
     public void onMessage(PubSubMessage message) {
-        for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
-            redisPubSubListener.onMessage(message.getChannel(), message.getValue());
+        deliveringConnection.set(this);
+        try {
+            for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
+                redisPubSubListener.onMessage(message.getChannel(), message.getValue());
+            }
+            for (RedisPubSubListener<Object> redisPubSubListener : getListeners(message.getChannel())) {
+                redisPubSubListener.onMessage(message.getChannel(), message.getValue());
+            }
+        } finally {
+            deliveringConnection.remove();
         }
     }
 
     public void onMessage(PubSubPatternMessage message) {
-        for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
-            redisPubSubListener.onPatternMessage(message.getPattern(), message.getChannel(), message.getValue());
+        deliveringConnection.set(this);
+        try {
+            for (RedisPubSubListener<Object> redisPubSubListener : listeners) {
+                redisPubSubListener.onPatternMessage(message.getPattern(), message.getChannel(), message.getValue());
+            }
+            for (RedisPubSubListener<Object> redisPubSubListener : getListeners(message.getPattern())) {
+                redisPubSubListener.onPatternMessage(message.getPattern(), message.getChannel(), message.getValue());
+            }
+        } finally {
+            deliveringConnection.remove();
+        }
+    }
+
+    /**
+     * Connection which delivers message to listeners in current thread.
+     *
+     * @return connection or <code>null</code> if called outside of message delivery
+     */
+    public static RedisPubSubConnection getDeliveringConnection() {
+        return deliveringConnection.get();
+    }
+
+    /**
+     * Stops reading from connection until {@link #resumeReading()} is invoked
+     * the same amount of times. Unread messages are buffered by Redis.
+     */
+    public void pauseReading() {
+        if (readPauses.incrementAndGet() == 1) {
+            scheduleAutoReadUpdate();
+        }
+    }
+
+    public void resumeReading() {
+        if (readPauses.decrementAndGet() == 0) {
+            scheduleAutoReadUpdate();
         }
     }
 
+    public boolean isReadingPaused() {
+        return readPauses.get() > 0;
+    }
+
+    @Override
+    public void updateChannel(Channel channel) {
+        super.updateChannel(channel);
+        // invoked from super constructor before fields initialization
+        if (readPauses != null && readPauses.get() > 0) {
+            scheduleAutoReadUpdate();
+        }
+    }
+
+    private void scheduleAutoReadUpdate() {
+        // autoRead is updated only from event loop, so concurrent pause and resume can't reorder
+        Channel ch = channel;
+        if (ch.eventLoop().inEventLoop()) {
+            updateAutoRead();
+        } else {
+            ch.eventLoop().execute(updateAutoReadTask);
+        }
+    }
+
+    private void updateAutoRead() {
+        channel.config().setAutoRead(readPauses.get() == 0);
+    }
+
     public void subscribe(Codec codec, String ... channel) {
         async(new PubSubMessageDecoder(codec.getValueDecoder()), RedisCommands.SUBSCRIBE, channel);
         for (String ch : channel) {
@@ -38,6 +38,14 @@ public interface CommandAsyncExecutor {
 
     ConnectionManager getConnectionManager();
 
+    /**
+     * Returns executor which sends commands using bulk connection pool
+     * if it's enabled by <code>bulkConnectionPoolSize</code> setting.
+     *
+     * @return executor for bulk operations
+     */
+    CommandAsyncExecutor getBulkExecutor();
+
     <V> RedisException convertException(Future<V> future);
 
     boolean await(Future<?> future, long timeout, TimeUnit timeoutUnit) throws InterruptedException;
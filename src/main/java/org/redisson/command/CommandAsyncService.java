@@ -22,16 +22,20 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.redisson.ReadMode;
 import org.redisson.RedisClientResult;
 import org.redisson.RedissonShutdownException;
 import org.redisson.SlotCallback;
 import org.redisson.client.RedisAskException;
+import org.redisson.client.RedisCircuitBreakerException;
 import org.redisson.client.RedisConnection;
+import org.redisson.client.RedisConnectionException;
 import org.redisson.client.RedisException;
 import org.redisson.client.RedisLoadingException;
 import org.redisson.client.RedisMovedException;
@@ -43,6 +47,7 @@ import org.redisson.client.protocol.CommandsData;
 import org.redisson.client.protocol.QueueCommand;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
+import org.redisson.connection.CircuitBreaker;
 import org.redisson.connection.ConnectionManager;
 import org.redisson.connection.MasterSlaveEntry;
 import org.redisson.connection.NodeSource;
@@ -59,6 +64,7 @@ import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.internal.PlatformDependent;
 
 /**
  *
@@ -71,8 +77,30 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     final ConnectionManager connectionManager;
 
+    private final ConcurrentMap<ReadCommandKey, Promise<Object>> readsInProgress = PlatformDependent.newConcurrentHashMap();
+
+    private final boolean bulk;
+
+    private volatile CommandAsyncExecutor bulkExecutor;
+
+    private final FutureListener<Object> shutdownLatchListener = new FutureListener<Object>() {
+        @Override
+        public void operationComplete(Future<Object> future) throws Exception {
+            connectionManager.getShutdownLatch().release();
+        }
+    };
+
     public CommandAsyncService(ConnectionManager connectionManager) {
+        this(connectionManager, false);
+    }
+
+    /**
+     * @param connectionManager
+     * @param bulk - execute commands using bulk connection pool
+     */
+    protected CommandAsyncService(ConnectionManager connectionManager, boolean bulk) {
         this.connectionManager = connectionManager;
+        this.bulk = bulk;
     }
 
     @Override
@@ -80,6 +108,22 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         return connectionManager;
     }
 
+    protected boolean isBulk() {
+        return bulk;
+    }
+
+    @Override
+    public CommandAsyncExecutor getBulkExecutor() {
+        if (bulk || connectionManager.getConfig().getBulkConnectionPoolSize() == 0) {
+            return this;
+        }
+
+        if (bulkExecutor == null) {
+            bulkExecutor = new CommandAsyncService(connectionManager, true);
+        }
+        return bulkExecutor;
+    }
+
     @Override
     public <V> V get(Future<V> future) {
         final CountDownLatch l = new CountDownLatch(1);
@@ -411,15 +455,28 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             return;
         }
 
-        if (!connectionManager.getShutdownLatch().acquire()) {
-            mainPromise.setFailure(new RedissonShutdownException("Redisson is shutdown"));
+        if (attempt == 0 && source.getRedirect() == null
+                && !acquireShutdownLatch(mainPromise)) {
+            return;
+        }
+
+        if (readOnlyMode && attempt == 0
+                && connectionManager.getConfig().isReadCoalescing()
+                    && coalesceRead(source, codec, command, params, mainPromise)) {
+            return;
+        }
+
+        if (attempt == 0 && !acquireCircuitBreaker(readOnlyMode, source, mainPromise,
+                "Command: " + command + " with params: " + Arrays.toString(params) + " can't be executed")) {
             return;
         }
 
         final Promise<R> attemptPromise = connectionManager.newPromise();
 
         final Future<RedisConnection> connectionFuture;
-        if (readOnlyMode) {
+        if (bulk) {
+            connectionFuture = connectionManager.connectionBulkOp(readOnlyMode, source, command);
+        } else if (readOnlyMode) {
             connectionFuture = connectionManager.connectionReadOp(source, command);
         } else {
             connectionFuture = connectionManager.connectionWriteOp(source, command);
@@ -437,14 +494,11 @@ public class CommandAsyncService implements CommandAsyncExecutor {
                     return;
                 }
 
-                if (details.getConnectionFuture().cancel(false)) {
-                    connectionManager.getShutdownLatch().release();
-                } else {
-                    if (details.getConnectionFuture().isSuccess()) {
-                        ChannelFuture writeFuture = details.getWriteFuture();
-                        if (writeFuture != null && !writeFuture.cancel(false) && writeFuture.isSuccess()) {
-                            return;
-                        }
+                if (!details.getConnectionFuture().cancel(false)
+                        && details.getConnectionFuture().isSuccess()) {
+                    ChannelFuture writeFuture = details.getWriteFuture();
+                    if (writeFuture != null && !writeFuture.cancel(false) && writeFuture.isSuccess()) {
+                        return;
                     }
                 }
 
@@ -495,6 +549,143 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         });
     }
 
+    /**
+     * Checks circuit breaker of node which command is addressed to.
+     * Command outcome is reported to circuit breaker once
+     * <code>mainPromise</code> is completed, so retry attempts aren't counted.
+     *
+     * @return <code>false</code> if command has been rejected by circuit breaker
+     */
+    protected <R> boolean acquireCircuitBreaker(boolean readOnlyMode, NodeSource source, Promise<R> mainPromise, String description) {
+        MasterSlaveEntry entry = getCircuitBreakerEntry(readOnlyMode, source);
+        if (entry == null) {
+            return true;
+        }
+
+        final CircuitBreaker circuitBreaker = entry.getCircuitBreaker();
+        CircuitBreaker.Permission permission = circuitBreaker.tryAcquire();
+        if (permission == CircuitBreaker.Permission.DENIED) {
+            mainPromise.tryFailure(new RedisCircuitBreakerException("Circuit breaker is open for node: " + entry.getClient().getAddr()
+                    + ". " + description));
+            return false;
+        }
+
+        final boolean probe = permission == CircuitBreaker.Permission.PROBE;
+        mainPromise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                updateCircuitBreaker(circuitBreaker, future, probe);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Returns entry with enabled circuit breaker which command execution is tracked by.
+     * Read commands served by slaves and redirected commands aren't tracked.
+     */
+    private MasterSlaveEntry getCircuitBreakerEntry(boolean readOnlyMode, NodeSource source) {
+        if (connectionManager.getConfig().getCircuitBreakerFailures() <= 0
+                || source.getRedirect() != null
+                    || (readOnlyMode && connectionManager.getConfig().getReadMode() == ReadMode.SLAVE)) {
+            return null;
+        }
+
+        MasterSlaveEntry entry = source.getEntry();
+        if (entry == null && source.getSlot() != null) {
+            entry = connectionManager.getEntry(source.getSlot());
+        }
+        if (entry == null || entry.getCircuitBreaker() == null) {
+            return null;
+        }
+        return entry;
+    }
+
+    private <R> void updateCircuitBreaker(CircuitBreaker circuitBreaker, Future<R> future, boolean probe) {
+        if (future.isCancelled()) {
+            return;
+        }
+
+        Throwable cause = future.cause();
+        if (cause instanceof RedisTimeoutException
+                || cause instanceof RedisConnectionException
+                    || cause instanceof WriteRedisConnectionException
+                        || cause instanceof RedisLoadingException) {
+            circuitBreaker.onFailure(probe);
+        } else if (!(cause instanceof RedissonShutdownException)) {
+            // node has responded
+            circuitBreaker.onSuccess(probe);
+        }
+    }
+
+    /**
+     * Holds shutdown latch until command completion.
+     * Thus already accepted command, including its retry attempts,
+     * is completed during shutdown.
+     *
+     * @return <code>false</code> if command has been rejected due to shutdown
+     */
+    protected <R> boolean acquireShutdownLatch(Promise<R> mainPromise) {
+        if (!connectionManager.getShutdownLatch().acquire()) {
+            mainPromise.tryFailure(new RedissonShutdownException("Redisson is shutdown"));
+            return false;
+        }
+
+        mainPromise.addListener(shutdownLatchListener);
+        return true;
+    }
+
+    /**
+     * Attaches <code>mainPromise</code> to in-flight identical read command if it exists.
+     * Otherwise registers <code>mainPromise</code> as in-flight one.
+     *
+     * @return <code>true</code> if <code>mainPromise</code> has been attached
+     *          to in-flight command and should not be sent
+     */
+    private <V, R> boolean coalesceRead(final NodeSource source, final Codec codec, final RedisCommand<V> command,
+            final Object[] params, final Promise<R> mainPromise) {
+        if (source.getRedirect() != null
+                || QueueCommand.TIMEOUTLESS_COMMANDS.contains(command.getName())
+                || !ReadCommandKey.isSupported(params)) {
+            return false;
+        }
+
+        final ReadCommandKey key = new ReadCommandKey(source, codec, command, params);
+
+        final Promise<R> inProgressPromise = (Promise<R>) readsInProgress.putIfAbsent(key, (Promise<Object>) mainPromise);
+        if (inProgressPromise == null) {
+            mainPromise.addListener(new FutureListener<R>() {
+                @Override
+                public void operationComplete(Future<R> future) throws Exception {
+                    readsInProgress.remove(key, mainPromise);
+                }
+            });
+            return false;
+        }
+        if (inProgressPromise == mainPromise) {
+            // command re-execution
+            return false;
+        }
+
+        inProgressPromise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (future.isCancelled()) {
+                    // canceled by its caller only
+                    async(true, source, codec, command, params, mainPromise, 0);
+                    return;
+                }
+
+                if (future.isSuccess()) {
+                    mainPromise.trySuccess(future.getNow());
+                } else {
+                    mainPromise.tryFailure(future.cause());
+                }
+            }
+        });
+        return true;
+    }
+
     private <V, R> void checkWriteFuture(final AsyncDetails<V, R> details, final RedisConnection connection) {
         ChannelFuture future = details.getWriteFuture();
         if (details.getAttemptPromise().isDone() || future.isCancelled()) {
@@ -613,7 +804,6 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         }
 
         if (!details.getConnectionFuture().isSuccess()) {
-            connectionManager.getShutdownLatch().release();
             details.setException(convertException(details.getConnectionFuture()));
             return;
         }
@@ -663,8 +853,9 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         }
 
         RedisConnection connection = connectionFuture.getNow();
-        connectionManager.getShutdownLatch().release();
-        if (isReadOnly) {
+        if (bulk) {
+            connectionManager.releaseBulk(isReadOnly, source, connection);
+        } else if (isReadOnly) {
             connectionManager.releaseRead(source, connection);
         } else {
             connectionManager.releaseWrite(source, connection);
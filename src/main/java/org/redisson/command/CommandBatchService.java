@@ -17,7 +17,9 @@ package org.redisson.command;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +42,8 @@ import org.redisson.connection.ConnectionManager;
 import org.redisson.connection.MasterSlaveEntry;
 import org.redisson.connection.NodeSource;
 import org.redisson.connection.NodeSource.Redirect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -52,6 +56,8 @@ import io.netty.util.internal.PlatformDependent;
 
 public class CommandBatchService extends CommandReactiveService {
 
+    private static final Logger log = LoggerFactory.getLogger(CommandBatchService.class);
+
     public static class Entry {
 
         Queue<BatchCommandData<?, ?>> commands = PlatformDependent.newMpscQueue();
@@ -88,6 +94,22 @@ public class CommandBatchService extends CommandReactiveService {
         super(connectionManager);
     }
 
+    /**
+     * @param connectionManager
+     * @param bulk - execute batch using bulk connection pool
+     */
+    public CommandBatchService(ConnectionManager connectionManager, boolean bulk) {
+        super(connectionManager, bulk);
+    }
+
+    /**
+     * Commands of bulk operations should be added to this batch too.
+     */
+    @Override
+    public CommandAsyncExecutor getBulkExecutor() {
+        return this;
+    }
+
     @Override
     protected <V, R> void async(boolean readOnlyMode, NodeSource nodeSource,
             Codec codec, RedisCommand<V> command, Object[] params, Promise<R> mainPromise, int attempt) {
@@ -125,22 +147,62 @@ public class CommandBatchService extends CommandReactiveService {
         }
         executed = true;
 
-        Promise<Void> voidPromise = connectionManager.newPromise();
+        final Promise<Void> voidPromise = connectionManager.newPromise();
+        if (!acquireShutdownLatch(voidPromise)) {
+            commands = null;
+            return voidPromise;
+        }
+
+        // each node has own promise, so its outcome is tracked by circuit breaker separately
+        final Map<MasterSlaveEntry, Entry> nodes = commands;
+        final AtomicInteger slots = new AtomicInteger(nodes.size());
+        final Map<MasterSlaveEntry, Promise<Void>> nodePromises = new LinkedHashMap<MasterSlaveEntry, Promise<Void>>(nodes.size());
+        for (MasterSlaveEntry entry : nodes.keySet()) {
+            Promise<Void> nodePromise = connectionManager.newPromise();
+            nodePromise.addListener(new FutureListener<Void>() {
+                @Override
+                public void operationComplete(Future<Void> future) throws Exception {
+                    if (future.isCancelled()) {
+                        return;
+                    }
+
+                    if (!future.isSuccess()) {
+                        voidPromise.tryFailure(future.cause());
+                        return;
+                    }
+                    if (slots.decrementAndGet() == 0) {
+                        voidPromise.trySuccess(null);
+                    }
+                }
+            });
+            nodePromises.put(entry, nodePromise);
+        }
+
         voidPromise.addListener(new FutureListener<Void>() {
             @Override
             public void operationComplete(Future<Void> future) throws Exception {
                 commands = null;
+                if (!future.isCancelled()) {
+                    return;
+                }
+
+                for (Promise<Void> nodePromise : nodePromises.values()) {
+                    nodePromise.cancel(false);
+                }
             }
         });
 
-        AtomicInteger slots = new AtomicInteger(commands.size());
-        for (java.util.Map.Entry<MasterSlaveEntry, Entry> e : commands.entrySet()) {
-            execute(e.getValue(), new NodeSource(e.getKey()), voidPromise, slots, 0);
+        for (java.util.Map.Entry<MasterSlaveEntry, Promise<Void>> e : nodePromises.entrySet()) {
+            execute(nodes.get(e.getKey()), new NodeSource(e.getKey()), e.getValue(), new AtomicInteger(1), 0);
         }
         return voidPromise;
     }
 
     public Future<List<?>> executeAsync() {
+        return executeAsync(null);
+    }
+
+    public Future<List<?>> executeAsync(final FutureListener<List<?>> nodeListener) {
         if (executed) {
             throw new IllegalStateException("Batch already executed!");
         }
@@ -150,45 +212,96 @@ public class CommandBatchService extends CommandReactiveService {
         }
         executed = true;
 
-        Promise<Void> voidPromise = connectionManager.newPromise();
+        final Map<MasterSlaveEntry, Entry> nodes = commands;
         final Promise<List<?>> promise = connectionManager.newPromise();
-        voidPromise.addListener(new FutureListener<Void>() {
+        if (!acquireShutdownLatch(promise)) {
+            commands = null;
+            return promise;
+        }
+        final AtomicInteger slots = new AtomicInteger(nodes.size());
+        final Map<MasterSlaveEntry, Promise<Void>> nodePromises = new LinkedHashMap<MasterSlaveEntry, Promise<Void>>(nodes.size());
+        for (final java.util.Map.Entry<MasterSlaveEntry, Entry> e : nodes.entrySet()) {
+            Promise<Void> nodePromise = connectionManager.newPromise();
+            nodePromise.addListener(new FutureListener<Void>() {
+                @Override
+                public void operationComplete(Future<Void> future) throws Exception {
+                    if (future.isCancelled()) {
+                        return;
+                    }
+
+                    if (!future.isSuccess()) {
+                        notifyNodeListener(nodeListener, connectionManager.<List<?>>newFailedFuture(future.cause()));
+                        if (promise.tryFailure(future.cause())) {
+                            commands = null;
+                        }
+                        return;
+                    }
+
+                    if (nodeListener != null) {
+                        List<BatchCommandData> entries = new ArrayList<BatchCommandData>(e.getValue().getCommands());
+                        notifyNodeListener(nodeListener, connectionManager.<List<?>>newSucceededFuture(toResult(entries)));
+                    }
+
+                    if (slots.decrementAndGet() == 0 && !promise.isDone()) {
+                        List<BatchCommandData> entries = new ArrayList<BatchCommandData>();
+                        for (Entry entry : nodes.values()) {
+                            entries.addAll(entry.getCommands());
+                        }
+                        promise.trySuccess(toResult(entries));
+                        commands = null;
+                    }
+                }
+            });
+            nodePromises.put(e.getKey(), nodePromise);
+        }
+
+        promise.addListener(new FutureListener<List<?>>() {
             @Override
-            public void operationComplete(Future<Void> future) throws Exception {
-                if (!future.isSuccess()) {
-                    promise.setFailure(future.cause());
-                    commands = null;
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (!future.isCancelled()) {
                     return;
                 }
 
-                List<BatchCommandData> entries = new ArrayList<BatchCommandData>();
-                for (Entry e : commands.values()) {
-                    entries.addAll(e.getCommands());
+                for (Promise<Void> nodePromise : nodePromises.values()) {
+                    nodePromise.cancel(false);
                 }
-                Collections.sort(entries);
-                List<Object> result = new ArrayList<Object>(entries.size());
-                for (BatchCommandData<?, ?> commandEntry : entries) {
-                    result.add(commandEntry.getPromise().getNow());
-                }
-                promise.setSuccess(result);
-                commands = null;
             }
         });
 
-        AtomicInteger slots = new AtomicInteger(commands.size());
-        for (java.util.Map.Entry<MasterSlaveEntry, Entry> e : commands.entrySet()) {
-            execute(e.getValue(), new NodeSource(e.getKey()), voidPromise, slots, 0);
+        for (java.util.Map.Entry<MasterSlaveEntry, Promise<Void>> e : nodePromises.entrySet()) {
+            execute(nodes.get(e.getKey()), new NodeSource(e.getKey()), e.getValue(), new AtomicInteger(1), 0);
         }
         return promise;
     }
 
+    private List<?> toResult(List<BatchCommandData> entries) {
+        Collections.sort(entries);
+        List<Object> result = new ArrayList<Object>(entries.size());
+        for (BatchCommandData<?, ?> commandEntry : entries) {
+            result.add(commandEntry.getPromise().getNow());
+        }
+        return result;
+    }
+
+    private void notifyNodeListener(FutureListener<List<?>> nodeListener, Future<List<?>> nodeFuture) {
+        if (nodeListener == null) {
+            return;
+        }
+
+        try {
+            nodeListener.operationComplete(nodeFuture);
+        } catch (Exception e) {
+            log.error("Can't notify batch node listener", e);
+        }
+    }
+
     public void execute(final Entry entry, final NodeSource source, final Promise<Void> mainPromise, final AtomicInteger slots, final int attempt) {
         if (mainPromise.isCancelled()) {
             return;
         }
 
-        if (!connectionManager.getShutdownLatch().acquire()) {
-            mainPromise.setFailure(new IllegalStateException("Redisson is shutdown"));
+        if (attempt == 0 && source.getRedirect() == null
+                && !acquireCircuitBreaker(entry.isReadOnlyMode(), source, mainPromise, "Command batch can't be executed")) {
             return;
         }
 
@@ -197,7 +310,9 @@ public class CommandBatchService extends CommandReactiveService {
         final AsyncDetails details = new AsyncDetails();
 
         final Future<RedisConnection> connectionFuture;
-        if (entry.isReadOnlyMode()) {
+        if (isBulk()) {
+            connectionFuture = connectionManager.connectionBulkOp(entry.isReadOnlyMode(), source, null);
+        } else if (entry.isReadOnlyMode()) {
             connectionFuture = connectionManager.connectionReadOp(source, null);
         } else {
             connectionFuture = connectionManager.connectionWriteOp(source, null);
@@ -210,14 +325,10 @@ public class CommandBatchService extends CommandReactiveService {
                     return;
                 }
 
-                if (connectionFuture.cancel(false)) {
-                    connectionManager.getShutdownLatch().release();
-                } else {
-                    if (connectionFuture.isSuccess()) {
-                        ChannelFuture writeFuture = details.getWriteFuture();
-                        if (writeFuture != null && !writeFuture.cancel(false) && writeFuture.isSuccess()) {
-                            return;
-                        }
+                if (!connectionFuture.cancel(false) && connectionFuture.isSuccess()) {
+                    ChannelFuture writeFuture = details.getWriteFuture();
+                    if (writeFuture != null && !writeFuture.cancel(false) && writeFuture.isSuccess()) {
+                        return;
                     }
                 }
 
@@ -323,7 +434,6 @@ public class CommandBatchService extends CommandReactiveService {
         }
 
         if (!connFuture.isSuccess()) {
-            connectionManager.getShutdownLatch().release();
             details.setException(convertException(connFuture));
             return;
         }
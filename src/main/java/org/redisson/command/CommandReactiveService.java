@@ -40,6 +40,10 @@ public class CommandReactiveService extends CommandAsyncService implements Comma
         super(connectionManager);
     }
 
+    protected CommandReactiveService(ConnectionManager connectionManager, boolean bulk) {
+        super(connectionManager, bulk);
+    }
+
     @Override
     public <T, R> Publisher<R> evalWriteAllReactive(RedisCommand<T> command, SlotCallback<T, R> callback, String script, List<Object> keys, Object ... params) {
         Future<R> f = evalWriteAllAsync(command, callback, script, keys, params);
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.command;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.connection.MasterSlaveEntry;
+import org.redisson.connection.NodeSource;
+
+/**
+ * Identity of read command used for concurrent reads coalescing.
+ * Two commands are equal if they have the same command and codec
+ * (so params are encoded and replies are decoded in the same way),
+ * equal params and addressed to the same node.
+ * <p/>
+ * Only params of immutable types with value-based <code>equals</code>
+ * are supported, so equal params are always encoded to the same bytes.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+class ReadCommandKey {
+
+    private final RedisCommand<?> command;
+    private final Codec codec;
+    private final Object[] params;
+    private final MasterSlaveEntry entry;
+    private final Integer slot;
+    private final InetSocketAddress addr;
+    private final int hashCode;
+
+    ReadCommandKey(NodeSource source, Codec codec, RedisCommand<?> command, Object[] params) {
+        this.command = command;
+        this.codec = codec;
+        this.entry = source.getEntry();
+        this.slot = source.getSlot();
+        this.addr = source.getAddr();
+        this.params = params;
+
+        int result = command.hashCode();
+        result = 31 * result + codec.hashCode();
+        result = 31 * result + Arrays.deepHashCode(this.params);
+        result = 31 * result + (entry == null ? 0 : entry.hashCode());
+        result = 31 * result + (slot == null ? 0 : slot.hashCode());
+        result = 31 * result + (addr == null ? 0 : addr.hashCode());
+        this.hashCode = result;
+    }
+
+    /**
+     * Checks that all params could be compared without encoding.
+     *
+     * @param params
+     * @return <code>true</code> if command with such params could be coalesced
+     */
+    static boolean isSupported(Object[] params) {
+        for (Object param : params) {
+            if (!(param instanceof String
+                    || param instanceof Number
+                    || param instanceof Boolean
+                    || param instanceof Character
+                    || param instanceof byte[])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ReadCommandKey other = (ReadCommandKey) obj;
+        if (hashCode != other.hashCode) {
+            return false;
+        }
+        return command == other.command
+                && codec.equals(other.codec)
+                && entry == other.entry
+                && (slot == null ? other.slot == null : slot.equals(other.slot))
+                && (addr == null ? other.addr == null : addr.equals(other.addr))
+                && Arrays.deepEquals(params, other.params);
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.connection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker of Redis master node.
+ * <p/>
+ * Opens when amount of failed commands reaches <code>failures</code>
+ * during <code>interval</code>. Stays open during <code>interval</code>
+ * and then allows single probe command per <code>interval</code> (half-open state).
+ * Closes only when probe command has been executed successfully.
+ * Outcomes of commands allowed before breaker opening are ignored
+ * while breaker isn't closed.
+ * <p/>
+ * Each command outcome should be reported once, regardless of its retry attempts.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class CircuitBreaker {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    public enum Permission {DENIED, ALLOWED, PROBE}
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final AtomicInteger failedCommands = new AtomicInteger();
+    private final AtomicLong intervalStart = new AtomicLong();
+    private final AtomicLong probeTime = new AtomicLong();
+    private volatile State state = State.CLOSED;
+
+    private final MasterSlaveEntry entry;
+    private final int failures;
+    private final long interval;
+
+    public CircuitBreaker(MasterSlaveEntry entry, int failures, long interval) {
+        this.entry = entry;
+        this.failures = failures;
+        this.interval = interval;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Checks if command could be sent to the node.
+     *
+     * @return <code>DENIED</code> if command isn't allowed,
+     *          <code>PROBE</code> if command is allowed as probe
+     *          and <code>ALLOWED</code> otherwise
+     */
+    public Permission tryAcquire() {
+        if (state == State.CLOSED) {
+            return Permission.ALLOWED;
+        }
+
+        long time = probeTime.get();
+        long currentTime = System.currentTimeMillis();
+        if (currentTime >= time && probeTime.compareAndSet(time, currentTime + interval)) {
+            state = State.HALF_OPEN;
+            return Permission.PROBE;
+        }
+        return Permission.DENIED;
+    }
+
+    /**
+     * @param probe - <code>true</code> if command has been allowed as probe
+     */
+    public void onSuccess(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            synchronized (this) {
+                if (state == State.HALF_OPEN) {
+                    failedCommands.set(0);
+                    intervalStart.set(System.currentTimeMillis());
+                    state = State.CLOSED;
+                    log.info("circuit breaker closed for {}", entry.getClient().getAddr());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param probe - <code>true</code> if command has been allowed as probe
+     */
+    public void onFailure(boolean probe) {
+        long currentTime = System.currentTimeMillis();
+        if (probe) {
+            if (state == State.HALF_OPEN) {
+                open(currentTime);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        long start = intervalStart.get();
+        if (currentTime - start >= interval
+                && intervalStart.compareAndSet(start, currentTime)) {
+            failedCommands.set(0);
+        }
+
+        if (failedCommands.incrementAndGet() >= failures) {
+            open(currentTime);
+        }
+    }
+
+    private synchronized void open(long currentTime) {
+        if (state == State.OPEN) {
+            return;
+        }
+
+        probeTime.set(currentTime + interval);
+        if (state == State.CLOSED) {
+            log.warn("circuit breaker opened for {} due to {} failed commands during {} ms", entry.getClient().getAddr(), failures, interval);
+        }
+        state = State.OPEN;
+    }
+
+}
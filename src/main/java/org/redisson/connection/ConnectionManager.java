@@ -19,7 +19,6 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Set;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.redisson.MasterSlaveServersConfig;
@@ -28,8 +27,12 @@ import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.core.NodeType;
 import org.redisson.misc.InfinitySemaphoreLatch;
+import org.redisson.pubsub.AsyncSemaphore;
+import org.redisson.pubsub.MessageDispatcher;
+import org.redisson.pubsub.NotificationChannels;
 
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.Timeout;
@@ -48,19 +51,33 @@ public interface ConnectionManager {
 
     boolean isClusterMode();
 
-    Semaphore getSemaphore(String channelName);
+    AsyncSemaphore getSemaphore(String channelName);
     
     <R> Future<R> newSucceededFuture(R value);
 
     ConnectionEventsHub getConnectionEventsHub();
 
+    NotificationChannels getNotificationChannels();
+
+    MessageDispatcher getMessageDispatcher();
+
     boolean isShutdown();
 
     boolean isShuttingDown();
 
+    /**
+     * @return amount of accepted commands which haven't been completed yet
+     */
+    int getInFlightCommands();
+
+    /**
+     * @return amount of commands which haven't been completed till shutdown timeout
+     */
+    int getAbandonedCommands();
+
     Future<PubSubConnectionEntry> subscribe(Codec codec, String channelName, RedisPubSubListener<?> listener);
 
-    Future<PubSubConnectionEntry> subscribe(Codec codec, String channelName, final RedisPubSubListener<?> listener, Semaphore semaphore);
+    Future<PubSubConnectionEntry> subscribe(Codec codec, String channelName, final RedisPubSubListener<?> listener, AsyncSemaphore semaphore);
     
     ConnectionInitializer getConnectListener();
 
@@ -92,6 +109,10 @@ public interface ConnectionManager {
 
     Future<RedisConnection> connectionWriteOp(NodeSource source, RedisCommand<?> command);
 
+    Future<RedisConnection> connectionBulkOp(boolean readOnlyMode, NodeSource source, RedisCommand<?> command);
+
+    void releaseBulk(boolean readOnlyMode, NodeSource source, RedisConnection connection);
+
     RedisClient createClient(String host, int port, int timeout);
 
     RedisClient createClient(NodeType type, String host, int port);
@@ -102,15 +123,27 @@ public interface ConnectionManager {
 
     Future<PubSubConnectionEntry> psubscribe(String pattern, Codec codec, RedisPubSubListener<?> listener);
     
-    Future<PubSubConnectionEntry> psubscribe(String pattern, Codec codec, RedisPubSubListener<?> listener, Semaphore semaphore);
-
-    Codec unsubscribe(final String channelName, Semaphore lock);
+    Future<PubSubConnectionEntry> psubscribe(String pattern, Codec codec, RedisPubSubListener<?> listener, AsyncSemaphore semaphore);
+
+    /**
+     * Removes listener and unsubscribes from channel if it has no listeners left.
+     * Listener is removed once channel semaphore is acquired, so caller thread is never parked.
+     *
+     * @param channelName
+     * @param listenerId
+     * @param type - <code>SUBSCRIBE</code> for channel or <code>PSUBSCRIBE</code> for pattern
+     * @return future completed once listener has been removed,
+     *         unsubscribe may still be in progress
+     */
+    Future<Void> removeListener(String channelName, int listenerId, PubSubType type);
+
+    Codec unsubscribe(final String channelName, AsyncSemaphore lock);
     
     Codec unsubscribe(String channelName);
 
     Codec punsubscribe(String channelName);
 
-    Codec punsubscribe(final String channelName, Semaphore lock);
+    Codec punsubscribe(final String channelName, AsyncSemaphore lock);
     
     void shutdown();
 
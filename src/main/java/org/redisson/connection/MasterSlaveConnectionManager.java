@@ -28,7 +28,6 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.redisson.BaseMasterSlaveServersConfig;
@@ -49,6 +48,9 @@ import org.redisson.cluster.ClusterSlotRange;
 import org.redisson.connection.ClientConnectionsEntry.FreezeReason;
 import org.redisson.core.NodeType;
 import org.redisson.misc.InfinitySemaphoreLatch;
+import org.redisson.pubsub.AsyncSemaphore;
+import org.redisson.pubsub.MessageDispatcher;
+import org.redisson.pubsub.NotificationChannels;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -122,6 +124,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
     
     protected final Queue<PubSubConnectionEntry> freePubSubConnections = new ConcurrentLinkedQueue<PubSubConnectionEntry>();
 
+    private final Set<PubSubConnectionEntry> pubSubConnections = Collections.newSetFromMap(PlatformDependent.<PubSubConnectionEntry, Boolean>newConcurrentHashMap());
+
     protected MasterSlaveServersConfig config;
 
     private final Map<Integer, MasterSlaveEntry> entries = PlatformDependent.newConcurrentHashMap();
@@ -130,19 +134,25 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     private final InfinitySemaphoreLatch shutdownLatch = new InfinitySemaphoreLatch();
 
+    private volatile int abandonedCommands;
+
     private final Set<RedisClientEntry> clients = Collections.newSetFromMap(PlatformDependent.<RedisClientEntry, Boolean>newConcurrentHashMap());
 
     private IdleConnectionWatcher connectionWatcher;
 
     private final ConnectionEventsHub connectionEventsHub = new ConnectionEventsHub();
+
+    private NotificationChannels notificationChannels;
+
+    private final MessageDispatcher messageDispatcher;
     
-    private final Semaphore[] locks = new Semaphore[50];
+    private final AsyncSemaphore[] locks = new AsyncSemaphore[50];
     
-    private final Semaphore freePubSubLock = new Semaphore(1);
+    private final AsyncSemaphore freePubSubLock = new AsyncSemaphore(1);
     
     {
         for (int i = 0; i < locks.length; i++) {
-            locks[i] = new Semaphore(1);
+            locks[i] = new AsyncSemaphore(1);
         }
     }
 
@@ -172,6 +182,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
             this.socketChannelClass = NioSocketChannel.class;
         }
         this.codec = cfg.getCodec();
+        this.messageDispatcher = new MessageDispatcher(cfg.getListenerExecutor(), cfg.getListenerQueueSize(),
+                                        cfg.getListenerOverflowPolicy(), cfg.getListenerOverflowListener());
         this.shutdownPromise = newPromise();
     }
 
@@ -214,6 +226,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
         connectionWatcher = new IdleConnectionWatcher(this, config);
 
+        notificationChannels = new NotificationChannels(this, config.getSharedNotificationChannels());
+
         try {
             initEntry(config);
         } catch (RuntimeException e) {
@@ -278,6 +292,13 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         c.setSlaveConnectionMinimumIdleSize(cfg.getSlaveConnectionMinimumIdleSize());
         c.setSlaveSubscriptionConnectionMinimumIdleSize(cfg.getSlaveSubscriptionConnectionMinimumIdleSize());
         c.setReadMode(cfg.getReadMode());
+        c.setReadCoalescing(cfg.isReadCoalescing());
+        c.setCircuitBreakerFailures(cfg.getCircuitBreakerFailures());
+        c.setCircuitBreakerInterval(cfg.getCircuitBreakerInterval());
+        c.setBulkConnectionPoolSize(cfg.getBulkConnectionPoolSize());
+        c.setSharedNotificationChannels(cfg.getSharedNotificationChannels());
+        c.setLockWaitersCoalescing(cfg.isLockWaitersCoalescing());
+        c.setLockHandOff(cfg.isLockHandOff());
 
         return c;
     }
@@ -310,35 +331,78 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
     }
 
     @Override
-    public Future<PubSubConnectionEntry> psubscribe(String channelName, Codec codec, RedisPubSubListener<?> listener) {
-        Semaphore lock = locks[Math.abs(channelName.hashCode() % locks.length)];
-        lock.acquireUninterruptibly();
-        return psubscribe(channelName, codec, listener, lock);
+    public Future<PubSubConnectionEntry> psubscribe(final String channelName, final Codec codec, final RedisPubSubListener<?> listener) {
+        final Promise<PubSubConnectionEntry> promise = newPromise();
+        final AsyncSemaphore lock = getSemaphore(channelName);
+        lock.acquire(new Runnable() {
+            @Override
+            public void run() {
+                subscribe(codec, channelName, listener, promise, PubSubType.PSUBSCRIBE, lock);
+            }
+        });
+        return promise;
     }
     
-    public Future<PubSubConnectionEntry> psubscribe(String channelName, Codec codec, RedisPubSubListener<?> listener, Semaphore semaphore) {
+    public Future<PubSubConnectionEntry> psubscribe(String channelName, Codec codec, RedisPubSubListener<?> listener, AsyncSemaphore semaphore) {
         Promise<PubSubConnectionEntry> promise = newPromise();
         subscribe(codec, channelName, listener, promise, PubSubType.PSUBSCRIBE, semaphore);
         return promise;
     }
 
-    public Future<PubSubConnectionEntry> subscribe(Codec codec, String channelName, RedisPubSubListener<?> listener) {
-        Semaphore lock = locks[Math.abs(channelName.hashCode() % locks.length)];
-        lock.acquireUninterruptibly();
-        return subscribe(codec, channelName, listener, lock);
+    public Future<PubSubConnectionEntry> subscribe(final Codec codec, final String channelName, final RedisPubSubListener<?> listener) {
+        final Promise<PubSubConnectionEntry> promise = newPromise();
+        final AsyncSemaphore lock = getSemaphore(channelName);
+        lock.acquire(new Runnable() {
+            @Override
+            public void run() {
+                subscribe(codec, channelName, listener, promise, PubSubType.SUBSCRIBE, lock);
+            }
+        });
+        return promise;
     }
     
-    public Future<PubSubConnectionEntry> subscribe(Codec codec, String channelName, RedisPubSubListener<?> listener, Semaphore semaphore) {
+    public Future<PubSubConnectionEntry> subscribe(Codec codec, String channelName, RedisPubSubListener<?> listener, AsyncSemaphore semaphore) {
         Promise<PubSubConnectionEntry> promise = newPromise();
         subscribe(codec, channelName, listener, promise, PubSubType.SUBSCRIBE, semaphore);
         return promise;
     }
 
-    public Semaphore getSemaphore(String channelName) {
+    public AsyncSemaphore getSemaphore(String channelName) {
         return locks[Math.abs(channelName.hashCode() % locks.length)];
     }
+
+    @Override
+    public Future<Void> removeListener(final String channelName, final int listenerId, final PubSubType type) {
+        final Promise<Void> result = newPromise();
+        final AsyncSemaphore semaphore = getSemaphore(channelName);
+        semaphore.acquire(new Runnable() {
+            @Override
+            public void run() {
+                PubSubConnectionEntry entry = getPubSubEntry(channelName);
+                if (entry == null) {
+                    semaphore.release();
+                    result.setSuccess(null);
+                    return;
+                }
+
+                entry.removeListener(channelName, listenerId);
+                result.setSuccess(null);
+                if (entry.hasListeners(channelName)) {
+                    semaphore.release();
+                    return;
+                }
+
+                if (type == PubSubType.PSUBSCRIBE) {
+                    punsubscribe(channelName, semaphore);
+                } else {
+                    unsubscribe(channelName, semaphore);
+                }
+            }
+        });
+        return result;
+    }
     
-    private void subscribe(final Codec codec, final String channelName, final RedisPubSubListener listener, final Promise<PubSubConnectionEntry> promise, PubSubType type, final Semaphore lock) {
+    private void subscribe(final Codec codec, final String channelName, final RedisPubSubListener listener, final Promise<PubSubConnectionEntry> promise, final PubSubType type, final AsyncSemaphore lock) {
         final PubSubConnectionEntry сonnEntry = name2PubSubConnection.get(channelName);
         if (сonnEntry != null) {
             сonnEntry.addListener(channelName, listener);
@@ -352,7 +416,15 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
             return;
         }
 
-        freePubSubLock.acquireUninterruptibly();
+        freePubSubLock.acquire(new Runnable() {
+            @Override
+            public void run() {
+                subscribeFreeEntry(codec, channelName, listener, promise, type, lock);
+            }
+        });
+    }
+
+    private void subscribeFreeEntry(final Codec codec, final String channelName, final RedisPubSubListener listener, final Promise<PubSubConnectionEntry> promise, final PubSubType type, final AsyncSemaphore lock) {
         final PubSubConnectionEntry freeEntry = freePubSubConnections.peek();
         if (freeEntry == null) {
             connect(codec, channelName, listener, promise, type, lock);
@@ -403,7 +475,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
     }
 
     private void connect(final Codec codec, final String channelName, final RedisPubSubListener listener,
-            final Promise<PubSubConnectionEntry> promise, final PubSubType type, final Semaphore lock) {
+            final Promise<PubSubConnectionEntry> promise, final PubSubType type, final AsyncSemaphore lock) {
         final int slot = 0;
         Future<RedisPubSubConnection> connFuture = nextPubSubConnection(slot);
         connFuture.addListener(new FutureListener<RedisPubSubConnection>() {
@@ -411,6 +483,16 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
             @Override
             public void operationComplete(Future<RedisPubSubConnection> future) throws Exception {
                 if (!future.isSuccess()) {
+                    PubSubConnectionEntry entry = getLeastLoadedPubSubConnection();
+                    if (entry != null) {
+                        if (entry.grow() == 0) {
+                            freePubSubConnections.add(entry);
+                        }
+                        log.debug("Can't obtain new subscribe connection, subscriptions limit of {} raised to {}", entry.getConnection(), entry.getLimit());
+                        subscribeFreeEntry(codec, channelName, listener, promise, type, lock);
+                        return;
+                    }
+
                     promise.setFailure(future.cause());
                     freePubSubLock.release();
                     lock.release();
@@ -440,6 +522,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
                 }
                 
                 freePubSubConnections.add(entry);
+                pubSubConnections.add(entry);
                 freePubSubLock.release();
                 
                 entry.addListener(channelName, listener);
@@ -461,7 +544,25 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         });
     }
 
-    public Codec unsubscribe(final String channelName, final Semaphore lock) {
+    private PubSubConnectionEntry getLeastLoadedPubSubConnection() {
+        PubSubConnectionEntry result = null;
+        for (PubSubConnectionEntry entry : pubSubConnections) {
+            if (entry.getConnection().isClosed()) {
+                pubSubConnections.remove(entry);
+                continue;
+            }
+            if (!entry.getConnection().isActive()) {
+                continue;
+            }
+            if (result == null
+                    || entry.getLimit() - entry.getFreeAmount() < result.getLimit() - result.getFreeAmount()) {
+                result = entry;
+            }
+        }
+        return result;
+    }
+
+    public Codec unsubscribe(final String channelName, final AsyncSemaphore lock) {
         final PubSubConnectionEntry entry = name2PubSubConnection.remove(channelName);
         if (entry == null) {
             lock.release();
@@ -503,7 +604,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         return entryCodec;
     }
     
-    public Codec punsubscribe(final String channelName, final Semaphore lock) {
+    public Codec punsubscribe(final String channelName, final AsyncSemaphore lock) {
         final PubSubConnectionEntry entry = name2PubSubConnection.remove(channelName);
         if (entry == null) {
             lock.release();
@@ -623,6 +724,52 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         this.getEntry(slot).returnPubSubConnection(entry);
     }
 
+    @Override
+    public Future<RedisConnection> connectionBulkOp(boolean readOnlyMode, NodeSource source, RedisCommand<?> command) {
+        if (!isBulkLane(readOnlyMode, source)) {
+            if (readOnlyMode) {
+                return connectionReadOp(source, command);
+            }
+            return connectionWriteOp(source, command);
+        }
+
+        MasterSlaveEntry entry = source.getEntry();
+        if (entry == null) {
+            entry = getEntry(source);
+        }
+        return entry.connectionBulkOp();
+    }
+
+    @Override
+    public void releaseBulk(boolean readOnlyMode, NodeSource source, RedisConnection connection) {
+        if (!isBulkLane(readOnlyMode, source)) {
+            if (readOnlyMode) {
+                releaseRead(source, connection);
+            } else {
+                releaseWrite(source, connection);
+            }
+            return;
+        }
+
+        MasterSlaveEntry entry = source.getEntry();
+        if (entry == null) {
+            entry = getEntry(source);
+        }
+        entry.releaseBulk(connection);
+    }
+
+    /**
+     * Bulk read operation uses bulk connection pool
+     * only if it would be served by master anyway
+     */
+    private boolean isBulkLane(boolean readOnlyMode, NodeSource source) {
+        if (config.getBulkConnectionPoolSize() == 0) {
+            return false;
+        }
+        return !readOnlyMode
+                || (config.getReadMode() == ReadMode.MASTER && source.getAddr() == null);
+    }
+
     @Override
     public void releaseWrite(NodeSource source, RedisConnection connection) {
         MasterSlaveEntry entry = source.getEntry();
@@ -648,15 +795,39 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     @Override
     public void shutdown(long quietPeriod, long timeout, TimeUnit unit) {
+        // new commands are rejected, blocking commands are canceled
         shutdownLatch.close();
         shutdownPromise.trySuccess(true);
-        shutdownLatch.awaitUninterruptibly();
+
+        // waiting for already accepted commands completion
+        long startTime = System.currentTimeMillis();
+        if (shutdownLatch.awaitUninterruptibly(timeout, unit)) {
+            log.debug("commands drained in {} ms during shutdown", System.currentTimeMillis() - startTime);
+        } else {
+            abandonedCommands = shutdownLatch.getAcquiredAmount();
+            log.warn("{} commands haven't been completed in {} ms during shutdown and were dropped",
+                    abandonedCommands, System.currentTimeMillis() - startTime);
+        }
 
         for (MasterSlaveEntry entry : entries.values()) {
             entry.shutdown();
         }
         timer.stop();
-        group.shutdownGracefully(quietPeriod, timeout, unit).syncUninterruptibly();
+
+        // whole shutdown takes no more than timeout
+        long remainTime = Math.max(0, unit.toMillis(timeout) - (System.currentTimeMillis() - startTime));
+        long quietPeriodTime = Math.min(unit.toMillis(quietPeriod), remainTime);
+        group.shutdownGracefully(quietPeriodTime, remainTime, TimeUnit.MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Override
+    public int getInFlightCommands() {
+        return shutdownLatch.getAcquiredAmount();
+    }
+
+    @Override
+    public int getAbandonedCommands() {
+        return abandonedCommands;
     }
 
     @Override
@@ -719,6 +890,16 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         return connectionEventsHub;
     }
 
+    @Override
+    public NotificationChannels getNotificationChannels() {
+        return notificationChannels;
+    }
+
+    @Override
+    public MessageDispatcher getMessageDispatcher() {
+        return messageDispatcher;
+    }
+
     protected void stopThreads() {
         timer.stop();
         try {
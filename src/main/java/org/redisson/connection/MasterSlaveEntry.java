@@ -22,7 +22,6 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.redisson.MasterSlaveServersConfig;
@@ -37,8 +36,10 @@ import org.redisson.cluster.ClusterSlotRange;
 import org.redisson.connection.ClientConnectionsEntry.FreezeReason;
 import org.redisson.connection.balancer.LoadBalancerManager;
 import org.redisson.connection.balancer.LoadBalancerManagerImpl;
+import org.redisson.connection.pool.BulkConnectionPool;
 import org.redisson.connection.pool.MasterConnectionPool;
 import org.redisson.core.NodeType;
+import org.redisson.pubsub.AsyncSemaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,11 +59,14 @@ public class MasterSlaveEntry {
 
     LoadBalancerManager slaveBalancer;
     ClientConnectionsEntry masterEntry;
+    ClientConnectionsEntry bulkEntry;
 
     final MasterSlaveServersConfig config;
     final ConnectionManager connectionManager;
 
     final MasterConnectionPool writeConnectionHolder;
+    final CircuitBreaker circuitBreaker;
+    final BulkConnectionPool bulkConnectionHolder;
     final Set<Integer> slots = new HashSet<Integer>();
 
     final AtomicBoolean active = new AtomicBoolean(true);
@@ -78,6 +82,16 @@ public class MasterSlaveEntry {
 
         slaveBalancer = new LoadBalancerManagerImpl(config, connectionManager, this);
         writeConnectionHolder = new MasterConnectionPool(config, connectionManager, this);
+        if (config.getBulkConnectionPoolSize() > 0) {
+            bulkConnectionHolder = new BulkConnectionPool(config, connectionManager, this);
+        } else {
+            bulkConnectionHolder = null;
+        }
+        if (config.getCircuitBreakerFailures() > 0) {
+            circuitBreaker = new CircuitBreaker(this, config.getCircuitBreakerFailures(), config.getCircuitBreakerInterval());
+        } else {
+            circuitBreaker = null;
+        }
     }
 
     public List<Future<Void>> initSlaveBalancer(Collection<URI> disconnectedNodes) {
@@ -99,9 +113,24 @@ public class MasterSlaveEntry {
         RedisClient client = connectionManager.createClient(NodeType.MASTER, host, port);
         masterEntry = new ClientConnectionsEntry(client, config.getMasterConnectionMinimumIdleSize(), config.getMasterConnectionPoolSize(),
                                                     0, 0, connectionManager, NodeType.MASTER);
+        setupBulkEntry(client);
         return writeConnectionHolder.add(masterEntry);
     }
 
+    void setupBulkEntry(RedisClient client) {
+        if (bulkConnectionHolder == null) {
+            return;
+        }
+
+        ClientConnectionsEntry oldBulkEntry = bulkEntry;
+        bulkEntry = new ClientConnectionsEntry(client, 0, config.getBulkConnectionPoolSize(),
+                                                    0, 0, connectionManager, NodeType.MASTER);
+        bulkConnectionHolder.add(bulkEntry);
+        if (oldBulkEntry != null) {
+            bulkConnectionHolder.remove(oldBulkEntry);
+        }
+    }
+
     private boolean slaveDown(ClientConnectionsEntry entry, FreezeReason freezeReason) {
         ClientConnectionsEntry e = slaveBalancer.freeze(entry, freezeReason);
         if (e == null) {
@@ -162,28 +191,43 @@ public class MasterSlaveEntry {
     }
     
     private void reattachPubSub(RedisPubSubConnection redisPubSubConnection) {
-        for (String channelName : redisPubSubConnection.getChannels().keySet()) {
-            Semaphore semaphore = connectionManager.getSemaphore(channelName);
-            semaphore.acquireUninterruptibly();
-
-            PubSubConnectionEntry pubSubEntry = connectionManager.getPubSubEntry(channelName);
-            Collection<RedisPubSubListener> listeners = pubSubEntry.getListeners(channelName);
-            reattachPubSubListeners(channelName, listeners, semaphore);
+        for (final String channelName : redisPubSubConnection.getChannels().keySet()) {
+            final AsyncSemaphore semaphore = connectionManager.getSemaphore(channelName);
+            semaphore.acquire(new Runnable() {
+                @Override
+                public void run() {
+                    PubSubConnectionEntry pubSubEntry = connectionManager.getPubSubEntry(channelName);
+                    if (pubSubEntry == null) {
+                        semaphore.release();
+                        return;
+                    }
+                    Collection<RedisPubSubListener> listeners = pubSubEntry.getListeners(channelName);
+                    reattachPubSubListeners(channelName, listeners, semaphore);
+                }
+            });
         }
 
-        for (String channelName : redisPubSubConnection.getPatternChannels().keySet()) {
-            Semaphore semaphore = connectionManager.getSemaphore(channelName);
-            semaphore.acquireUninterruptibly();
-
-            PubSubConnectionEntry pubSubEntry = connectionManager.getPubSubEntry(channelName);
-            Collection<RedisPubSubListener> listeners = pubSubEntry.getListeners(channelName);
-            reattachPatternPubSubListeners(channelName, listeners, semaphore);
+        for (final String channelName : redisPubSubConnection.getPatternChannels().keySet()) {
+            final AsyncSemaphore semaphore = connectionManager.getSemaphore(channelName);
+            semaphore.acquire(new Runnable() {
+                @Override
+                public void run() {
+                    PubSubConnectionEntry pubSubEntry = connectionManager.getPubSubEntry(channelName);
+                    if (pubSubEntry == null) {
+                        semaphore.release();
+                        return;
+                    }
+                    Collection<RedisPubSubListener> listeners = pubSubEntry.getListeners(channelName);
+                    reattachPatternPubSubListeners(channelName, listeners, semaphore);
+                }
+            });
         }
     }
 
-    private void reattachPubSubListeners(final String channelName, final Collection<RedisPubSubListener> listeners, Semaphore semaphore) {
+    private void reattachPubSubListeners(final String channelName, final Collection<RedisPubSubListener> listeners, AsyncSemaphore semaphore) {
         Codec subscribeCodec = connectionManager.unsubscribe(channelName);
         if (listeners.isEmpty()) {
+            semaphore.release();
             return;
         }
         
@@ -207,9 +251,11 @@ public class MasterSlaveEntry {
     }
 
     private void reattachPatternPubSubListeners(final String channelName,
-            final Collection<RedisPubSubListener> listeners, Semaphore semaphore) {
+            final Collection<RedisPubSubListener> listeners, AsyncSemaphore semaphore) {
         Codec subscribeCodec = connectionManager.punsubscribe(channelName);
-        if (!listeners.isEmpty()) {
+        if (listeners.isEmpty()) {
+            semaphore.release();
+        } else {
             Future<PubSubConnectionEntry> future = connectionManager.psubscribe(channelName, subscribeCodec, null, semaphore);
             future.addListener(new FutureListener<PubSubConnectionEntry>() {
                 @Override
@@ -295,6 +341,15 @@ public class MasterSlaveEntry {
         return slaveBalancer.add(entry);
     }
 
+    /**
+     * Returns circuit breaker of master node
+     *
+     * @return circuit breaker or <code>null</code> if it's disabled
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     public RedisClient getClient() {
         return masterEntry.getClient();
     }
@@ -371,6 +426,13 @@ public class MasterSlaveEntry {
         return slaveBalancer.nextConnection();
     }
 
+    public Future<RedisConnection> connectionBulkOp() {
+        if (bulkConnectionHolder == null) {
+            return connectionWriteOp();
+        }
+        return bulkConnectionHolder.get();
+    }
+
     public Future<RedisConnection> connectionReadOp(InetSocketAddress addr) {
         return slaveBalancer.getConnection(addr);
     }
@@ -388,6 +450,14 @@ public class MasterSlaveEntry {
         writeConnectionHolder.returnConnection(masterEntry, connection);
     }
 
+    public void releaseBulk(RedisConnection connection) {
+        if (bulkConnectionHolder == null) {
+            releaseWrite(connection);
+            return;
+        }
+        bulkConnectionHolder.returnConnection(bulkEntry, connection);
+    }
+
     public void releaseRead(RedisConnection сonnection) {
         slaveBalancer.returnConnection(сonnection);
     }
@@ -15,12 +15,16 @@
  */
 package org.redisson.connection;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.redisson.client.BaseRedisPubSubListener;
@@ -36,16 +40,51 @@ public class PubSubConnectionEntry {
 
     public enum Status {ACTIVE, INACTIVE}
 
+    private static class Operation {
+
+        final PubSubType type;
+        final Codec codec;
+        final String channel;
+
+        Operation(PubSubType type, Codec codec, String channel) {
+            this.type = type;
+            this.codec = codec;
+            this.channel = channel;
+        }
+
+        boolean isSameGroup(Operation operation) {
+            if (type != operation.type) {
+                return false;
+            }
+            if (codec == null) {
+                return operation.codec == null;
+            }
+            return codec.equals(operation.codec);
+        }
+
+    }
+
     private final AtomicInteger subscribedChannelsAmount;
+    private final AtomicInteger limit;
     private final RedisPubSubConnection conn;
 
     private final ConcurrentMap<String, SubscribeListener> subscribeChannelListeners = new ConcurrentHashMap<String, SubscribeListener>();
     private final ConcurrentMap<String, Queue<RedisPubSubListener>> channelListeners = new ConcurrentHashMap<String, Queue<RedisPubSubListener>>();
 
+    private final Queue<Operation> pendingOperations = new ConcurrentLinkedQueue<Operation>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
     public PubSubConnectionEntry(RedisPubSubConnection conn, int subscriptionsPerConnection) {
         super();
         this.conn = conn;
         this.subscribedChannelsAmount = new AtomicInteger(subscriptionsPerConnection);
+        this.limit = new AtomicInteger(subscriptionsPerConnection);
     }
 
     public boolean hasListeners(String channelName) {
@@ -87,7 +126,7 @@ public class PubSubConnectionEntry {
             return;
         }
 
-        conn.addListener(listener);
+        conn.addListener(channelName, listener);
     }
 
     // TODO optimize
@@ -109,13 +148,13 @@ public class PubSubConnectionEntry {
                 channelListeners.remove(channelName);
             }
         }
-        conn.removeListener(listener);
+        conn.removeListener(channelName, listener);
     }
 
     public int tryAcquire() {
         while (true) {
             int value = subscribedChannelsAmount.get();
-            if (value == 0) {
+            if (value <= 0) {
                 return -1;
             }
             
@@ -125,16 +164,88 @@ public class PubSubConnectionEntry {
         }
     }
 
+    /**
+     * Doubles subscriptions limit of this connection.
+     * Used when no more connections could be obtained.
+     *
+     * @return free slots amount before growth
+     */
+    public int grow() {
+        int amount = limit.get();
+        limit.addAndGet(amount);
+        return subscribedChannelsAmount.getAndAdd(amount);
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
     public int release() {
         return subscribedChannelsAmount.incrementAndGet();
     }
 
+    public int getFreeAmount() {
+        return subscribedChannelsAmount.get();
+    }
+
     public void subscribe(Codec codec, String channelName) {
-        conn.subscribe(codec, channelName);
+        addOperation(new Operation(PubSubType.SUBSCRIBE, codec, channelName));
     }
 
     public void psubscribe(Codec codec, String pattern) {
-        conn.psubscribe(codec, pattern);
+        addOperation(new Operation(PubSubType.PSUBSCRIBE, codec, pattern));
+    }
+
+    /**
+     * Operations added during the same event loop iteration
+     * are sent as a single multi-channel command.
+     */
+    private void addOperation(Operation operation) {
+        pendingOperations.add(operation);
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                conn.getChannel().eventLoop().execute(flushTask);
+            } catch (RejectedExecutionException e) {
+                // event loop is shutting down
+                flush();
+            }
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+
+        List<String> channels = new ArrayList<String>();
+        Operation first = null;
+        while (true) {
+            Operation operation = pendingOperations.poll();
+            if (first != null
+                    && (operation == null || !operation.isSameGroup(first))) {
+                send(first, channels.toArray(new String[channels.size()]));
+                channels.clear();
+                first = null;
+            }
+            if (operation == null) {
+                break;
+            }
+
+            if (first == null) {
+                first = operation;
+            }
+            channels.add(operation.channel);
+        }
+    }
+
+    private void send(Operation operation, String[] channels) {
+        if (operation.type == PubSubType.SUBSCRIBE) {
+            conn.subscribe(operation.codec, channels);
+        } else if (operation.type == PubSubType.PSUBSCRIBE) {
+            conn.psubscribe(operation.codec, channels);
+        } else if (operation.type == PubSubType.UNSUBSCRIBE) {
+            conn.unsubscribe(channels);
+        } else if (operation.type == PubSubType.PUNSUBSCRIBE) {
+            conn.punsubscribe(channels);
+        }
     }
 
     private SubscribeListener addSubscribeListener(String channel, PubSubType type) {
@@ -143,7 +254,7 @@ public class PubSubConnectionEntry {
         if (oldSubscribeListener != null) {
             return oldSubscribeListener;
         } else {
-            conn.addListener(subscribeListener);
+            conn.addListener(channel, subscribeListener);
             return subscribeListener;
         }
     }
@@ -157,11 +268,11 @@ public class PubSubConnectionEntry {
     }
     
     public void unsubscribe(final String channel, final RedisPubSubListener listener) {
-        conn.addListener(new BaseRedisPubSubListener() {
+        conn.addListener(channel, new BaseRedisPubSubListener() {
             @Override
             public boolean onStatus(PubSubType type, String ch) {
                 if (type == PubSubType.UNSUBSCRIBE && channel.equals(ch)) {
-                    conn.removeListener(this);
+                    conn.removeListener(channel, this);
                     removeListeners(channel);
                     if (listener != null) {
                         listener.onStatus(type, channel);
@@ -172,30 +283,30 @@ public class PubSubConnectionEntry {
             }
 
         });
-        conn.unsubscribe(channel);
+        addOperation(new Operation(PubSubType.UNSUBSCRIBE, null, channel));
     }
 
     private void removeListeners(String channel) {
         conn.removeDisconnectListener(channel);
         SubscribeListener s = subscribeChannelListeners.remove(channel);
-        conn.removeListener(s);
+        conn.removeListener(channel, s);
         Queue<RedisPubSubListener> queue = channelListeners.get(channel);
         if (queue != null) {
             synchronized (queue) {
                 channelListeners.remove(channel);
             }
             for (RedisPubSubListener listener : queue) {
-                conn.removeListener(listener);
+                conn.removeListener(channel, listener);
             }
         }
     }
 
     public void punsubscribe(final String channel, final RedisPubSubListener listener) {
-        conn.addListener(new BaseRedisPubSubListener() {
+        conn.addListener(channel, new BaseRedisPubSubListener() {
             @Override
             public boolean onStatus(PubSubType type, String ch) {
                 if (type == PubSubType.PUNSUBSCRIBE && channel.equals(ch)) {
-                    conn.removeListener(this);
+                    conn.removeListener(channel, this);
                     removeListeners(channel);
                     if (listener != null) {
                         listener.onStatus(type, channel);
@@ -205,7 +316,7 @@ public class PubSubConnectionEntry {
                 return false;
             }
         });
-        conn.punsubscribe(channel);
+        addOperation(new Operation(PubSubType.PUNSUBSCRIBE, null, channel));
     }
 
     public RedisPubSubConnection getConnection() {
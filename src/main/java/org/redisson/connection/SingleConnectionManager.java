@@ -71,6 +71,13 @@ public class SingleConnectionManager extends MasterSlaveConnectionManager {
         newconfig.setIdleConnectionTimeout(cfg.getIdleConnectionTimeout());
         newconfig.setFailedAttempts(cfg.getFailedAttempts());
         newconfig.setReconnectionTimeout(cfg.getReconnectionTimeout());
+        newconfig.setReadCoalescing(cfg.isReadCoalescing());
+        newconfig.setCircuitBreakerFailures(cfg.getCircuitBreakerFailures());
+        newconfig.setCircuitBreakerInterval(cfg.getCircuitBreakerInterval());
+        newconfig.setBulkConnectionPoolSize(cfg.getBulkConnectionPoolSize());
+        newconfig.setSharedNotificationChannels(cfg.getSharedNotificationChannels());
+        newconfig.setLockWaitersCoalescing(cfg.isLockWaitersCoalescing());
+        newconfig.setLockHandOff(cfg.isLockHandOff());
 
         newconfig.setMasterConnectionMinimumIdleSize(cfg.getConnectionMinimumIdleSize());
         newconfig.setSlaveSubscriptionConnectionMinimumIdleSize(cfg.getSubscriptionConnectionMinimumIdleSize());
@@ -49,6 +49,7 @@ public class SingleEntry extends MasterSlaveEntry {
                 config.getMasterConnectionPoolSize(),
                 config.getSlaveConnectionMinimumIdleSize(),
                 config.getSlaveSubscriptionConnectionPoolSize(), connectionManager, NodeType.MASTER);
+        setupBulkEntry(masterClient);
         final Promise<Void> res = connectionManager.newPromise();
         Future<Void> f = writeConnectionHolder.add(masterEntry);
         Future<Void> s = pubSubConnectionHolder.add(masterEntry);
@@ -0,0 +1,38 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import java.util.EventListener;
+
+/**
+ * Listener for topic messages which can't be queued
+ * because listener queue is full.
+ *
+ * @author Nikita Koksharov
+ *
+ * @see org.redisson.ListenerOverflowPolicy#CALLBACK
+ */
+public interface MessageOverflowListener extends EventListener {
+
+    /**
+     * Invokes on every message rejected by full listener queue
+     *
+     * @param channel
+     * @param msg topic message
+     */
+    void onOverflow(String channel, Object msg);
+
+}
@@ -21,6 +21,7 @@ import org.redisson.client.RedisException;
 import org.redisson.client.codec.Codec;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 /**
  * Interface for using pipeline feature.
@@ -363,4 +364,19 @@ public interface RBatch {
      */
     Future<List<?>> executeAsync();
 
+    /**
+     * Executes all operations accumulated during async methods invocations asynchronously.
+     * <p/>
+     * Operations grouped by Redis node are sent in parallel and <code>nodeListener</code>
+     * is notified with results of each node as soon as this node has replied.
+     * So results from fast nodes could be processed without waiting for slow nodes.
+     * Future of each batched operation is completed as soon as its reply is received.
+     * <p/>
+     * Returned future is completed after all nodes have replied.
+     *
+     * @param nodeListener - notified with result objects list of each node in invocation order
+     * @return List with result object for each command
+     */
+    Future<List<?>> executeAsync(FutureListener<List<?>> nodeListener);
+
 }
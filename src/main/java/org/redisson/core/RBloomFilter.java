@@ -15,6 +15,8 @@
  */
 package org.redisson.core;
 
+import java.util.Collection;
+
 /**
  * Bloom filter based on 64-bit hash derived from 128-bit hash (xxHash + FarmHash).
  *
@@ -28,8 +30,25 @@ public interface RBloomFilter<T> extends RExpirable {
 
     boolean add(T object);
 
+    /**
+     * Adds all objects using one script call per group of objects.
+     * Object hashes are calculated on client side.
+     *
+     * @param objects
+     * @return amount of objects which weren't present in the filter before
+     */
+    int addAll(Collection<? extends T> objects);
+
     boolean contains(T object);
 
+    /**
+     * Checks presence of all objects using one script call per group of objects.
+     *
+     * @param objects
+     * @return <code>true</code> if all objects might be present in the filter
+     */
+    boolean containsAll(Collection<? extends T> objects);
+
     /**
      * Initializes Bloom filter params (size and hashIterations)
      * calculated from <code>expectedInsertions</code> and <code>falseProbability</code>
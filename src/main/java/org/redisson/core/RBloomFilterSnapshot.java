@@ -0,0 +1,63 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Read-only local copy of {@link RBloomFilter} bitmap.
+ * Objects added to the filter after the last refresh aren't visible.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public interface RBloomFilterSnapshot<T> {
+
+    /**
+     * Checks object presence using local bitmap.
+     *
+     * @param object
+     * @return <code>true</code> if object might be added to the filter before the last refresh
+     */
+    boolean contains(T object);
+
+    /**
+     * Downloads bitmap chunks changed since the last refresh.
+     */
+    void refresh();
+
+    /**
+     * Downloads bitmap chunks changed since the last refresh asynchronously.
+     *
+     * @return void
+     */
+    Future<Void> refreshAsync();
+
+    /**
+     * Returns filter version the snapshot corresponds to.
+     * Version is incremented by each add operation.
+     *
+     * @return version
+     */
+    long getVersion();
+
+    /**
+     * Stops automatic refresh.
+     */
+    void close();
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Counter which accumulates deltas locally and adds them
+ * to the {@link RAtomicLong} with single <code>INCRBY</code> command.
+ * Deltas are flushed once accumulated value reaches the threshold or flush interval elapses.
+ * Pending deltas are flushed on Redisson shutdown too.
+ * <p/>
+ * Failed flush is retried after flush interval or, if only threshold is used,
+ * after <code>retryInterval</code> from config. If response timed out
+ * while <code>INCRBY</code> has been executed by Redis then the delta is counted twice.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RBufferedCounter {
+
+    /**
+     * Adds the given value to local buffer.
+     * Doesn't block on Redis.
+     *
+     * @param delta the value to add
+     */
+    void add(long delta);
+
+    /**
+     * Equivalent to {@code add(1)}.
+     */
+    void increment();
+
+    /**
+     * Equivalent to {@code add(-1)}.
+     */
+    void decrement();
+
+    /**
+     * Returns stored value plus local deltas which are not flushed yet.
+     *
+     * @return the current value
+     */
+    long get();
+
+    /**
+     * Returns local deltas which are not flushed yet.
+     *
+     * @return pending value
+     */
+    long getPending();
+
+    /**
+     * Adds all local deltas to the stored value
+     */
+    void flush();
+
+    /**
+     * Adds all local deltas to the stored value asynchronously
+     *
+     * @return void
+     */
+    Future<Void> flushAsync();
+
+    /**
+     * Flushes local deltas and stops accepting new ones
+     */
+    void close();
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Buffers messages published to a topic and sends them in groups.
+ * Buffer is flushed once it reaches the size limit or flush interval elapses.
+ * Messages order is preserved only within single flushed group.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <M> the type of message object
+ */
+public interface RBufferedPublisher<M> {
+
+    /**
+     * Adds message to the buffer. Doesn't block on Redis unless buffer became full
+     * and flush has been triggered.
+     *
+     * @param message
+     */
+    void publish(M message);
+
+    /**
+     * Sends all buffered messages
+     */
+    void flush();
+
+    /**
+     * Sends all buffered messages asynchronously
+     *
+     * @return void
+     */
+    Future<Void> flushAsync();
+
+    /**
+     * Sends all buffered messages and stops accepting new ones
+     */
+    void close();
+
+}
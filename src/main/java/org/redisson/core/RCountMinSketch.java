@@ -0,0 +1,115 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Count-min sketch for approximate frequency counting
+ * with optional tracking of top-K most frequent objects.
+ * Object hashes are calculated on client side, so batch
+ * of updates is applied with single script call.
+ * <p/>
+ * Estimated count is never less than real one and exceeds it by no more than
+ * <code>epsilon * totalCount</code> with probability <code>confidence</code>.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public interface RCountMinSketch<T> extends RExpirable {
+
+    /**
+     * Initializes sketch params (width and depth)
+     * calculated from <code>epsilon</code> and <code>confidence</code>
+     * Stores config to Redis server.
+     *
+     * @param epsilon relative error
+     * @param confidence probability of error bound
+     * @param topK amount of most frequent objects to track, <code>0</code> disables tracking
+     * @return <code>true</code> if sketch initialized
+     *         <code>false</code> if sketch already has been initialized
+     */
+    boolean tryInit(double epsilon, double confidence, int topK);
+
+    /**
+     * Increments object count by one.
+     *
+     * @param object
+     * @return estimated count after increment
+     */
+    long add(T object);
+
+    /**
+     * Increments object count by <code>count</code>.
+     *
+     * @param object
+     * @param count - should be positive
+     * @return estimated count after increment
+     */
+    long add(T object, long count);
+
+    /**
+     * Increments count of each object by one.
+     * Equal objects are aggregated before sending.
+     *
+     * @param objects
+     */
+    void addAll(Collection<? extends T> objects);
+
+    /**
+     * Increments count of each object by mapped value.
+     * All values should be positive.
+     *
+     * @param counts
+     */
+    void addAll(Map<? extends T, Long> counts);
+
+    /**
+     * Returns estimated count of object.
+     *
+     * @param object
+     * @return estimated count
+     */
+    long count(T object);
+
+    /**
+     * Returns tracked most frequent objects with their
+     * estimated counts ordered by count descending.
+     *
+     * @return objects with counts
+     */
+    Map<T, Long> getTopK();
+
+    /**
+     * Adds counters of sketches with specified names to this sketch.
+     * Sketches should have the same width and depth.
+     * Counts of top-K objects from all sketches are re-estimated
+     * by merged counters.
+     * Name of this sketch and repeated names are ignored.
+     * <p/>
+     * In cluster mode all sketches should be placed on the same slot.
+     *
+     * @param names of sketches
+     */
+    void merge(String... names);
+
+    int getWidth();
+
+    int getDepth();
+
+}
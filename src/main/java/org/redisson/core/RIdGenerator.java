@@ -0,0 +1,50 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Generates unique ids using {@link RAtomicLong} with specified name.
+ * Ids are reserved in blocks with single <code>INCRBY</code> command
+ * and handed out locally. Next block is fetched in background
+ * before current one is exhausted.
+ * <p/>
+ * Ids are unique among all generators of the same name but not ordered between them.
+ * Ids left in block are lost if generator is not used anymore.
+ * Generator instance should be reused.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RIdGenerator {
+
+    /**
+     * Returns next unique id.
+     * Blocks only if next block isn't fetched yet.
+     *
+     * @return id
+     */
+    long nextId();
+
+    /**
+     * Returns next unique id asynchronously.
+     *
+     * @return id
+     */
+    Future<Long> nextIdAsync();
+
+}
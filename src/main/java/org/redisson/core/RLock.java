@@ -118,6 +118,15 @@ public interface RLock extends Lock, RExpirable {
     
     Future<Void> unlockAsync();
 
+    /**
+     * Unlocks lock held by specified thread.
+     * Used to release lock from thread other than the owner one.
+     *
+     * @param threadId - id of the owner thread
+     * @return void
+     */
+    Future<Void> unlockAsync(long threadId);
+
     Future<Boolean> tryLockAsync();
 
     Future<Void> lockAsync();
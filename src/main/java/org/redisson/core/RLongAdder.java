@@ -0,0 +1,69 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+/**
+ * Distributed alternative to the {@link java.util.concurrent.atomic.LongAdder}
+ * <p/>
+ * Value is spread over several shards each stored in own key,
+ * so in cluster mode updates are distributed over different slots.
+ * Use it instead of {@link RAtomicLong} for write-heavy counters.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RLongAdder extends RExpirable, RLongAdderAsync {
+
+    /**
+     * Adds the given value to one of shards.
+     *
+     * @param delta the value to add
+     */
+    void add(long delta);
+
+    /**
+     * Equivalent to {@code add(1)}.
+     */
+    void increment();
+
+    /**
+     * Equivalent to {@code add(-1)}.
+     */
+    void decrement();
+
+    /**
+     * Returns the current sum of all shards.
+     * Concurrent updates may be not reflected in result.
+     *
+     * @return the sum
+     */
+    long sum();
+
+    /**
+     * Resets all shards to zero.
+     * Concurrent updates may be not reset.
+     */
+    void reset();
+
+    /**
+     * Returns the current sum of all shards and resets them to zero.
+     * Each shard is read and reset atomically, so no update is lost.
+     *
+     * @return the sum
+     */
+    long sumThenReset();
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import io.netty.util.concurrent.Future;
+
+/**
+ * Async interface for {@link RLongAdder}
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RLongAdderAsync extends RExpirableAsync {
+
+    Future<Void> addAsync(long delta);
+
+    Future<Void> incrementAsync();
+
+    Future<Void> decrementAsync();
+
+    Future<Long> sumAsync();
+
+    Future<Void> resetAsync();
+
+    Future<Long> sumThenResetAsync();
+
+}
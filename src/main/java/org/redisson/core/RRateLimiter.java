@@ -0,0 +1,79 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distributed rate limiter based on token bucket algorithm.
+ * Bucket holds up to <code>rate</code> permits and is refilled
+ * with <code>rate</code> permits per <code>rateInterval</code>.
+ * Refill and acquire are executed atomically by single script call.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RRateLimiter extends RExpirable, RRateLimiterAsync {
+
+    /**
+     * Initializes rate limiter settings only if they weren't set before.
+     *
+     * @param rate amount of permits per <code>rateInterval</code>, also the bucket capacity
+     * @param rateInterval refill interval
+     * @param unit of rateInterval
+     * @return <code>true</code> if settings were set, <code>false</code> if already set
+     */
+    boolean trySetRate(long rate, long rateInterval, TimeUnit unit);
+
+    /**
+     * Acquires a permit only if it's available at the time of invocation.
+     *
+     * @return <code>true</code> if permit has been acquired
+     */
+    boolean tryAcquire();
+
+    /**
+     * Acquires the given number of permits only if all are available at the time of invocation.
+     *
+     * @param permits amount, should not exceed the rate
+     * @return <code>true</code> if permits have been acquired
+     */
+    boolean tryAcquire(long permits);
+
+    /**
+     * Acquires the given number of permits waiting up to the specified time
+     * if they are not available.
+     *
+     * @param permits amount, should not exceed the rate
+     * @param timeout the maximum time to wait
+     * @param unit of timeout
+     * @return <code>true</code> if permits have been acquired
+     */
+    boolean tryAcquire(long permits, long timeout, TimeUnit unit);
+
+    /**
+     * Acquires a permit, waiting until it's available.
+     */
+    void acquire();
+
+    /**
+     * Acquires the given number of permits, waiting until they are available.
+     *
+     * @param permits amount, should not exceed the rate
+     */
+    void acquire(long permits);
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+/**
+ * Counter of events happened during the last time window.
+ * Window is split into fixed amount of time buckets stored in a hash,
+ * so memory usage doesn't depend on events rate.
+ * Window slides by one bucket, so events are counted with bucket precision.
+ * <p/>
+ * Object expires automatically once there were no updates during whole window.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RSlidingWindowCounter extends RObject, RSlidingWindowCounterAsync {
+
+    /**
+     * Adds the given value to the current bucket.
+     *
+     * @param delta the value to add
+     * @return sum of all buckets in the window after update
+     */
+    long addAndGetWindowSum(long delta);
+
+    /**
+     * Equivalent to {@code addAndGetWindowSum(1)}.
+     *
+     * @return sum of all buckets in the window after update
+     */
+    long incrementAndGetWindowSum();
+
+    /**
+     * Returns sum of all buckets in the window.
+     *
+     * @return the sum
+     */
+    long getWindowSum();
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bloom filter stored in single bitmap which could be copied to local snapshot.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T>
+ */
+public interface RSnapshotableBloomFilter<T> extends RBloomFilter<T> {
+
+    /**
+     * Downloads filter bitmap and returns local snapshot of this filter.
+     * Snapshot answers <code>contains</code> requests without Redis calls.
+     * Only bitmap chunks changed since previous refresh are downloaded on refresh.
+     * Changed chunks are tracked by each add operation regardless of snapshots existence.
+     *
+     * @param refreshInterval interval between automatic refreshes, <code>0</code> disables them
+     * @param unit of refreshInterval
+     * @return snapshot
+     */
+    RBloomFilterSnapshot<T> createSnapshot(long refreshInterval, TimeUnit unit);
+
+}
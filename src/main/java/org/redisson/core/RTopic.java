@@ -15,7 +15,9 @@
  */
 package org.redisson.core;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Distributed topic. Messages are delivered to all message listeners across Redis cluster.
@@ -41,6 +43,30 @@ public interface RTopic<M> extends RTopicAsync<M> {
      */
     long publish(M message);
 
+    /**
+     * Publish all messages to subscribers of this topic using single command
+     *
+     * @param messages
+     * @return sum of clients that received each message
+     */
+    long publishAll(Collection<? extends M> messages);
+
+    /**
+     * Creates publisher which buffers messages and sends them to this topic in groups.
+     * <p>
+     * If <code>packMessages</code> is <code>true</code> each group is sent as single
+     * message which is unpacked on subscriber side, so all subscribers
+     * should use Redisson version which supports it.
+     * Otherwise each message is published separately but in single command.
+     *
+     * @param maxMessages - buffer size which triggers flush
+     * @param flushInterval - max time message stays in buffer, <code>0</code> disables time based flush
+     * @param unit - flush interval time unit
+     * @param packMessages - send each group as single message
+     * @return publisher
+     */
+    RBufferedPublisher<M> createBufferedPublisher(int maxMessages, long flushInterval, TimeUnit unit, boolean packMessages);
+
     /**
      * Subscribes to this topic.
      * <code>MessageListener.onMessage</code> is called when any message
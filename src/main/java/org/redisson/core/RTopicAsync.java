@@ -15,6 +15,8 @@
  */
 package org.redisson.core;
 
+import java.util.Collection;
+
 import io.netty.util.concurrent.Future;
 
 /**
@@ -34,4 +36,13 @@ public interface RTopicAsync<M> {
      */
     Future<Long> publishAsync(M message);
 
+    /**
+     * Publish all messages to subscribers of this topic asynchronously
+     * using single command.
+     *
+     * @param messages
+     * @return the <code>Future</code> object with sum of clients that received each message
+     */
+    Future<Long> publishAllAsync(Collection<? extends M> messages);
+
 }
@@ -18,7 +18,7 @@ package org.redisson.core;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -30,12 +30,11 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 
-import org.redisson.RedissonLock;
-
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.PlatformDependent;
 
 /**
  * Groups multiple independent locks and manages them as one lock.
@@ -45,6 +44,11 @@ import io.netty.util.concurrent.Promise;
  */
 public class RedissonMultiLock implements Lock {
 
+    /**
+     * Wait time per lock of each {@link #lock()} round in milliseconds
+     */
+    private static final long LOCK_WAIT_TIME = 1500;
+
     final List<RLock> locks = new ArrayList<RLock>();
     
     /**
@@ -77,14 +81,47 @@ public class RedissonMultiLock implements Lock {
         }
     }
 
+    /**
+     * Acquires locks by rounds of parallel attempts with shared wait time
+     * proportional to locks amount. Locks acquired in failed round are released
+     * before the next round, so locks aren't held while waiting for the rest of them.
+     *
+     * @param leaseTime
+     * @param unit
+     * @throws InterruptedException
+     */
     public void lockInterruptibly(long leaseTime, TimeUnit unit) throws InterruptedException {
-        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        long waitTime = locks.size() * LOCK_WAIT_TIME;
+        long leaseTimeMillis = -1;
+        if (leaseTime != -1) {
+            leaseTimeMillis = unit.toMillis(leaseTime);
+        }
 
-        long currentThreadId = Thread.currentThread().getId();            
-        Queue<RLock> lockedLocks = new ConcurrentLinkedQueue<RLock>();
-        lock(promise, 0, leaseTime, unit, locks, currentThreadId, lockedLocks);
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            try {
+                if (tryLock(waitTime, leaseTimeMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                if (!isLockFailed(e)) {
+                    continue;
+                }
+                throw e;
+            }
+        }
+    }
 
-        promise.sync();
+    /**
+     * Defines whether lock error of failed round breaks {@link #lock()}.
+     *
+     * @param cause
+     * @return <code>true</code> if error should be thrown
+     */
+    protected boolean isLockFailed(Throwable cause) {
+        return true;
     }
 
     @Override
@@ -92,143 +129,127 @@ public class RedissonMultiLock implements Lock {
         lockInterruptibly(-1, null);
     }
 
-    private void lock(final Promise<Void> promise, final long waitTime, final long leaseTime, final TimeUnit unit, 
-                        final List<RLock> locks, final long currentThreadId, final Queue<RLock> lockedLocks) throws InterruptedException {
-        final AtomicInteger tryLockRequestsAmount = new AtomicInteger();
-        final Map<Future<Boolean>, RLock> tryLockFutures = new HashMap<Future<Boolean>, RLock>(locks.size());
-
-        FutureListener<Boolean> listener = new FutureListener<Boolean>() {
-
-            AtomicReference<RLock> lockedLockHolder = new AtomicReference<RLock>();
-            AtomicReference<Throwable> failed = new AtomicReference<Throwable>();
+    @Override
+    public boolean tryLock() {
+        Map<RLock, Future<Boolean>> tryLockFutures = new LinkedHashMap<RLock, Future<Boolean>>(locks.size());
+        for (RLock lock : locks) {
+            tryLockFutures.put(lock, lock.tryLockAsync());
+        }
 
-            @Override
-            public void operationComplete(final Future<Boolean> future) throws Exception {
-                if (isLockFailed(future)) {
-                    failed.compareAndSet(null, future.cause());
-                }
+        return sync(tryLockFutures, Thread.currentThread().getId());
+    }
 
-                Boolean res = future.getNow();
-                if (res != null) {
-                    RLock lock = tryLockFutures.get(future);
-                    if (res) {
+    /**
+     * Waits for lock attempts issued in parallel. Returns as soon as
+     * required amount of locks can't be acquired anymore.
+     * Acquired locks are released in parallel if result is negative,
+     * attempts which are still in progress release their lock on completion.
+     *
+     * @param tryLockFutures
+     * @param threadId
+     * @return <code>true</code> if required amount of locks has been acquired
+     */
+    protected boolean sync(Map<RLock, Future<Boolean>> tryLockFutures, final long threadId) {
+        final int allowedFailures = tryLockFutures.size() - minLocksAmount(locks);
+        final Promise<Boolean> result = ImmediateEventExecutor.INSTANCE.newPromise();
+        final AtomicInteger pendingAmount = new AtomicInteger(tryLockFutures.size());
+        final AtomicInteger failedAmount = new AtomicInteger();
+        final AtomicReference<Throwable> latestCause = new AtomicReference<Throwable>();
+        final Queue<RLock> lockedLocks = new ConcurrentLinkedQueue<RLock>();
+
+        for (final Entry<RLock, Future<Boolean>> entry : tryLockFutures.entrySet()) {
+            entry.getValue().addListener(new FutureListener<Boolean>() {
+                @Override
+                public void operationComplete(Future<Boolean> future) throws Exception {
+                    RLock lock = entry.getKey();
+                    if (future.isSuccess() && future.getNow()) {
                         lockedLocks.add(lock);
+                        // result is already negative and locks have been released
+                        if (result.isDone() && !result.getNow() && lockedLocks.remove(lock)) {
+                            lock.unlockAsync(threadId);
+                        }
                     } else {
-                        lockedLockHolder.compareAndSet(null, lock);
-                    }
-                }
-
-                if (tryLockRequestsAmount.decrementAndGet() == 0) {
-                    if (isAllLocksAcquired(lockedLockHolder, failed, lockedLocks)) {
-                        promise.setSuccess(null);
-                        return;
+                        if (!future.isSuccess()) {
+                            latestCause.set(future.cause());
+                        }
+                        if (failedAmount.incrementAndGet() > allowedFailures) {
+                            result.trySuccess(false);
+                        }
                     }
 
-                    if (lockedLocks.isEmpty()) {
-                        tryLockAgain(promise, waitTime, leaseTime, unit, currentThreadId, tryLockFutures);
-                        return;
-                    }
-                    
-                    final AtomicInteger locksToUnlockAmount = new AtomicInteger(lockedLocks.size());
-                    for (RLock lock : lockedLocks) {
-                        lock.unlockAsync().addListener(new FutureListener<Void>() {
-                            @Override
-                            public void operationComplete(Future<Void> future) throws Exception {
-                                if (locksToUnlockAmount.decrementAndGet() == 0) {
-                                    tryLockAgain(promise, waitTime, leaseTime, unit, currentThreadId, tryLockFutures);
-                                }
-                            }
-                        });
+                    if (pendingAmount.decrementAndGet() == 0) {
+                        result.trySuccess(true);
                     }
                 }
-            }
+            });
+        }
 
-            protected void tryLockAgain(final Promise<Void> promise, final long waitTime, final long leaseTime,
-                    final TimeUnit unit, final long currentThreadId, final Map<Future<Boolean>, RLock> tryLockFutures) throws InterruptedException {
-                lockedLocks.clear();
-                if (failed.get() != null) {
-                    promise.setFailure(failed.get());
-                } else if (lockedLockHolder.get() != null) {
-                    final RedissonLock lockedLock = (RedissonLock) lockedLockHolder.get();
-                    lockedLock.lockAsync(leaseTime, unit, currentThreadId).addListener(new FutureListener<Void>() {
-                        @Override
-                        public void operationComplete(Future<Void> future) throws Exception {
-                            if (!future.isSuccess()) {
-                                promise.setFailure(future.cause());
-                                return;
-                            }
-                            
-                            lockedLocks.add(lockedLock);
-                            List<RLock> newLocks = new ArrayList<RLock>(tryLockFutures.values());
-                            newLocks.remove(lockedLock);
-                            lock(promise, waitTime, leaseTime, unit, newLocks, currentThreadId, lockedLocks);
-                        }
-                    });
-                } else {
-                    lock(promise, waitTime, leaseTime, unit, locks, currentThreadId, lockedLocks);
-                }
-            }
-        };
+        if (result.awaitUninterruptibly().getNow()) {
+            return true;
+        }
 
-        for (RLock lock : locks) {
-            tryLockRequestsAmount.incrementAndGet();
-            Future<Boolean> future;
-            if (waitTime > 0 || leaseTime > 0) {
-                future = ((RedissonLock)lock).tryLockAsync(waitTime, leaseTime, unit, currentThreadId);
-            } else {
-                future = ((RedissonLock)lock).tryLockAsync(currentThreadId);
+        List<RLock> locksToUnlock = new ArrayList<RLock>(lockedLocks.size());
+        while (true) {
+            RLock lock = lockedLocks.poll();
+            if (lock == null) {
+                break;
             }
-            tryLockFutures.put(future, lock);
+            locksToUnlock.add(lock);
         }
+        unlockInner(locksToUnlock, threadId);
 
-        for (Future<Boolean> future : tryLockFutures.keySet()) {
-            future.addListener(listener);
+        if (latestCause.get() != null) {
+            PlatformDependent.throwException(latestCause.get());
         }
+        return false;
     }
 
-    @Override
-    public boolean tryLock() {
-        Map<RLock, Future<Boolean>> tryLockFutures = new HashMap<RLock, Future<Boolean>>(locks.size());
-        for (RLock lock : locks) {
-            tryLockFutures.put(lock, lock.tryLockAsync());
-        }
+    protected int minLocksAmount(final List<RLock> locks) {
+        return locks.size();
+    }
 
-        return sync(tryLockFutures);
+    protected void unlockInner(Collection<RLock> locks, long threadId) {
+        unlockInnerAsync(locks, threadId).awaitUninterruptibly();
     }
 
-    protected boolean sync(Map<RLock, Future<Boolean>> tryLockFutures) {
-        List<RLock> lockedLocks = new ArrayList<RLock>(tryLockFutures.size());
-        RuntimeException latestException = null;
-        for (Entry<RLock, Future<Boolean>> entry : tryLockFutures.entrySet()) {
-            try {
-                if (entry.getValue().syncUninterruptibly().getNow()) {
-                    lockedLocks.add(entry.getKey());
-                }
-            } catch (RuntimeException e) {
-                latestException = e;
-            }
+    /**
+     * Unlocks locks in parallel.
+     *
+     * @param locks
+     * @param threadId
+     * @return future completed once all locks have been unlocked,
+     *         failed with the latest unlock error if any
+     */
+    protected Future<Void> unlockInnerAsync(Collection<RLock> locks, long threadId) {
+        final Promise<Void> result = ImmediateEventExecutor.INSTANCE.newPromise();
+        if (locks.isEmpty()) {
+            result.setSuccess(null);
+            return result;
         }
-        
-        if (lockedLocks.size() < tryLockFutures.size()) {
-            unlockInner(lockedLocks);
-            if (latestException != null) {
-                throw latestException;
+
+        final AtomicInteger pendingAmount = new AtomicInteger(locks.size());
+        final AtomicReference<Throwable> latestCause = new AtomicReference<Throwable>();
+        FutureListener<Void> listener = new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    latestCause.set(future.cause());
+                }
+
+                if (pendingAmount.decrementAndGet() == 0) {
+                    if (latestCause.get() != null) {
+                        result.setFailure(latestCause.get());
+                    } else {
+                        result.setSuccess(null);
+                    }
+                }
             }
-            return false;
-        }
-        
-        return true;
-    }
+        };
 
-    protected void unlockInner(Collection<RLock> locks) {
-        List<Future<Void>> futures = new ArrayList<Future<Void>>(locks.size());
         for (RLock lock : locks) {
-            futures.add(lock.unlockAsync());
-        }
-
-        for (Future<Void> unlockFuture : futures) {
-            unlockFuture.awaitUninterruptibly();
+            lock.unlockAsync(threadId).addListener(listener);
         }
+        return result;
     }
 
     @Override
@@ -237,26 +258,18 @@ public class RedissonMultiLock implements Lock {
     }
 
     public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
-        Map<RLock, Future<Boolean>> tryLockFutures = new HashMap<RLock, Future<Boolean>>(locks.size());
+        Map<RLock, Future<Boolean>> tryLockFutures = new LinkedHashMap<RLock, Future<Boolean>>(locks.size());
         for (RLock lock : locks) {
             tryLockFutures.put(lock, lock.tryLockAsync(waitTime, leaseTime, unit));
         }
 
-        return sync(tryLockFutures);
+        return sync(tryLockFutures, Thread.currentThread().getId());
     }
 
 
     @Override
     public void unlock() {
-        List<Future<Void>> futures = new ArrayList<Future<Void>>(locks.size());
-
-        for (RLock lock : locks) {
-            futures.add(lock.unlockAsync());
-        }
-
-        for (Future<Void> future : futures) {
-            future.syncUninterruptibly();
-        }
+        unlockInnerAsync(locks, Thread.currentThread().getId()).syncUninterruptibly();
     }
 
 
@@ -265,12 +278,4 @@ public class RedissonMultiLock implements Lock {
         throw new UnsupportedOperationException();
     }
 
-    protected boolean isLockFailed(Future<Boolean> future) {
-        return !future.isSuccess();
-    }
-
-    protected boolean isAllLocksAcquired(AtomicReference<RLock> lockedLockHolder, AtomicReference<Throwable> failed, Queue<RLock> lockedLocks) {
-        return lockedLockHolder.get() == null && failed.get() == null;
-    }
-
 }
@@ -15,14 +15,10 @@
  */
 package org.redisson.core;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Queue;
-import java.util.concurrent.atomic.AtomicReference;
 
-import io.netty.util.concurrent.Future;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.client.RedisTimeoutException;
 
 /**
  * RedLock locking algorithm implementation for multiple locks. 
@@ -45,47 +41,23 @@ public class RedissonRedLock extends RedissonMultiLock {
         super(locks);
     }
     
-    protected boolean sync(Map<RLock, Future<Boolean>> tryLockFutures) {
-        List<RLock> lockedLocks = new ArrayList<RLock>(tryLockFutures.size());
-        RuntimeException latestException = null;
-        for (Entry<RLock, Future<Boolean>> entry : tryLockFutures.entrySet()) {
-            try {
-                if (entry.getValue().syncUninterruptibly().getNow()) {
-                    lockedLocks.add(entry.getKey());
-                }
-            } catch (RuntimeException e) {
-                latestException = e;
-            }
-        }
-        
-        if (lockedLocks.size() < minLocksAmount(locks)) {
-            unlockInner(lockedLocks);
-            if (latestException != null) {
-                throw latestException;
-            }
-            return false;
-        }
-        
-        return true;
-    }
-
+    @Override
     protected int minLocksAmount(final List<RLock> locks) {
         return locks.size()/2 + 1;
     }
 
+    /**
+     * Unreachable nodes are treated as unavailable, so {@link #lock()} keeps retrying.
+     */
     @Override
-    public void unlock() {
-        unlockInner(locks);
+    protected boolean isLockFailed(Throwable cause) {
+        return !(cause instanceof RedisConnectionException)
+                && !(cause instanceof RedisTimeoutException);
     }
 
     @Override
-    protected boolean isLockFailed(Future<Boolean> future) {
-        return false;
-    }
-    
-    @Override
-    protected boolean isAllLocksAcquired(AtomicReference<RLock> lockedLockHolder, AtomicReference<Throwable> failed, Queue<RLock> lockedLocks) {
-        return (lockedLockHolder.get() == null && failed.get() == null) || lockedLocks.size() >= minLocksAmount(locks);
+    public void unlock() {
+        unlockInner(locks, Thread.currentThread().getId());
     }
-    
+
 }
@@ -87,10 +87,22 @@ public class InfinitySemaphoreLatch extends AbstractQueuedSynchronizer {
         closed = true;        
     }
     
+    /**
+     * @return amount of currently acquired resources
+     */
+    public int getAcquiredAmount() {
+        return sharedResources.get();
+    }
+
     // waiting for an open state
     public final boolean awaitUninterruptibly() {
+        return awaitUninterruptibly(15, TimeUnit.SECONDS);
+    }
+
+    // waiting for an open state
+    public final boolean awaitUninterruptibly(long time, TimeUnit unit) {
         try {
-            return await(15, TimeUnit.SECONDS);
+            return await(time, unit);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return false;
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.pubsub;
+
+import java.util.LinkedList;
+import java.util.Queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Semaphore which never parks the thread in {@link #acquire(Runnable)}.
+ * Listener is invoked once the permit is granted and should call
+ * {@link #release()} after it has done its work.
+ * <p/>
+ * Waiting listeners are invoked in FIFO order by the thread which released the permit.
+ * Nested releases made by invoked listeners are handled in a loop, so long
+ * waiting queues don't grow the stack. Listener failure is logged and
+ * its permit is returned, so other waiting listeners aren't stuck.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class AsyncSemaphore {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncSemaphore.class);
+
+    private int counter;
+    private boolean draining;
+    private final Queue<Runnable> listeners = new LinkedList<Runnable>();
+
+    public AsyncSemaphore(int permits) {
+        counter = permits;
+    }
+
+    public void acquire(Runnable listener) {
+        synchronized (this) {
+            if (counter == 0 || draining) {
+                listeners.add(listener);
+                return;
+            }
+            counter--;
+        }
+        listener.run();
+    }
+
+    public void release() {
+        synchronized (this) {
+            counter++;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+
+        while (true) {
+            Runnable listener;
+            synchronized (this) {
+                if (counter == 0 || listeners.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                counter--;
+                listener = listeners.poll();
+            }
+
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                // permit is returned and the rest of listeners are still invoked
+                log.error("Can't execute semaphore listener", e);
+                synchronized (this) {
+                    counter++;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.pubsub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Topic codec which understands {@link MessageEnvelope}.
+ * Envelope is written as marker followed by messages encoded with inner <code>Codec</code>,
+ * any other payload is handled by inner <code>Codec</code> as is.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class EnvelopeCodec implements Codec {
+
+    private static final byte[] MARKER = new byte[] {0, 'R', 'E', 'N', 'V', 0};
+
+    private final Codec innerCodec;
+
+    public EnvelopeCodec(Codec innerCodec) {
+        this.innerCodec = innerCodec;
+    }
+
+    private final Decoder<Object> decoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            if (!isEnvelope(buf)) {
+                return innerCodec.getValueDecoder().decode(buf, state);
+            }
+
+            buf.skipBytes(MARKER.length);
+            int size = buf.readInt();
+            List<Object> messages = new ArrayList<Object>(size);
+            for (int i = 0; i < size; i++) {
+                int length = buf.readInt();
+                ByteBuf frame = buf.readSlice(length);
+                messages.add(innerCodec.getValueDecoder().decode(frame, state));
+            }
+            return new MessageEnvelope(messages);
+        }
+    };
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public byte[] encode(Object in) throws IOException {
+            if (!(in instanceof MessageEnvelope)) {
+                return innerCodec.getValueEncoder().encode(in);
+            }
+
+            List<Object> messages = ((MessageEnvelope) in).getMessages();
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(result);
+            out.write(MARKER);
+            out.writeInt(messages.size());
+            for (Object message : messages) {
+                byte[] frame = innerCodec.getValueEncoder().encode(message);
+                out.writeInt(frame.length);
+                out.write(frame);
+            }
+            out.flush();
+            return result.toByteArray();
+        }
+    };
+
+    /**
+     * Payload is treated as envelope only if it starts with marker
+     * and declared messages amount and frame lengths exactly match payload size.
+     * Otherwise it's passed to inner <code>Codec</code>.
+     */
+    private boolean isEnvelope(ByteBuf buf) {
+        int start = buf.readerIndex();
+        int end = buf.writerIndex();
+        if (end - start < MARKER.length + 4) {
+            return false;
+        }
+        for (int i = 0; i < MARKER.length; i++) {
+            if (buf.getByte(start + i) != MARKER[i]) {
+                return false;
+            }
+        }
+
+        int index = start + MARKER.length;
+        int size = buf.getInt(index);
+        index += 4;
+        if (size < 0) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (end - index < 4) {
+                return false;
+            }
+            int length = buf.getInt(index);
+            index += 4;
+            if (length < 0 || end - index < length) {
+                return false;
+            }
+            index += length;
+        }
+        return index == end;
+    }
+
+    @Override
+    public Decoder<Object> getMapValueDecoder() {
+        return innerCodec.getMapValueDecoder();
+    }
+
+    @Override
+    public Encoder getMapValueEncoder() {
+        return innerCodec.getMapValueEncoder();
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return innerCodec.getMapKeyDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return innerCodec.getMapKeyEncoder();
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public int hashCode() {
+        return innerCodec.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return innerCodec.equals(((EnvelopeCodec) obj).innerCodec);
+    }
+
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.pubsub;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.redisson.ListenerOverflowPolicy;
+import org.redisson.client.RedisPubSubConnection;
+import org.redisson.core.MessageListener;
+import org.redisson.core.MessageOverflowListener;
+import org.redisson.core.PatternMessageListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Moves topic listeners invocation from connection thread to supplied executor.
+ * Each listener gets own bounded queue processed sequentially,
+ * so messages are delivered in the same order they were received.
+ * Connection thread is never blocked, with <code>BLOCK</code> policy
+ * reading from connection is paused until listener queue is half drained.
+ * Paused connection doesn't deliver lock, semaphore and latch notifications either.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class MessageDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageDispatcher.class);
+
+    private class ListenerQueue implements Runnable {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Set<RedisPubSubConnection> pausedConnections = Collections.newSetFromMap(PlatformDependent.<RedisPubSubConnection, Boolean>newConcurrentHashMap());
+
+        public void add(String channel, Object msg, Runnable task) {
+            if (size.get() >= queueSize) {
+                if (policy == ListenerOverflowPolicy.DROP_OLDEST) {
+                    while (size.get() >= queueSize && poll() != null) {
+                    }
+                } else if (policy == ListenerOverflowPolicy.BLOCK) {
+                    pauseReading();
+                } else {
+                    schedule();
+                    if (overflowListener != null) {
+                        overflowListener.onOverflow(channel, msg);
+                    }
+                    return;
+                }
+            }
+
+            queue.add(task);
+            size.incrementAndGet();
+            schedule();
+        }
+
+        private Runnable poll() {
+            Runnable task = queue.poll();
+            if (task != null) {
+                size.decrementAndGet();
+            }
+            return task;
+        }
+
+        /**
+         * Messages already decoded from connection buffer are still queued,
+         * so queue could exceed its size a bit while reading is paused.
+         */
+        private void pauseReading() {
+            RedisPubSubConnection connection = RedisPubSubConnection.getDeliveringConnection();
+            if (connection != null && pausedConnections.add(connection)) {
+                connection.pauseReading();
+            }
+        }
+
+        private void resumeReading() {
+            for (RedisPubSubConnection connection : pausedConnections) {
+                if (pausedConnections.remove(connection)) {
+                    connection.resumeReading();
+                }
+            }
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                log.error("Can't dispatch topic messages", e);
+            }
+        }
+
+        @Override
+        public void run() {
+            // limit messages processed at once to let other listeners use executor thread
+            for (int i = 0; i < queueSize; i++) {
+                Runnable task = poll();
+                if (task == null) {
+                    break;
+                }
+
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Can't handle topic message", e);
+                }
+            }
+
+            scheduled.set(false);
+            if (!pausedConnections.isEmpty() && size.get() <= queueSize / 2) {
+                resumeReading();
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+    }
+
+    private final Executor executor;
+    private final int queueSize;
+    private final ListenerOverflowPolicy policy;
+    private final MessageOverflowListener overflowListener;
+
+    public MessageDispatcher(Executor executor, int queueSize, ListenerOverflowPolicy policy, MessageOverflowListener overflowListener) {
+        this.executor = executor;
+        this.queueSize = queueSize;
+        this.policy = policy;
+        this.overflowListener = overflowListener;
+    }
+
+    public <M> MessageListener<M> wrap(final MessageListener<M> listener) {
+        if (executor == null) {
+            return listener;
+        }
+
+        final ListenerQueue queue = new ListenerQueue();
+        return new MessageListener<M>() {
+            @Override
+            public void onMessage(final String channel, final M msg) {
+                queue.add(channel, msg, new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onMessage(channel, msg);
+                    }
+                });
+            }
+        };
+    }
+
+    public <M> PatternMessageListener<M> wrap(final PatternMessageListener<M> listener) {
+        if (executor == null) {
+            return listener;
+        }
+
+        final ListenerQueue queue = new ListenerQueue();
+        return new PatternMessageListener<M>() {
+            @Override
+            public void onMessage(final String pattern, final String channel, final M msg) {
+                queue.add(channel, msg, new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onMessage(pattern, channel, msg);
+                    }
+                });
+            }
+        };
+    }
+
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.pubsub;
+
+import java.util.List;
+
+/**
+ * Several topic messages packed into a single published payload.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class MessageEnvelope {
+
+    private final List<Object> messages;
+
+    public MessageEnvelope(List<Object> messages) {
+        this.messages = messages;
+    }
+
+    public List<Object> getMessages() {
+        return messages;
+    }
+
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.pubsub;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.redisson.client.BaseRedisPubSubListener;
+import org.redisson.client.RedisPubSubListener;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.PubSubConnectionEntry;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Multiplexes lock, semaphore and countdownlatch notifications
+ * over fixed amount of shared channels.
+ * <p/>
+ * Each notification is published to shared channel as <code>channelName:message</code>
+ * and dispatched locally to listener registered for <code>channelName</code>.
+ * Shared channel is chosen by hash tag of <code>channelName</code> thus
+ * fair lock per-thread channels share the same shared channel with their lock.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class NotificationChannels {
+
+    public static final String PREFIX = "redisson__notification:";
+
+    /**
+     * Lua function used by scripts instead of direct <code>publish</code> call.
+     * Last script argument should be a result of {@link #getPublishChannel(String)}.
+     */
+    public static final String NOTIFY_FUNCTION =
+              "local function notify(channel, message) "
+                + "if ARGV[#ARGV] == '' then "
+                    + "redis.call('publish', channel, message); "
+                + "else "
+                    + "redis.call('publish', ARGV[#ARGV], channel .. ':' .. message); "
+                + "end; "
+            + "end; ";
+
+    private final ConcurrentMap<String, RedisPubSubListener<Object>> listeners = PlatformDependent.newConcurrentHashMap();
+    private final ConcurrentMap<String, Promise<Void>> subscriptions = PlatformDependent.newConcurrentHashMap();
+
+    private final ConnectionManager connectionManager;
+    private final int size;
+
+    private final RedisPubSubListener<Object> sharedListener = new BaseRedisPubSubListener() {
+
+        @Override
+        public void onMessage(String channel, Object message) {
+            if (!channel.startsWith(PREFIX)) {
+                return;
+            }
+
+            String value = (String) message;
+            int index = value.lastIndexOf(':');
+            if (index == -1) {
+                return;
+            }
+
+            String channelName = value.substring(0, index);
+            RedisPubSubListener<Object> listener = listeners.get(channelName);
+            if (listener == null) {
+                return;
+            }
+
+            Long notification;
+            try {
+                notification = Long.valueOf(value.substring(index + 1));
+            } catch (NumberFormatException e) {
+                // message published by someone else
+                return;
+            }
+            listener.onMessage(channelName, notification);
+        }
+
+    };
+
+    public NotificationChannels(ConnectionManager connectionManager, int size) {
+        this.connectionManager = connectionManager;
+        this.size = size;
+    }
+
+    public boolean isEnabled() {
+        return size > 0;
+    }
+
+    /**
+     * Returns shared channel name used to publish notifications of <code>channelName</code>
+     * or empty string if shared channels are disabled.
+     *
+     * @param channelName
+     * @return
+     */
+    public String getPublishChannel(String channelName) {
+        if (!isEnabled()) {
+            return "";
+        }
+
+        String tag = channelName;
+        int start = channelName.indexOf('{');
+        if (start != -1) {
+            int end = channelName.indexOf('}', start + 1);
+            if (end > start + 1) {
+                tag = channelName.substring(start + 1, end);
+            }
+        }
+        return PREFIX + Math.abs(tag.hashCode() % size);
+    }
+
+    public Future<Void> addListener(String channelName, RedisPubSubListener<Object> listener) {
+        listeners.put(channelName, listener);
+
+        final String sharedChannel = getPublishChannel(channelName);
+        Promise<Void> promise = subscriptions.get(sharedChannel);
+        if (promise != null) {
+            return promise;
+        }
+
+        final Promise<Void> newPromise = connectionManager.newPromise();
+        promise = subscriptions.putIfAbsent(sharedChannel, newPromise);
+        if (promise != null) {
+            return promise;
+        }
+
+        // semaphore is acquired asynchronously, so it's safe
+        // even if the same stripe is held by caller
+        final AsyncSemaphore semaphore = connectionManager.getSemaphore(sharedChannel);
+        semaphore.acquire(new Runnable() {
+            @Override
+            public void run() {
+                Future<PubSubConnectionEntry> future = connectionManager.subscribe(StringCodec.INSTANCE, sharedChannel, sharedListener, semaphore);
+                future.addListener(new FutureListener<PubSubConnectionEntry>() {
+                    @Override
+                    public void operationComplete(Future<PubSubConnectionEntry> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            subscriptions.remove(sharedChannel, newPromise);
+                            newPromise.tryFailure(future.cause());
+                            return;
+                        }
+                        newPromise.trySuccess(null);
+                    }
+                });
+            }
+        });
+        return newPromise;
+    }
+
+    public void removeListener(String channelName) {
+        listeners.remove(channelName);
+    }
+
+}
@@ -16,7 +16,6 @@
 package org.redisson.pubsub;
 
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Semaphore;
 
 import org.redisson.PubSubEntry;
 import org.redisson.client.BaseRedisPubSubListener;
@@ -26,6 +25,7 @@ import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.connection.ConnectionManager;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.PlatformDependent;
 
@@ -33,49 +33,105 @@ abstract class PublishSubscribe<E extends PubSubEntry<E>> {
 
     private final ConcurrentMap<String, E> entries = PlatformDependent.newConcurrentHashMap();
 
-    public void unsubscribe(E entry, String entryName, String channelName, ConnectionManager connectionManager) {
-        Semaphore semaphore = connectionManager.getSemaphore(channelName);
-        semaphore.acquireUninterruptibly();
-        if (entry.release() == 0) {
-            // just an assertion
-            boolean removed = entries.remove(entryName) == entry;
-            if (!removed) {
-                throw new IllegalStateException();
+    public void unsubscribe(final E entry, final String entryName, final String channelName, final ConnectionManager connectionManager) {
+        final AsyncSemaphore semaphore = connectionManager.getSemaphore(channelName);
+        semaphore.acquire(new Runnable() {
+            @Override
+            public void run() {
+                if (entry.release() == 0) {
+                    // just an assertion
+                    boolean removed = entries.remove(entryName) == entry;
+                    if (!removed) {
+                        throw new IllegalStateException();
+                    }
+                    NotificationChannels notificationChannels = connectionManager.getNotificationChannels();
+                    if (notificationChannels.isEnabled()) {
+                        notificationChannels.removeListener(channelName);
+                        semaphore.release();
+                    } else {
+                        connectionManager.unsubscribe(channelName, semaphore);
+                    }
+                } else {
+                    semaphore.release();
+                }
             }
-            connectionManager.unsubscribe(channelName, semaphore);
-        } else {
-            semaphore.release();
-        }
+        });
     }
 
     public E getEntry(String entryName) {
         return entries.get(entryName);
     }
 
-    public Future<E> subscribe(String entryName, String channelName, ConnectionManager connectionManager) {
-        Semaphore semaphore = connectionManager.getSemaphore(channelName);
-        semaphore.acquireUninterruptibly();
-            E entry = entries.get(entryName);
-            if (entry != null) {
-                entry.aquire();
-                semaphore.release();
-                return entry.getPromise();
+    public Future<E> subscribe(final String entryName, final String channelName, final ConnectionManager connectionManager) {
+        final Promise<E> result = connectionManager.newPromise();
+        final AsyncSemaphore semaphore = connectionManager.getSemaphore(channelName);
+        semaphore.acquire(new Runnable() {
+            @Override
+            public void run() {
+                E entry = entries.get(entryName);
+                if (entry != null) {
+                    entry.aquire();
+                    semaphore.release();
+                    transfer(entry.getPromise(), result);
+                    return;
+                }
+
+                Promise<E> newPromise = connectionManager.newPromise();
+                E value = createEntry(newPromise);
+                value.aquire();
+
+                E oldValue = entries.putIfAbsent(entryName, value);
+                if (oldValue != null) {
+                    oldValue.aquire();
+                    semaphore.release();
+                    transfer(oldValue.getPromise(), result);
+                    return;
+                }
+
+                transfer(newPromise, result);
+                RedisPubSubListener<Object> listener = createListener(channelName, value);
+                NotificationChannels notificationChannels = connectionManager.getNotificationChannels();
+                if (notificationChannels.isEnabled()) {
+                    subscribeShared(notificationChannels, entryName, channelName, listener, value);
+                    semaphore.release();
+                    return;
+                }
+
+                connectionManager.subscribe(LongCodec.INSTANCE, channelName, listener, semaphore);
+            }
+        });
+        return result;
+    }
+
+    private void transfer(Future<E> source, final Promise<E> dest) {
+        source.addListener(new FutureListener<E>() {
+            @Override
+            public void operationComplete(Future<E> future) throws Exception {
+                if (!future.isSuccess()) {
+                    dest.tryFailure(future.cause());
+                    return;
+                }
+                dest.trySuccess(future.getNow());
             }
-            
-            Promise<E> newPromise = connectionManager.newPromise();
-            E value = createEntry(newPromise);
-            value.aquire();
-            
-            E oldValue = entries.putIfAbsent(entryName, value);
-            if (oldValue != null) {
-                oldValue.aquire();
-                semaphore.release();
-                return oldValue.getPromise();
+        });
+    }
+
+    private void subscribeShared(final NotificationChannels notificationChannels, final String entryName, final String channelName,
+            RedisPubSubListener<Object> listener, final E value) {
+        Future<Void> future = notificationChannels.addListener(channelName, listener);
+        future.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    if (entries.remove(entryName, value)) {
+                        notificationChannels.removeListener(channelName);
+                    }
+                    value.getPromise().tryFailure(future.cause());
+                    return;
+                }
+                value.getPromise().trySuccess(value);
             }
-            
-            RedisPubSubListener<Object> listener = createListener(channelName, value);
-            connectionManager.subscribe(LongCodec.INSTANCE, channelName, listener, semaphore);
-            return newPromise;
+        });
     }
 
     protected abstract E createEntry(Promise<E> newPromise);
@@ -48,7 +48,7 @@ public class RedissonBatchReactive implements RBatchReactive {
 
     public RedissonBatchReactive(EvictionScheduler evictionScheduler, ConnectionManager connectionManager) {
         this.evictionScheduler = evictionScheduler;
-        this.executorService = new CommandBatchService(connectionManager);
+        this.executorService = new CommandBatchService(connectionManager, true);
     }
 
     @Override
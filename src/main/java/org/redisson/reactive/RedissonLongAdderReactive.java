@@ -0,0 +1,100 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.reactive;
+
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Publisher;
+import org.redisson.RedissonLongAdder;
+import org.redisson.api.RLongAdderReactive;
+import org.redisson.command.CommandReactiveExecutor;
+
+/**
+ * Distributed alternative to the {@link java.util.concurrent.atomic.LongAdder}
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonLongAdderReactive extends RedissonExpirableReactive implements RLongAdderReactive {
+
+    private final RedissonLongAdder instance;
+
+    public RedissonLongAdderReactive(CommandReactiveExecutor commandExecutor, String name, int shards) {
+        super(commandExecutor, name);
+        this.instance = new RedissonLongAdder(commandExecutor, name, shards);
+    }
+
+    @Override
+    public Publisher<Void> add(long delta) {
+        return reactive(instance.addAsync(delta));
+    }
+
+    @Override
+    public Publisher<Void> increment() {
+        return reactive(instance.incrementAsync());
+    }
+
+    @Override
+    public Publisher<Void> decrement() {
+        return reactive(instance.decrementAsync());
+    }
+
+    @Override
+    public Publisher<Long> sum() {
+        return reactive(instance.sumAsync());
+    }
+
+    @Override
+    public Publisher<Void> reset() {
+        return reactive(instance.resetAsync());
+    }
+
+    @Override
+    public Publisher<Long> sumThenReset() {
+        return reactive(instance.sumThenResetAsync());
+    }
+
+    @Override
+    public Publisher<Boolean> delete() {
+        return reactive(instance.deleteAsync());
+    }
+
+    @Override
+    public Publisher<Boolean> isExists() {
+        return reactive(instance.isExistsAsync());
+    }
+
+    @Override
+    public Publisher<Boolean> expire(long timeToLive, TimeUnit timeUnit) {
+        return reactive(instance.expireAsync(timeToLive, timeUnit));
+    }
+
+    @Override
+    public Publisher<Boolean> expireAt(long timestamp) {
+        return reactive(instance.expireAtAsync(timestamp));
+    }
+
+    @Override
+    public Publisher<Boolean> clearExpire() {
+        return reactive(instance.clearExpireAsync());
+    }
+
+    @Override
+    public Publisher<Long> remainTimeToLive() {
+        return reactive(instance.remainTimeToLiveAsync());
+    }
+
+}
@@ -17,7 +17,6 @@ package org.redisson.reactive;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Semaphore;
 
 import org.reactivestreams.Publisher;
 import org.redisson.PubSubPatternMessageListener;
@@ -25,6 +24,7 @@ import org.redisson.PubSubPatternStatusListener;
 import org.redisson.api.RPatternTopicReactive;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.command.CommandReactiveExecutor;
 import org.redisson.connection.PubSubConnectionEntry;
 import org.redisson.core.PatternMessageListener;
@@ -67,7 +67,7 @@ public class RedissonPatternTopicReactive<M> implements RPatternTopicReactive<M>
     @Override
     public Publisher<Integer> addListener(PatternMessageListener<M> listener) {
         Promise<Integer> promise = commandExecutor.getConnectionManager().newPromise();
-        PubSubPatternMessageListener<M> pubSubListener = new PubSubPatternMessageListener<M>(listener, name);
+        PubSubPatternMessageListener<M> pubSubListener = new PubSubPatternMessageListener<M>(commandExecutor.getConnectionManager().getMessageDispatcher().wrap(listener), name);
         addListener(pubSubListener, promise);
         return new NettyFuturePublisher<Integer>(promise);
     }
@@ -89,21 +89,7 @@ public class RedissonPatternTopicReactive<M> implements RPatternTopicReactive<M>
 
     @Override
     public void removeListener(int listenerId) {
-        Semaphore semaphore = commandExecutor.getConnectionManager().getSemaphore(name);
-        semaphore.acquireUninterruptibly();
-
-        PubSubConnectionEntry entry = commandExecutor.getConnectionManager().getPubSubEntry(name);
-        if (entry == null) {
-            semaphore.release();
-            return;
-        }
-        
-        entry.removeListener(name, listenerId);
-        if (!entry.hasListeners(name)) {
-            commandExecutor.getConnectionManager().punsubscribe(name, semaphore);
-        } else {
-            semaphore.release();
-        }
+        commandExecutor.getConnectionManager().removeListener(name, listenerId, PubSubType.PSUBSCRIBE).syncUninterruptibly();
     }
 
     @Override
@@ -15,9 +15,9 @@
  */
 package org.redisson.reactive;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Semaphore;
 
 import org.reactivestreams.Publisher;
 import org.redisson.PubSubMessageListener;
@@ -26,11 +26,13 @@ import org.redisson.api.RTopicReactive;
 import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.pubsub.PubSubType;
 import org.redisson.command.CommandReactiveExecutor;
 import org.redisson.connection.PubSubConnectionEntry;
 import org.redisson.core.MessageListener;
 import org.redisson.core.StatusListener;
 import org.redisson.misc.ReclosableLatch;
+import org.redisson.pubsub.EnvelopeCodec;
 
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
@@ -69,6 +71,17 @@ public class RedissonTopicReactive<M> implements RTopicReactive<M> {
         return commandExecutor.writeReactive(name, codec, RedisCommands.PUBLISH, name, message);
     }
 
+    @Override
+    public Publisher<Long> publishAll(Collection<? extends M> messages) {
+        return commandExecutor.evalWriteReactive(name, codec, RedisCommands.EVAL_LONG,
+                "local n = 0; "
+              + "for i = 1, #ARGV, 1 do "
+                  + "n = n + redis.call('publish', KEYS[1], ARGV[i]); "
+              + "end; "
+              + "return n;",
+                Collections.<Object>singletonList(name), messages.toArray());
+    }
+
     @Override
     public Publisher<Integer> addListener(StatusListener listener) {
         return addListener(new PubSubStatusListener<Object>(listener, name));
@@ -76,13 +89,13 @@ public class RedissonTopicReactive<M> implements RTopicReactive<M> {
 
     @Override
     public Publisher<Integer> addListener(MessageListener<M> listener) {
-        PubSubMessageListener<M> pubSubListener = new PubSubMessageListener<M>(listener, name);
+        PubSubMessageListener<M> pubSubListener = new PubSubMessageListener<M>(commandExecutor.getConnectionManager().getMessageDispatcher().wrap(listener), name);
         return addListener(pubSubListener);
     }
 
     private Publisher<Integer> addListener(final RedisPubSubListener<?> pubSubListener) {
         final Promise<Integer> promise = commandExecutor.getConnectionManager().newPromise();
-        Future<PubSubConnectionEntry> future = commandExecutor.getConnectionManager().subscribe(codec, name, pubSubListener);
+        Future<PubSubConnectionEntry> future = commandExecutor.getConnectionManager().subscribe(new EnvelopeCodec(codec), name, pubSubListener);
         future.addListener(new FutureListener<PubSubConnectionEntry>() {
             @Override
             public void operationComplete(Future<PubSubConnectionEntry> future) throws Exception {
@@ -100,21 +113,7 @@ public class RedissonTopicReactive<M> implements RTopicReactive<M> {
 
     @Override
     public void removeListener(int listenerId) {
-        Semaphore semaphore = commandExecutor.getConnectionManager().getSemaphore(name);
-        semaphore.acquireUninterruptibly();
-        
-        PubSubConnectionEntry entry = commandExecutor.getConnectionManager().getPubSubEntry(name);
-        if (entry == null) {
-            semaphore.release();
-            return;
-        }
-
-        entry.removeListener(name, listenerId);
-        if (!entry.hasListeners(name)) {
-            commandExecutor.getConnectionManager().unsubscribe(name, semaphore);
-        } else {
-            semaphore.release();
-        }
+        commandExecutor.getConnectionManager().removeListener(name, listenerId, PubSubType.SUBSCRIBE).syncUninterruptibly();
     }
 
 
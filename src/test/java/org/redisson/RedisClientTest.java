@@ -13,6 +13,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.redisson.client.BaseRedisPubSubListener;
 import org.redisson.client.RedisClient;
 import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisPubSubConnection;
@@ -107,6 +108,45 @@ public class RedisClientTest {
         latch.await(10, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testChannelListeners() throws InterruptedException {
+        RedisClient c = new RedisClient("localhost", 6379);
+        RedisPubSubConnection pubSubConnection = c.connectPubSub();
+        final List<String> test1Messages = new ArrayList<String>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        pubSubConnection.addListener("test1", new BaseRedisPubSubListener() {
+            @Override
+            public boolean onStatus(PubSubType type, String channel) {
+                assertThat(channel).isEqualTo("test1");
+                latch.countDown();
+                return true;
+            }
+
+            @Override
+            public void onMessage(String channel, Object message) {
+                test1Messages.add((String) message);
+            }
+        });
+        pubSubConnection.addListener("test2", new BaseRedisPubSubListener() {
+            @Override
+            public boolean onStatus(PubSubType type, String channel) {
+                assertThat(channel).isEqualTo("test2");
+                latch.countDown();
+                return true;
+            }
+        });
+        pubSubConnection.subscribe(StringCodec.INSTANCE, "test1", "test2");
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        RedisConnection conn = c.connect();
+        conn.sync(StringCodec.INSTANCE, RedisCommands.PUBLISH, "test2", "message2");
+        conn.sync(StringCodec.INSTANCE, RedisCommands.PUBLISH, "test1", "message1");
+        Thread.sleep(200);
+        assertThat(test1Messages).containsExactly("message1");
+
+        c.shutdown();
+    }
+
     @Test
     public void test() throws InterruptedException {
         RedisClient c = new RedisClient(new NioEventLoopGroup(), NioSocketChannel.class, "localhost", 6379, 3000, 10000);
@@ -1,9 +1,13 @@
 package org.redisson;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +23,7 @@ import org.redisson.core.RScript;
 import org.redisson.core.RScript.Mode;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 public class RedissonBatchTest extends BaseTest {
 
@@ -40,6 +45,36 @@ public class RedissonBatchTest extends BaseTest {
         System.out.println(t);
     }
     
+    @Test
+    public void testNodeListener() throws InterruptedException {
+        RBatch batch = redisson.createBatch();
+        Future<Long> f1 = batch.getAtomicLong("counter1").incrementAndGetAsync();
+        Future<Long> f2 = batch.getAtomicLong("counter2").addAndGetAsync(5);
+        final List<Object> nodeResults = new CopyOnWriteArrayList<Object>();
+        final List<Throwable> nodeFailures = new CopyOnWriteArrayList<Throwable>();
+        // single node is used, so listener is notified once
+        final CountDownLatch nodeLatch = new CountDownLatch(1);
+        Future<List<?>> future = batch.executeAsync(new FutureListener<List<?>>() {
+            @Override
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (future.isSuccess()) {
+                    nodeResults.addAll(future.getNow());
+                } else {
+                    nodeFailures.add(future.cause());
+                }
+                nodeLatch.countDown();
+            }
+        });
+
+        List<?> result = future.syncUninterruptibly().getNow();
+        Assert.assertEquals(Arrays.asList(1L, 5L), result);
+        Assert.assertEquals(1L, (long) f1.getNow());
+        Assert.assertEquals(5L, (long) f2.getNow());
+        assertThat(nodeLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(nodeFailures).isEmpty();
+        assertThat(nodeResults).containsOnly(1L, 5L);
+    }
+
     @Test
     public void testBatchNPE() {
         RBatch batch = redisson.createBatch();
@@ -1,7 +1,18 @@
 package org.redisson;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
+import org.redisson.client.codec.StringCodec;
 import org.redisson.core.RBloomFilter;
+import org.redisson.core.RBloomFilterSnapshot;
+import org.redisson.core.RMap;
+import org.redisson.core.RSnapshotableBloomFilter;
+
+import static com.jayway.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.*;
 
 public class RedissonBloomFilterTest extends BaseTest {
@@ -65,4 +76,225 @@ public class RedissonBloomFilterTest extends BaseTest {
         assertThat(filter.count()).isEqualTo(2);
     }
 
+    @Test
+    public void testAddAll() {
+        RBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100000, 0.01);
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 2500; i++) {
+            values.add("value" + i);
+        }
+        assertThat(filter.addAll(values)).isBetween(2490, 2500);
+        assertThat(filter.addAll(values.subList(0, 10))).isZero();
+
+        assertThat(filter.containsAll(values)).isTrue();
+        assertThat(filter.containsAll(Arrays.asList("value1", "unknown"))).isFalse();
+        assertThat(filter.contains("value2499")).isTrue();
+        assertThat(filter.contains("unknown")).isFalse();
+    }
+
+    @Test
+    public void testSnapshot() {
+        RSnapshotableBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100000, 0.03);
+        filter.add("123");
+        filter.add("324");
+
+        RBloomFilterSnapshot<String> snapshot = filter.createSnapshot(0, TimeUnit.MILLISECONDS);
+        assertThat(snapshot.getVersion()).isEqualTo(2);
+        assertThat(snapshot.contains("123")).isTrue();
+        assertThat(snapshot.contains("324")).isTrue();
+        assertThat(snapshot.contains("999")).isFalse();
+
+        for (int i = 0; i < 100; i++) {
+            filter.add("value" + i);
+        }
+        assertThat(snapshot.contains("value1")).isFalse();
+
+        snapshot.refresh();
+        assertThat(snapshot.getVersion()).isEqualTo(102);
+        for (int i = 0; i < 100; i++) {
+            assertThat(snapshot.contains("value" + i)).isTrue();
+        }
+        assertThat(snapshot.contains("999")).isFalse();
+    }
+
+    @Test
+    public void testSnapshotLargeBitmap() {
+        RSnapshotableBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(1000000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("value" + i);
+        }
+
+        // bitmap is downloaded by several pieces
+        RBloomFilterSnapshot<String> snapshot = filter.createSnapshot(0, TimeUnit.MILLISECONDS);
+        assertThat(snapshot.getVersion()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(snapshot.contains("value" + i)).isTrue();
+        }
+        assertThat(snapshot.contains("999")).isFalse();
+    }
+
+    @Test
+    public void testSnapshotRefresh() {
+        RSnapshotableBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100, 0.03);
+
+        RBloomFilterSnapshot<String> snapshot = filter.createSnapshot(100, TimeUnit.MILLISECONDS);
+        assertThat(snapshot.contains("123")).isFalse();
+
+        filter.add("123");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> snapshot.contains("123"));
+        snapshot.close();
+
+        filter.delete();
+        filter.tryInit(1000, 0.01);
+        filter.add("456");
+        RBloomFilterSnapshot<String> newSnapshot = filter.createSnapshot(0, TimeUnit.MILLISECONDS);
+        assertThat(newSnapshot.contains("456")).isTrue();
+    }
+
+    @Test
+    public void testSnapshotRecreatedFilter() {
+        RSnapshotableBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100000, 0.03);
+        filter.add("123");
+
+        RBloomFilterSnapshot<String> snapshot = filter.createSnapshot(0, TimeUnit.MILLISECONDS);
+        assertThat(snapshot.contains("123")).isTrue();
+
+        filter.delete();
+        filter.tryInit(100000, 0.03);
+        filter.add("456");
+        filter.add("789");
+
+        snapshot.refresh();
+        assertThat(snapshot.getVersion()).isEqualTo(2);
+        assertThat(snapshot.contains("456")).isTrue();
+        assertThat(snapshot.contains("123")).isFalse();
+    }
+
+
+    @Test
+    public void testSharded() {
+        RBloomFilter<String> filter = redisson.getShardedBloomFilter("filter", 4);
+        assertThat(filter.tryInit(100000, 0.01)).isTrue();
+        assertThat(redisson.getShardedBloomFilter("filter", 8).tryInit(100, 0.01)).isFalse();
+        assertThat(filter.getSize()).isEqualTo(958505);
+        assertThat(filter.getHashIterations()).isEqualTo(7);
+
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter.add("123")).isFalse();
+        assertThat(filter.contains("123")).isTrue();
+        assertThat(filter.contains("unknown")).isFalse();
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 2500; i++) {
+            values.add("value" + i);
+        }
+        assertThat(filter.addAll(values)).isBetween(2490, 2500);
+        assertThat(filter.containsAll(values)).isTrue();
+        assertThat(filter.containsAll(Arrays.asList("value1", "unknown"))).isFalse();
+        assertThat(filter.count()).isBetween(2490, 2510);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(redisson.getBucket("filter:" + i).isExists()).isTrue();
+        }
+
+        // partitions amount is taken from stored config
+        RBloomFilter<String> otherFilter = redisson.getShardedBloomFilter("filter", 8);
+        assertThat(otherFilter.containsAll(values)).isTrue();
+
+        assertThat(filter.delete()).isTrue();
+        assertThat(filter.isExists()).isFalse();
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+    @Test
+    public void testShardedStoredPartitions() {
+        RBloomFilter<String> filter = redisson.getShardedBloomFilter("filter", 8);
+        assertThat(filter.tryInit(100000, 0.01)).isTrue();
+        for (int i = 0; i < 100; i++) {
+            filter.add("value" + i);
+        }
+
+        RBloomFilter<String> otherFilter = redisson.getShardedBloomFilter("filter", 2);
+        assertThat(otherFilter.expire(1, TimeUnit.MINUTES)).isTrue();
+        for (int i = 0; i < 8; i++) {
+            assertThat(redisson.getBucket("filter:" + i).remainTimeToLive()).isPositive();
+        }
+        assertThat(otherFilter.delete()).isTrue();
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+    @Test
+    public void testShardedPartitionConfigMissed() {
+        RBloomFilter<String> filter = redisson.getShardedBloomFilter("filter", 4);
+        assertThat(filter.tryInit(100000, 0.01)).isTrue();
+        assertThat(redisson.getBucket("{filter:1}__config").delete()).isTrue();
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            values.add("value" + i);
+        }
+        assertThat(filter.addAll(values)).isBetween(99, 100);
+        assertThat(redisson.getBucket("{filter:1}__config").isExists()).isTrue();
+        assertThat(filter.containsAll(values)).isTrue();
+    }
+
+    @Test
+    public void testScalable() {
+        RBloomFilter<String> filter = redisson.getScalableBloomFilter("filter");
+        assertThat(filter.tryInit(100, 0.01)).isTrue();
+        assertThat(filter.tryInit(200, 0.01)).isFalse();
+        long initialSize = filter.getSize();
+
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter.add("123")).isFalse();
+        assertThat(filter.contains("unknown")).isFalse();
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            values.add("value" + i);
+        }
+        assertThat(filter.addAll(values)).isBetween(990, 1000);
+        assertThat(filter.getSize()).isGreaterThan(initialSize * 8);
+        assertThat(filter.containsAll(values)).isTrue();
+        assertThat(filter.contains("123")).isTrue();
+        assertThat(filter.count()).isBetween(991, 1001);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (filter.contains("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(30);
+
+        assertThat(filter.delete()).isTrue();
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+    @Test
+    public void testScalableMaxLayers() {
+        assertThat(RedissonScalableBloomFilter.maxLayers(300000000, 0.03)).isEqualTo(1);
+
+        RBloomFilter<String> filter = redisson.getScalableBloomFilter("filter");
+        assertThat(filter.tryInit(100, 0.01)).isTrue();
+        RMap<String, String> config = redisson.getMap("{filter}__config", StringCodec.INSTANCE);
+        assertThat(config.get("maxLayers")).isEqualTo(String.valueOf(RedissonScalableBloomFilter.maxLayers(100, 0.01)));
+        config.put("maxLayers", "1");
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 300; i++) {
+            values.add("value" + i);
+        }
+        filter.addAll(values);
+        assertThat(config.get("layers")).isEqualTo("1");
+        assertThat(filter.count()).isGreaterThan(100);
+        assertThat(filter.containsAll(values)).isTrue();
+    }
+
 }
@@ -0,0 +1,137 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static com.jayway.awaitility.Awaitility.await;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.redisson.core.RBufferedCounter;
+
+public class RedissonBufferedCounterTest extends BaseTest {
+
+    @Test
+    public void testThreshold() {
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 0, TimeUnit.MILLISECONDS, 10);
+        for (int i = 0; i < 9; i++) {
+            counter.increment();
+        }
+        assertThat(redisson.getAtomicLong("test").get()).isZero();
+        assertThat(counter.getPending()).isEqualTo(9);
+        assertThat(counter.get()).isEqualTo(9);
+
+        counter.increment();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> redisson.getAtomicLong("test").get() == 10);
+        assertThat(counter.getPending()).isZero();
+        counter.close();
+    }
+
+    @Test
+    public void testFlushInterval() {
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 200, TimeUnit.MILLISECONDS, 0);
+        counter.add(5);
+        counter.decrement();
+        assertThat(redisson.getAtomicLong("test").get()).isZero();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> redisson.getAtomicLong("test").get() == 4);
+        counter.close();
+    }
+
+    @Test
+    public void testFlush() {
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 1, TimeUnit.MINUTES, 1000);
+        counter.add(7);
+        counter.flush();
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(7);
+        counter.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClose() {
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 1, TimeUnit.MINUTES, 1000);
+        counter.add(3);
+        counter.close();
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(3);
+        counter.add(1);
+    }
+
+    @Test
+    public void testFlushOnShutdown() {
+        RedissonClient instance = BaseTest.createInstance();
+        RBufferedCounter counter = instance.createBufferedCounter("test", 1, TimeUnit.MINUTES, 1000);
+        counter.add(12);
+        instance.shutdown();
+
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(12);
+    }
+
+    @Test
+    public void testFlushRetry() {
+        redisson.getMap("test").put("key", "value");
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 200, TimeUnit.MILLISECONDS, 0);
+        counter.add(6);
+
+        // flush fails with wrong type error and returns delta back
+        await().atMost(5, TimeUnit.SECONDS).until(() -> redisson.getMap("test").isExists());
+        try {
+            counter.flush();
+        } catch (Exception e) {
+            // expected
+        }
+        assertThat(counter.getPending()).isEqualTo(6);
+        redisson.getMap("test").delete();
+
+        // flush timer is re-armed without new deltas
+        await().atMost(5, TimeUnit.SECONDS).until(() -> redisson.getAtomicLong("test").get() == 6);
+        assertThat(counter.getPending()).isZero();
+        counter.close();
+    }
+
+    @Test
+    public void testThresholdFlushRetry() {
+        redisson.getMap("test").put("key", "value");
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 0, TimeUnit.MILLISECONDS, 5);
+        counter.add(4);
+        try {
+            counter.flush();
+        } catch (Exception e) {
+            // expected
+        }
+        assertThat(counter.getPending()).isEqualTo(4);
+        redisson.getMap("test").delete();
+
+        // retry is scheduled even without flush interval
+        await().atMost(5, TimeUnit.SECONDS).until(() -> redisson.getAtomicLong("test").get() == 4);
+        assertThat(counter.getPending()).isZero();
+        counter.close();
+    }
+
+    @Test
+    public void testConcurrentClose() throws InterruptedException {
+        RBufferedCounter counter = redisson.createBufferedCounter("test", 1, TimeUnit.MINUTES, 1000);
+        AtomicLong accepted = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    while (true) {
+                        counter.increment();
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    // closed
+                }
+            });
+        }
+        Thread.sleep(200);
+        counter.close();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(accepted.get());
+    }
+
+}
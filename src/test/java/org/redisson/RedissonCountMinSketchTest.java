@@ -0,0 +1,136 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.core.RCountMinSketch;
+
+public class RedissonCountMinSketchTest extends BaseTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotInitialized() {
+        RCountMinSketch<String> sketch = redisson.getCountMinSketch("sketch");
+        sketch.add("a");
+    }
+
+    @Test
+    public void testInit() {
+        RCountMinSketch<String> sketch = redisson.getCountMinSketch("sketch");
+        assertThat(sketch.tryInit(0.01, 0.99, 0)).isTrue();
+        assertThat(sketch.tryInit(0.1, 0.9, 0)).isFalse();
+        assertThat(sketch.getWidth()).isEqualTo(272);
+        assertThat(sketch.getDepth()).isEqualTo(5);
+    }
+
+    @Test
+    public void testCount() {
+        RCountMinSketch<String> sketch = redisson.getCountMinSketch("sketch");
+        sketch.tryInit(0.01, 0.99, 0);
+
+        assertThat(sketch.add("a")).isEqualTo(1);
+        assertThat(sketch.add("a", 9)).isEqualTo(10);
+
+        List<String> objects = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            objects.add("b");
+            objects.add("c" + i);
+        }
+        sketch.addAll(objects);
+
+        assertThat(sketch.count("a")).isBetween(10L, 12L);
+        assertThat(sketch.count("b")).isBetween(100L, 102L);
+        assertThat(sketch.count("c1")).isBetween(1L, 3L);
+        assertThat(sketch.count("d")).isBetween(0L, 2L);
+    }
+
+    @Test
+    public void testTopK() {
+        RCountMinSketch<String> sketch = redisson.getCountMinSketch("sketch");
+        sketch.tryInit(0.01, 0.99, 2);
+
+        sketch.add("a", 5);
+        sketch.add("b", 10);
+        sketch.add("c", 1);
+        sketch.addAll(Arrays.asList("c", "c", "c", "c", "c", "c", "c"));
+
+        assertThat(sketch.getTopK()).containsExactly(entry("b", 10L), entry("c", 8L));
+    }
+
+    @Test
+    public void testMerge() {
+        RCountMinSketch<String> sketch1 = redisson.getCountMinSketch("{sketch}1");
+        sketch1.tryInit(0.01, 0.99, 3);
+        sketch1.add("a", 5);
+        sketch1.add("b", 2);
+
+        RCountMinSketch<String> sketch2 = redisson.getCountMinSketch("{sketch}2");
+        sketch2.tryInit(0.01, 0.99, 3);
+        sketch2.add("a", 3);
+        sketch2.add("c", 7);
+
+        sketch1.merge("{sketch}2");
+        assertThat(sketch1.count("a")).isEqualTo(8);
+        assertThat(sketch1.count("c")).isEqualTo(7);
+        assertThat(sketch1.getTopK()).containsExactly(entry("a", 8L), entry("c", 7L), entry("b", 2L));
+    }
+
+    @Test
+    public void testMergeReestimate() {
+        RCountMinSketch<String> sketch1 = redisson.getCountMinSketch("{sketch}1");
+        sketch1.tryInit(0.01, 0.99, 2);
+        sketch1.add("a", 5);
+        sketch1.add("b", 4);
+        sketch1.add("c", 3);
+
+        RCountMinSketch<String> sketch2 = redisson.getCountMinSketch("{sketch}2");
+        sketch2.tryInit(0.01, 0.99, 2);
+        sketch2.add("c", 6);
+        sketch2.add("d", 2);
+        sketch2.add("e", 1);
+
+        sketch1.merge("{sketch}2");
+        assertThat(sketch1.getTopK()).containsExactly(entry("c", 9L), entry("a", 5L));
+    }
+
+    @Test
+    public void testMergeOwnName() {
+        RCountMinSketch<String> sketch1 = redisson.getCountMinSketch("{sketch}1");
+        sketch1.tryInit(0.01, 0.99, 3);
+        sketch1.add("a", 5);
+
+        RCountMinSketch<String> sketch2 = redisson.getCountMinSketch("{sketch}2");
+        sketch2.tryInit(0.01, 0.99, 3);
+        sketch2.add("a", 3);
+
+        sketch1.merge("{sketch}1");
+        assertThat(sketch1.count("a")).isEqualTo(5);
+
+        sketch1.merge("{sketch}1", "{sketch}2", "{sketch}2");
+        assertThat(sketch1.count("a")).isEqualTo(8);
+        assertThat(sketch1.getTopK()).containsExactly(entry("a", 8L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNonPositiveCount() {
+        RCountMinSketch<String> sketch = redisson.getCountMinSketch("sketch");
+        sketch.tryInit(0.01, 0.99, 2);
+        sketch.add("a", 0);
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        RCountMinSketch<String> sketch = redisson.getCountMinSketch("sketch");
+        sketch.tryInit(0.01, 0.99, 2);
+        sketch.add("a");
+        assertThat(sketch.expire(500, TimeUnit.MILLISECONDS)).isTrue();
+        Thread.sleep(700);
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+}
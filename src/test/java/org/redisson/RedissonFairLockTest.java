@@ -29,6 +29,35 @@ public class RedissonFairLockTest extends BaseConcurrentTest {
         assertThat(System.currentTimeMillis() - startTime).isBetween(2990L, 3100L);
     }
     
+    @Test
+    public void testWaitersOrder() throws InterruptedException {
+        RLock lock = redisson.getFairLock("lock");
+        lock.lock();
+
+        ConcurrentLinkedQueue<Integer> order = new ConcurrentLinkedQueue<Integer>();
+        CountDownLatch latch = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            Thread t = new Thread() {
+                public void run() {
+                    RLock lock = redisson.getFairLock("lock");
+                    lock.lock();
+                    order.add(index);
+                    lock.unlock();
+                    latch.countDown();
+                };
+            };
+            t.start();
+            Thread.sleep(200);
+        }
+
+        lock.unlock();
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(order).containsExactly(0, 1, 2);
+        assertThat(redisson.getBucket("redisson_lock_queue:{lock}").isExists()).isFalse();
+        assertThat(redisson.getBucket("redisson_lock_timeout:{lock}").isExists()).isFalse();
+    }
+
     @Test
     public void testDelete() {
         RLock lock = redisson.getFairLock("lock");
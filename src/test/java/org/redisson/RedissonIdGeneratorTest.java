@@ -0,0 +1,52 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.core.RIdGenerator;
+
+public class RedissonIdGeneratorTest extends BaseTest {
+
+    @Test
+    public void testSequence() {
+        RIdGenerator generator = redisson.createIdGenerator("test", 10);
+        for (int i = 1; i <= 25; i++) {
+            assertThat(generator.nextId()).isEqualTo(i);
+        }
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(30);
+    }
+
+    @Test
+    public void testAsync() {
+        RIdGenerator generator = redisson.createIdGenerator("test", 3);
+        for (int i = 1; i <= 10; i++) {
+            assertThat(generator.nextIdAsync().syncUninterruptibly().getNow()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void testUniqueness() throws InterruptedException {
+        RIdGenerator generator1 = redisson.createIdGenerator("test", 50);
+        RIdGenerator generator2 = redisson.createIdGenerator("test", 50);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 5000; i++) {
+            RIdGenerator generator = i % 2 == 0 ? generator1 : generator2;
+            executor.execute(() -> {
+                assertThat(ids.add(generator.nextId())).isTrue();
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(ids).hasSize(5000);
+    }
+
+}
@@ -2,15 +2,24 @@ package org.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.core.RCountDownLatch;
 import org.redisson.core.RLock;
 
+import io.netty.util.concurrent.Future;
+
 public class RedissonLockTest extends BaseConcurrentTest {
 
     @Test
@@ -84,6 +93,22 @@ public class RedissonLockTest extends BaseConcurrentTest {
         Assert.assertFalse("Transient lock has not expired automatically", lock.isLocked());
     }
 
+    @Test
+    public void testExpirationRenewal() throws InterruptedException {
+        List<RLock> locks = new ArrayList<RLock>();
+        for (int i = 0; i < 20; i++) {
+            RLock lock = redisson.getLock("lock" + i);
+            lock.lock();
+            locks.add(lock);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(RedissonLock.LOCK_EXPIRATION_INTERVAL_SECONDS + 5));
+        for (RLock lock : locks) {
+            assertThat(lock.isLocked()).isTrue();
+            lock.unlock();
+        }
+    }
+
     @Test
     public void testGetHoldCount() {
         RLock lock = redisson.getLock("lock");
@@ -274,6 +299,184 @@ public class RedissonLockTest extends BaseConcurrentTest {
         Assert.assertEquals(16 * iterations, lockedCounter.get());
     }
 
+    @Test
+    public void testLockAsyncManyWaiters() throws InterruptedException {
+        RedissonClient r = createInstance();
+
+        int amount = 200;
+        List<RLock> locks = new ArrayList<RLock>();
+        for (int i = 0; i < amount; i++) {
+            RLock lock = r.getLock("lock" + i);
+            lock.lock();
+            locks.add(lock);
+        }
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (int i = 0; i < amount; i++) {
+            futures.add(redisson.getLock("lock" + i).lockAsync());
+        }
+
+        Thread.sleep(500);
+        for (Future<Void> future : futures) {
+            assertThat(future.isDone()).isFalse();
+        }
+
+        for (RLock lock : locks) {
+            lock.unlock();
+        }
+
+        for (Future<Void> future : futures) {
+            assertThat(future.awaitUninterruptibly(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(future.isSuccess()).isTrue();
+        }
+
+        r.shutdown();
+    }
+
+    @Test
+    public void testSharedNotificationChannels() throws InterruptedException {
+        Config config = createConfig();
+        config.useSingleServer().setSharedNotificationChannels(4);
+        RedissonClient r = Redisson.create(config);
+
+        RLock lock = r.getLock("lock");
+        lock.lock();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread t = new Thread() {
+            public void run() {
+                RLock lock1 = r.getLock("lock");
+                lock1.lock();
+                lock1.unlock();
+                latch.countDown();
+            };
+        };
+        t.start();
+
+        Thread.sleep(500);
+        // malformed messages published by someone else are ignored
+        for (int i = 0; i < 4; i++) {
+            r.getTopic("redisson__notification:" + i, StringCodec.INSTANCE).publish("redisson_lock__channel__{lock}:unknown");
+        }
+        long startTime = System.currentTimeMillis();
+        lock.unlock();
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertThat(System.currentTimeMillis() - startTime).isLessThan(500);
+
+        RCountDownLatch countDownLatch = r.getCountDownLatch("latch");
+        countDownLatch.trySetCount(1);
+        new Thread() {
+            public void run() {
+                countDownLatch.countDown();
+            };
+        }.start();
+        Assert.assertTrue(countDownLatch.await(1, TimeUnit.SECONDS));
+
+        r.shutdown();
+    }
+
+    @Test
+    public void testLockWaitersCoalescing() throws InterruptedException {
+        testLockWaitersCoalescing(false);
+    }
+
+    @Test
+    public void testLockHandOff() throws InterruptedException {
+        testLockWaitersCoalescing(true);
+    }
+
+    private void testLockWaitersCoalescing(boolean handOff) throws InterruptedException {
+        Config config = createConfig();
+        config.useSingleServer().setLockWaitersCoalescing(true).setLockHandOff(handOff);
+        RedissonClient r = Redisson.create(config);
+
+        int threads = 20;
+        int iterations = 10;
+        AtomicInteger lockedCounter = new AtomicInteger();
+        AtomicInteger holders = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                RLock lock = r.getLock("lock");
+                for (int j = 0; j < iterations; j++) {
+                    lock.lock();
+                    if (holders.incrementAndGet() > 1) {
+                        overlap.set(true);
+                    }
+                    assertThat(lock.isHeldByCurrentThread()).isTrue();
+                    lockedCounter.incrementAndGet();
+                    holders.decrementAndGet();
+                    lock.unlock();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlap.get()).isFalse();
+        assertThat(lockedCounter.get()).isEqualTo(threads * iterations);
+        assertThat(r.getLock("lock").isLocked()).isFalse();
+
+        RLock lock = r.getLock("lock");
+        lock.lock();
+        AtomicInteger acquired = new AtomicInteger();
+        Runnable tryLock = () -> {
+            try {
+                if (r.getLock("lock").tryLock(300, TimeUnit.MILLISECONDS)) {
+                    acquired.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread t1 = new Thread(tryLock);
+        Thread t2 = new Thread(tryLock);
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        assertThat(acquired.get()).isZero();
+        lock.unlock();
+
+        r.shutdown();
+    }
+
+    @Test
+    public void testLockHandOffLimit() throws InterruptedException {
+        Config config = createConfig();
+        config.useSingleServer().setLockWaitersCoalescing(true).setLockHandOff(true);
+        RedissonClient r = Redisson.create(config);
+
+        int threads = 5;
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                RLock lock = r.getLock("lock");
+                while (!stop.get()) {
+                    lock.lock();
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    lock.unlock();
+                }
+            });
+        }
+
+        // local threads keep handing off the lock to each other
+        Thread.sleep(500);
+        RLock remoteLock = redisson.getLock("lock");
+        assertThat(remoteLock.tryLock(5, TimeUnit.SECONDS)).isTrue();
+        remoteLock.unlock();
+
+        stop.set(true);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        r.shutdown();
+    }
+
     @Test
     public void testConcurrency_MultiInstance() throws InterruptedException {
         int iterations = 100;
@@ -0,0 +1,77 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.core.RLongAdder;
+
+public class RedissonLongAdderTest extends BaseTest {
+
+    @Test
+    public void testSum() {
+        RLongAdder adder = redisson.getLongAdder("test", 8);
+        assertThat(adder.sum()).isZero();
+        for (int i = 0; i < 100; i++) {
+            adder.increment();
+        }
+        adder.add(10);
+        adder.decrement();
+        assertThat(adder.sum()).isEqualTo(109);
+        assertThat(redisson.getLongAdder("test", 8).sum()).isEqualTo(109);
+    }
+
+    @Test
+    public void testConcurrentIncrement() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                redisson.getLongAdder("test", 4).increment();
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(redisson.getLongAdder("test", 4).sum()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testReset() {
+        RLongAdder adder = redisson.getLongAdder("test", 4);
+        adder.add(5);
+        adder.add(7);
+        assertThat(adder.sumThenReset()).isEqualTo(12);
+        assertThat(adder.sum()).isZero();
+
+        adder.add(3);
+        adder.reset();
+        assertThat(adder.sum()).isZero();
+        assertThat(adder.isExists()).isFalse();
+    }
+
+    @Test
+    public void testExpire() {
+        RLongAdder adder = redisson.getLongAdder("test", 4);
+        for (int i = 0; i < 20; i++) {
+            adder.increment();
+        }
+        assertThat(adder.expire(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(adder.remainTimeToLive()).isBetween(50000L, 60000L);
+        assertThat(adder.clearExpire()).isTrue();
+        assertThat(adder.remainTimeToLive()).isEqualTo(-1);
+        assertThat(adder.delete()).isTrue();
+        assertThat(adder.remainTimeToLive()).isEqualTo(-2);
+        assertThat(adder.sum()).isZero();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRename() {
+        RLongAdder adder = redisson.getLongAdder("test", 4);
+        adder.increment();
+        adder.rename("test2");
+    }
+
+}
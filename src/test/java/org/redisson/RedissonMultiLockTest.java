@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.redisson.core.RLock;
 import org.redisson.core.RedissonMultiLock;
@@ -50,6 +51,42 @@ public class RedissonMultiLockTest {
         assertThat(redis1.stop()).isEqualTo(0);
     }
     
+    @Test
+    public void testUnlockPartiallyHeld() throws IOException, InterruptedException {
+        RedisProcess redis1 = redisTestMultilockInstance(6320);
+
+        Config config1 = new Config();
+        config1.useSingleServer().setAddress("127.0.0.1:6320");
+        RedissonClient client = Redisson.create(config1);
+
+        RLock lock1 = client.getLock("lock1");
+        RLock lock2 = client.getLock("lock2");
+        RLock lock3 = client.getLock("lock3");
+        lock1.lock();
+        lock3.lock();
+        Thread t = new Thread() {
+            public void run() {
+                lock2.lock();
+            };
+        };
+        t.start();
+        t.join();
+
+        RedissonMultiLock lock = new RedissonMultiLock(lock1, lock2, lock3);
+        try {
+            lock.unlock();
+            Assert.fail();
+        } catch (IllegalMonitorStateException e) {
+            // lock2 is held by other thread
+        }
+        // every lock has been unlocked despite failure
+        assertThat(lock1.isLocked()).isFalse();
+        assertThat(lock3.isLocked()).isFalse();
+
+        client.shutdown();
+        assertThat(redis1.stop()).isEqualTo(0);
+    }
+
     @Test
     public void test() throws IOException, InterruptedException {
         RedisProcess redis1 = redisTestMultilockInstance(6320);
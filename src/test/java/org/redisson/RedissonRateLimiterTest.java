@@ -0,0 +1,94 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.client.RedisException;
+import org.redisson.core.RRateLimiter;
+
+public class RedissonRateLimiterTest extends BaseTest {
+
+    @Test
+    public void testTrySetRate() {
+        RRateLimiter rr = redisson.getRateLimiter("test");
+        assertThat(rr.trySetRate(10, 1, TimeUnit.SECONDS)).isTrue();
+        assertThat(rr.trySetRate(20, 1, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test(expected = RedisException.class)
+    public void testNotInitialized() {
+        RRateLimiter rr = redisson.getRateLimiter("test");
+        rr.tryAcquire();
+    }
+
+    @Test(expected = RedisException.class)
+    public void testPermitsExceedingRate() {
+        RRateLimiter rr = redisson.getRateLimiter("test");
+        rr.trySetRate(10, 1, TimeUnit.SECONDS);
+        rr.tryAcquire(20);
+    }
+
+    @Test
+    public void testTryAcquire() throws InterruptedException {
+        RRateLimiter rr = redisson.getRateLimiter("test");
+        rr.trySetRate(5, 1, TimeUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            assertThat(rr.tryAcquire()).isTrue();
+        }
+        assertThat(rr.tryAcquire()).isFalse();
+
+        Thread.sleep(500);
+        assertThat(rr.tryAcquire(2)).isTrue();
+        assertThat(rr.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void testAcquireWait() {
+        RRateLimiter rr = redisson.getRateLimiter("test");
+        rr.trySetRate(10, 1, TimeUnit.SECONDS);
+        assertThat(rr.tryAcquire(10)).isTrue();
+
+        assertThat(rr.tryAcquire(5, 100, TimeUnit.MILLISECONDS)).isFalse();
+
+        long startTime = System.currentTimeMillis();
+        rr.acquire(5);
+        assertThat(System.currentTimeMillis() - startTime).isBetween(400L, 700L);
+    }
+
+    @Test
+    public void testPrefetch() {
+        RRateLimiter rr = redisson.getRateLimiter("test", 4);
+        rr.trySetRate(10, 1, TimeUnit.MINUTES);
+        assertThat(rr.tryAcquire()).isTrue();
+
+        RRateLimiter other = redisson.getRateLimiter("test");
+        for (int i = 0; i < 6; i++) {
+            assertThat(other.tryAcquire()).isTrue();
+        }
+        assertThat(other.tryAcquire()).isFalse();
+
+        // prefetched permits
+        for (int i = 0; i < 3; i++) {
+            assertThat(rr.tryAcquire()).isTrue();
+        }
+        assertThat(rr.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void testPrefetchExpiration() throws InterruptedException {
+        RRateLimiter rr = redisson.getRateLimiter("test", 4);
+        rr.trySetRate(4, 500, TimeUnit.MILLISECONDS);
+        assertThat(rr.tryAcquire()).isTrue();
+
+        // unused prefetched permits expire after rate interval
+        Thread.sleep(600);
+        RRateLimiter other = redisson.getRateLimiter("test");
+        for (int i = 0; i < 4; i++) {
+            assertThat(other.tryAcquire()).isTrue();
+        }
+        assertThat(rr.tryAcquire()).isFalse();
+    }
+
+}
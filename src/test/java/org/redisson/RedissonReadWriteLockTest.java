@@ -1,6 +1,9 @@
 package org.redisson;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -423,6 +426,43 @@ public class RedissonReadWriteLockTest extends BaseConcurrentTest {
         Assert.assertEquals(16 * iterations, lockedCounter.get());
     }
 
+    @Test
+    public void testWriteLockHandOff() throws InterruptedException {
+        Config config = createConfig();
+        config.useSingleServer().setLockWaitersCoalescing(true).setLockHandOff(true);
+        RedissonClient r = Redisson.create(config);
+
+        RLock writeLock = r.getReadWriteLock("lock").writeLock();
+        writeLock.lock();
+
+        List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        Thread contender = new Thread(() -> {
+            RLock lock = r.getReadWriteLock("lock").writeLock();
+            lock.lock();
+            order.add(1);
+            lock.unlock();
+        });
+        Thread queued = new Thread(() -> {
+            RLock lock = r.getReadWriteLock("lock").writeLock();
+            lock.lock();
+            order.add(2);
+            lock.unlock();
+        });
+        contender.start();
+        Thread.sleep(300);
+        queued.start();
+        Thread.sleep(300);
+
+        // lock passed to queued thread instead of thread contending in Redis
+        writeLock.unlock();
+        contender.join(5000);
+        queued.join(5000);
+        assertThat(order).containsExactly(2, 1);
+        assertThat(writeLock.isLocked()).isFalse();
+
+        r.shutdown();
+    }
+
     @Test
     public void testConcurrency_MultiInstance() throws InterruptedException {
         int iterations = 100;
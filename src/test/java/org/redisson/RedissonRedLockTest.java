@@ -51,11 +51,56 @@ public class RedissonRedLockTest {
         RedissonMultiLock lock = new RedissonRedLock(lock1, lock2, lock3);
         Assert.assertFalse(lock.tryLock());
         
+        client1.shutdown();
+        client2.shutdown();
+        
         assertThat(redis1.stop()).isEqualTo(0);
         assertThat(redis2.stop()).isEqualTo(0);
     }
 
     
+    @Test
+    public void testTryLockReleasesAcquiredLocks() throws IOException, InterruptedException {
+        RedisProcess redis1 = redisTestMultilockInstance(6320);
+        RedisProcess redis2 = redisTestMultilockInstance(6321);
+        
+        RedissonClient client1 = createClient("127.0.0.1:6320");
+        RedissonClient client2 = createClient("127.0.0.1:6321");
+        
+        RLock lock1 = client1.getLock("lock1");
+        RLock lock2 = client1.getLock("lock2");
+        RLock lock3 = client2.getLock("lock3");
+        
+        Thread t1 = new Thread() {
+            public void run() {
+                lock2.lock();
+                lock3.lock();
+            };
+        };
+        t1.start();
+        t1.join();
+
+        RedissonMultiLock lock = new RedissonRedLock(lock1, lock2, lock3);
+        long startTime = System.currentTimeMillis();
+        Assert.assertFalse(lock.tryLock(500, TimeUnit.MILLISECONDS));
+        assertThat(System.currentTimeMillis() - startTime).isLessThan(2000);
+        assertThat(lock1.isLocked()).isFalse();
+
+        lock3.forceUnlock();
+        Assert.assertTrue(lock.tryLock(500, TimeUnit.MILLISECONDS));
+        assertThat(lock1.isHeldByCurrentThread()).isTrue();
+        assertThat(lock3.isHeldByCurrentThread()).isTrue();
+        lock.unlock();
+        assertThat(lock1.isLocked()).isFalse();
+        assertThat(lock3.isLocked()).isFalse();
+
+        client1.shutdown();
+        client2.shutdown();
+        
+        assertThat(redis1.stop()).isEqualTo(0);
+        assertThat(redis2.stop()).isEqualTo(0);
+    }
+
     @Test
     public void testLockSuccess() throws IOException, InterruptedException {
         RedisProcess redis1 = redisTestMultilockInstance(6320);
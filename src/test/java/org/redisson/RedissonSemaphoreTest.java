@@ -115,6 +115,52 @@ public class RedissonSemaphoreTest extends BaseConcurrentTest {
         assertThat(s.availablePermits()).isEqualTo(0);
     }
 
+    @Test
+    public void testStriped() throws InterruptedException {
+        RSemaphore s = redisson.getStripedSemaphore("test", 4);
+        s.setPermits(10);
+        assertThat(s.availablePermits()).isEqualTo(10);
+        assertThat(redisson.getKeys().count()).isEqualTo(4);
+        assertThat(s.expire(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(s.remainTimeToLive()).isBetween(50000L, 60000L);
+        assertThat(s.clearExpire()).isTrue();
+        assertThat(s.remainTimeToLive()).isEqualTo(-1);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(s.tryAcquire()).isTrue();
+        }
+        assertThat(s.tryAcquire()).isFalse();
+        assertThat(s.availablePermits()).isEqualTo(0);
+
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+                redisson.getStripedSemaphore("test", 4).release(2);
+            }
+        };
+        t.start();
+
+        assertThat(s.tryAcquire(2, 5, TimeUnit.SECONDS)).isTrue();
+        s.release(3);
+        assertThat(s.drainPermits()).isEqualTo(3);
+        assertThat(s.availablePermits()).isEqualTo(0);
+
+        assertThat(s.delete()).isTrue();
+        assertThat(s.isExists()).isFalse();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testStripedRename() {
+        RSemaphore s = redisson.getStripedSemaphore("test", 4);
+        s.setPermits(10);
+        s.rename("test2");
+    }
+
     @Test
     public void testReleaseWithoutPermits() {
         RSemaphore s = redisson.getSemaphore("test");
@@ -0,0 +1,58 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.core.RSlidingWindowCounter;
+
+public class RedissonSlidingWindowCounterTest extends BaseTest {
+
+    @Test
+    public void testWindowSum() {
+        RSlidingWindowCounter counter = redisson.getSlidingWindowCounter("test", 1, TimeUnit.MINUTES, 60);
+        assertThat(counter.getWindowSum()).isZero();
+        for (int i = 1; i <= 100; i++) {
+            assertThat(counter.incrementAndGetWindowSum()).isEqualTo(i);
+        }
+        assertThat(counter.addAndGetWindowSum(-10)).isEqualTo(90);
+        assertThat(counter.getWindowSum()).isEqualTo(90);
+    }
+
+    @Test
+    public void testSlide() throws InterruptedException {
+        RSlidingWindowCounter counter = redisson.getSlidingWindowCounter("test", 1, TimeUnit.SECONDS, 10);
+        counter.addAndGetWindowSum(5);
+        Thread.sleep(600);
+        assertThat(counter.addAndGetWindowSum(3)).isEqualTo(8);
+        Thread.sleep(600);
+        assertThat(counter.getWindowSum()).isEqualTo(3);
+        assertThat(counter.incrementAndGetWindowSum()).isEqualTo(4);
+        assertThat(redisson.getKeys().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLaggingBucket() {
+        RSlidingWindowCounter counter = redisson.getSlidingWindowCounter("test", 1, TimeUnit.SECONDS, 10);
+        counter.addAndGetWindowSum(5);
+        long last = System.currentTimeMillis() / 100 + 1000;
+        redisson.getMap("test", StringCodec.INSTANCE).put("last", String.valueOf(last));
+
+        assertThat(counter.addAndGetWindowSum(3)).isEqualTo(3);
+        assertThat(counter.getWindowSum()).isEqualTo(3);
+        assertThat(redisson.getMap("test", StringCodec.INSTANCE).get(String.valueOf(last))).isEqualTo("3");
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        RSlidingWindowCounter counter = redisson.getSlidingWindowCounter("test", 500, TimeUnit.MILLISECONDS, 5);
+        counter.incrementAndGetWindowSum();
+        assertThat(counter.isExists()).isTrue();
+        Thread.sleep(700);
+        assertThat(counter.isExists()).isFalse();
+        assertThat(counter.getWindowSum()).isZero();
+    }
+
+}
@@ -2,8 +2,11 @@ package org.redisson;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -17,15 +20,29 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.redisson.RedisRunner.RedisProcess;
+import org.redisson.client.RedisCircuitBreakerException;
+import org.redisson.client.RedisClient;
+import org.redisson.client.RedisConnection;
 import org.redisson.client.RedisConnectionException;
+import org.redisson.client.RedisException;
 import org.redisson.client.RedisOutOfMemoryException;
 import org.redisson.client.WriteRedisConnectionException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisStrictCommand;
 import org.redisson.client.protocol.decoder.ListScanResult;
+import org.redisson.client.protocol.decoder.StringDataDecoder;
+import org.redisson.client.protocol.decoder.StringMapDataDecoder;
 import org.redisson.codec.SerializationCodec;
 import org.redisson.connection.ConnectionListener;
 import org.redisson.core.ClusterNode;
 import org.redisson.core.Node;
 import org.redisson.core.NodesGroup;
+import org.redisson.core.RBatch;
+import org.redisson.core.RBucket;
+import org.redisson.core.RMap;
+
+import io.netty.util.concurrent.Future;
+
 import static com.jayway.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.redisson.BaseTest.createInstance;
@@ -219,6 +236,230 @@ public class RedissonTest {
         Assert.assertTrue(r.isShutdown());
     }
 
+    @Test
+    public void testShutdownDrain() {
+        RedissonClient r = BaseTest.createInstance();
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (int i = 0; i < 200; i++) {
+            RBucket<Integer> bucket = r.getBucket("test" + i);
+            futures.add(bucket.setAsync(i));
+        }
+        assertThat(r.getInFlightCommands()).isBetween(0, 200);
+        r.shutdown();
+
+        for (Future<Void> future : futures) {
+            assertThat(future.isSuccess()).isTrue();
+        }
+        assertThat(r.getInFlightCommands()).isZero();
+        assertThat(r.getAbandonedCommands()).isZero();
+
+        try {
+            r.getBucket("test").get();
+            Assert.fail();
+        } catch (RedisException e) {
+            assertThat(e.getCause()).isInstanceOf(RedissonShutdownException.class);
+        }
+    }
+
+    @Test
+    public void testReadCoalescing() {
+        Config config = BaseTest.createConfig();
+        config.useSingleServer().setReadCoalescing(true);
+        RedissonClient r = Redisson.create(config);
+
+        r.getBucket("test").set("1234");
+
+        RedisClient client = new RedisClient("localhost", 6379);
+        RedisConnection connection = client.connect();
+        long calls = getCalls(connection, "get");
+
+        List<Future<String>> futures = new ArrayList<Future<String>>();
+        for (int i = 0; i < 100; i++) {
+            RBucket<String> bucket = r.getBucket("test");
+            futures.add(bucket.getAsync());
+        }
+        for (Future<String> future : futures) {
+            assertThat(future.syncUninterruptibly().getNow()).isEqualTo("1234");
+        }
+        assertThat(getCalls(connection, "get") - calls).isLessThan(100);
+
+        assertThat(r.getBucket("test1", StringCodec.INSTANCE).get()).isNull();
+
+        client.shutdown();
+        r.shutdown();
+    }
+
+    private long getCalls(RedisConnection connection, String command) {
+        Map<String, String> stats = connection.sync(new RedisStrictCommand<Map<String, String>>("INFO", "COMMANDSTATS", new StringMapDataDecoder()));
+        String value = stats.get("cmdstat_" + command);
+        if (value == null) {
+            return 0;
+        }
+        // calls=N,usec=...
+        return Long.valueOf(value.split(",")[0].split("=")[1]);
+    }
+
+    @Test
+    public void testBulkConnectionPool() {
+        Config config = BaseTest.createConfig();
+        config.useSingleServer().setBulkConnectionPoolSize(1);
+        RedissonClient r = Redisson.create(config);
+
+        RMap<String, String> map = r.getMap("test");
+        map.put("1", "2");
+        map.put("3", "4");
+        map.put("5", "6");
+        r.getBucket("test1").set("1");
+
+        RedisClient client = new RedisClient("localhost", 6379);
+        RedisConnection connection = client.connect();
+        Map<String, String> clients = getClientCommands(connection);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(map.readAllKeySet()).containsOnly("1", "3", "5");
+        }
+
+        // single bulk connection has been created on demand
+        Map<String, String> bulkClients = getClientCommands(connection);
+        bulkClients.keySet().removeAll(clients.keySet());
+        assertThat(bulkClients).hasSize(1);
+        String bulkClient = bulkClients.keySet().iterator().next();
+        assertThat(bulkClients.get(bulkClient)).isEqualTo("hkeys");
+
+        // internal batch of point operations uses master connection pool
+        r.getBitSet("bitset").set(0, 3);
+        assertThat(getClientCommands(connection).get(bulkClient)).isEqualTo("hkeys");
+
+        RBatch batch = r.createBatch();
+        batch.getBucket("test1").getAsync();
+        batch.execute();
+        assertThat(getClientCommands(connection).get(bulkClient)).isEqualTo("get");
+
+        assertThat(map.readAllValues()).containsOnly("2", "4", "6");
+        assertThat(map.get("5")).isEqualTo("6");
+
+        assertThat(r.getKeys().deleteByPattern("test*")).isEqualTo(2);
+        r.getBitSet("bitset").delete();
+        assertThat(r.getKeys().count()).isZero();
+
+        client.shutdown();
+        r.shutdown();
+    }
+
+    /**
+     * @return last command of each client connection mapped by client id
+     */
+    private Map<String, String> getClientCommands(RedisConnection connection) {
+        String value = connection.sync(new RedisStrictCommand<String>("CLIENT", "LIST", new StringDataDecoder()));
+        Map<String, String> result = new HashMap<String, String>();
+        for (String line : value.split("\r?\n")) {
+            String id = null;
+            String command = null;
+            for (String field : line.split(" ")) {
+                if (field.startsWith("id=")) {
+                    id = field.substring(3);
+                }
+                if (field.startsWith("cmd=")) {
+                    command = field.substring(4);
+                }
+            }
+            if (id != null) {
+                result.put(id, command);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testCircuitBreakerRetryAttempts() throws IOException, InterruptedException {
+        RedisProcess p = redisTestConnection();
+
+        Config config = new Config();
+        config.useSingleServer()
+            .setAddress("127.0.0.1:6319")
+            .setRetryAttempts(3)
+            .setRetryInterval(100)
+            .setCircuitBreakerFailures(2)
+            .setCircuitBreakerInterval(10000);
+        RedissonClient r = Redisson.create(config);
+
+        r.getBucket("1").set("1");
+        Assert.assertEquals(0, p.stop());
+
+        // each command is counted once regardless of its retry attempts
+        for (int i = 0; i < 2; i++) {
+            try {
+                r.getBucket("1").get();
+                Assert.fail();
+            } catch (RedisCircuitBreakerException e) {
+                Assert.fail();
+            } catch (RedisException e) {
+                // skip
+            }
+        }
+
+        try {
+            r.getBucket("1").get();
+            Assert.fail();
+        } catch (RedisCircuitBreakerException e) {
+            // skip
+        }
+
+        r.shutdown();
+    }
+
+    @Test
+    public void testCircuitBreaker() throws IOException, InterruptedException {
+        RedisProcess p = redisTestConnection();
+
+        Config config = new Config();
+        config.useSingleServer()
+            .setAddress("127.0.0.1:6319")
+            .setRetryAttempts(0)
+            .setRetryInterval(100)
+            .setCircuitBreakerFailures(2)
+            .setCircuitBreakerInterval(1000);
+        RedissonClient r = Redisson.create(config);
+
+        r.getBucket("1").set("1");
+        Assert.assertEquals(0, p.stop());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                r.getBucket("1").get();
+                Assert.fail();
+            } catch (RedisCircuitBreakerException e) {
+                Assert.fail();
+            } catch (RedisException e) {
+                // skip
+            }
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            r.getBucket("1").get();
+            Assert.fail();
+        } catch (RedisCircuitBreakerException e) {
+            assertThat(System.currentTimeMillis() - startTime).isLessThan(100);
+        }
+
+        p = redisTestConnection();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            try {
+                r.getBucket("1").get();
+                return true;
+            } catch (RedisException e) {
+                return false;
+            }
+        });
+        assertThat(r.getBucket("1").get()).isNull();
+
+        r.shutdown();
+        Assert.assertEquals(0, p.stop());
+    }
+
 //    @Test
     public void test() {
         NodesGroup<Node> nodes = redisson.getNodesGroup();
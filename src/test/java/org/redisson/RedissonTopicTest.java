@@ -6,6 +6,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -23,11 +25,16 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.redisson.RedisRunner.RedisProcess;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.client.codec.LongCodec;
 import org.redisson.client.codec.StringCodec;
+import org.redisson.connection.PubSubConnectionEntry;
 import org.redisson.core.BaseStatusListener;
 import org.redisson.core.MessageListener;
 import org.redisson.core.RBlockingQueue;
+import org.redisson.core.RBucket;
+import org.redisson.core.RBufferedPublisher;
+import org.redisson.core.RPatternTopic;
 import org.redisson.core.RSet;
 import org.redisson.core.RTopic;
 import org.redisson.core.StatusListener;
@@ -316,6 +323,251 @@ public class RedissonTopicTest {
     }
 
 
+    @Test
+    public void testSubscriptionsOverLimit() throws InterruptedException {
+        Config config = BaseTest.createConfig();
+        config.useSingleServer()
+            .setSubscriptionConnectionPoolSize(1)
+            .setSubscriptionConnectionMinimumIdleSize(1)
+            .setSubscriptionsPerConnection(2);
+        RedissonClient redisson = Redisson.create(config);
+
+        int amount = 30;
+        CountDownLatch latch = new CountDownLatch(amount);
+        List<Integer> listenerIds = new ArrayList<Integer>();
+        for (int i = 0; i < amount; i++) {
+            RTopic<String> topic = redisson.getTopic("topic" + i);
+            listenerIds.add(topic.addListener((channel, msg) -> {
+                latch.countDown();
+            }));
+        }
+
+        for (int i = 0; i < amount; i++) {
+            redisson.getTopic("topic" + i).publish("message");
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < amount; i++) {
+            redisson.getTopic("topic" + i).removeListener(listenerIds.get(i));
+        }
+        for (int i = 0; i < amount; i++) {
+            assertThat(redisson.getTopic("topic" + i).publish("message")).isZero();
+        }
+
+        redisson.shutdown();
+    }
+
+    @Test
+    public void testSubscriptionsLimitGrowth() {
+        PubSubConnectionEntry entry = new PubSubConnectionEntry(null, 2);
+        assertThat(entry.tryAcquire()).isEqualTo(1);
+        assertThat(entry.tryAcquire()).isEqualTo(0);
+        assertThat(entry.tryAcquire()).isEqualTo(-1);
+
+        assertThat(entry.grow()).isZero();
+        assertThat(entry.getLimit()).isEqualTo(4);
+        assertThat(entry.getFreeAmount()).isEqualTo(2);
+
+        entry.tryAcquire();
+        entry.tryAcquire();
+        assertThat(entry.grow()).isZero();
+        assertThat(entry.getLimit()).isEqualTo(8);
+        assertThat(entry.getFreeAmount()).isEqualTo(4);
+    }
+
+    @Test
+    public void testPublishAll() throws InterruptedException {
+        RedissonClient redisson = BaseTest.createInstance();
+
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<Integer>());
+        RTopic<Integer> topic = redisson.getTopic("publishAllTopic");
+        topic.addListener((channel, msg) -> messages.add(msg));
+
+        assertThat(topic.publishAll(Arrays.asList(1, 2, 3))).isEqualTo(3);
+        assertThat(topic.publishAll(Collections.<Integer>emptyList())).isEqualTo(0);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == 3);
+        assertThat(messages).containsExactly(1, 2, 3);
+
+        redisson.shutdown();
+    }
+
+    @Test
+    public void testBufferedPublisher() throws InterruptedException {
+        RedissonClient redisson = BaseTest.createInstance();
+
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<Integer>());
+        RTopic<Integer> topic = redisson.getTopic("bufferedTopic");
+        topic.addListener((channel, msg) -> messages.add(msg));
+
+        RPatternTopic<Integer> patternTopic = redisson.getPatternTopic("buffered*");
+        List<Integer> patternMessages = Collections.synchronizedList(new ArrayList<Integer>());
+        patternTopic.addListener((pattern, channel, msg) -> patternMessages.add(msg));
+
+        RBufferedPublisher<Integer> publisher = topic.createBufferedPublisher(10, 100, TimeUnit.MILLISECONDS, true);
+        for (int i = 0; i < 25; i++) {
+            publisher.publish(i);
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == 25);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> patternMessages.size() == 25);
+        Integer[] expected = new Integer[25];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i;
+        }
+        assertThat(messages).containsExactly(expected);
+        assertThat(patternMessages).containsExactly(expected);
+
+        RBufferedPublisher<Integer> plainPublisher = topic.createBufferedPublisher(100, 0, TimeUnit.MILLISECONDS, false);
+        plainPublisher.publish(25);
+        plainPublisher.publish(26);
+        Thread.sleep(200);
+        assertThat(messages).hasSize(25);
+        plainPublisher.close();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == 27);
+        assertThat(messages.subList(25, 27)).containsExactly(25, 26);
+
+        redisson.shutdown();
+    }
+
+    @Test
+    public void testEnvelopeMarkerInPlainMessage() throws InterruptedException {
+        RedissonClient redisson = BaseTest.createInstance();
+
+        List<Object> messages = Collections.synchronizedList(new ArrayList<Object>());
+        RTopic<byte[]> topic = redisson.getTopic("rawTopic", ByteArrayCodec.INSTANCE);
+        topic.addListener((channel, msg) -> messages.add(msg));
+
+        byte[] truncated = new byte[] {0, 'R', 'E', 'N', 'V', 0, 0, 0, 0, 2, 0, 0, 0, 10, 1};
+        byte[] trailing = new byte[] {0, 'R', 'E', 'N', 'V', 0, 0, 0, 0, 1, 0, 0, 0, 1, 1, 2};
+        topic.publish(truncated);
+        topic.publish(trailing);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == 2);
+        assertThat((byte[]) messages.get(0)).isEqualTo(truncated);
+        assertThat((byte[]) messages.get(1)).isEqualTo(trailing);
+
+        redisson.shutdown();
+    }
+
+    @Test
+    public void testListenerExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Config config = BaseTest.createConfig();
+        config.setListenerExecutor(executor);
+        RedissonClient redisson = Redisson.create(config);
+
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<Integer>());
+        AtomicBoolean ioThread = new AtomicBoolean();
+        RTopic<Integer> topic = redisson.getTopic("topic");
+        topic.addListener((channel, msg) -> {
+            if (Thread.currentThread().getName().contains("EventLoop")) {
+                ioThread.set(true);
+            }
+            messages.add(msg);
+        });
+
+        int amount = 100;
+        for (int i = 0; i < amount; i++) {
+            topic.publish(i);
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == amount);
+        for (int i = 0; i < amount; i++) {
+            assertThat(messages.get(i)).isEqualTo(i);
+        }
+        assertThat(ioThread.get()).isFalse();
+
+        redisson.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testListenerOverflowDropOldest() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Config config = BaseTest.createConfig();
+        config.setListenerExecutor(executor)
+                .setListenerQueueSize(2)
+                .setListenerOverflowPolicy(ListenerOverflowPolicy.DROP_OLDEST);
+        RedissonClient redisson = Redisson.create(config);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<Integer>());
+        RTopic<Integer> topic = redisson.getTopic("topic");
+        topic.addListener((channel, msg) -> {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(msg);
+        });
+
+        topic.publish(0);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            topic.publish(i);
+        }
+        // wait for the last message to be queued
+        Thread.sleep(500);
+        gate.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == 3);
+        assertThat(messages).containsExactly(0, 8, 9);
+
+        redisson.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testListenerOverflowBlock() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Config config = BaseTest.createConfig();
+        config.setThreads(1)
+                .setListenerExecutor(executor)
+                .setListenerQueueSize(2)
+                .setListenerOverflowPolicy(ListenerOverflowPolicy.BLOCK);
+        RedissonClient redisson = Redisson.create(config);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Integer> messages = Collections.synchronizedList(new ArrayList<Integer>());
+        RTopic<Integer> topic = redisson.getTopic("topic");
+        topic.addListener((channel, msg) -> {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(msg);
+        });
+
+        topic.publish(0);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        int amount = 20;
+        for (int i = 1; i < amount; i++) {
+            topic.publish(i);
+        }
+
+        // the only event loop thread is still able to serve commands
+        RBucket<String> bucket = redisson.getBucket("bucket");
+        bucket.set("value");
+        assertThat(bucket.get()).isEqualTo("value");
+        gate.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == amount);
+        for (int i = 0; i < amount; i++) {
+            assertThat(messages.get(i)).isEqualTo(i);
+        }
+
+        redisson.shutdown();
+        executor.shutdown();
+    }
+
     @Test
     public void testLazyUnsubscribe() throws InterruptedException {
         final CountDownLatch messageRecieved = new CountDownLatch(1);